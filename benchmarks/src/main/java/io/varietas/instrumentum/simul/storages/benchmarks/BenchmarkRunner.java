@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <h2>BenchmarkRunner</h2>
+ * <p>
+ * Entry point of the benchmark jar. All JMH command line options are accepted. The benchmarks are run once per thread count of the system property {@value #THREADS_PROPERTY}, a comma separated list like {@code 1,2,4,8}. Without the property the thread count of the option -t is used. The results of all runs are written to a single JSON file, by default {@value #DEFAULT_RESULT}, another file can be chosen by the option -rff. Every result contains its thread count and parameters, so the files of two releases can be compared directly.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+public final class BenchmarkRunner {
+
+    public static final String THREADS_PROPERTY = "benchmark.threads";
+    public static final String DEFAULT_RESULT = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException, IOException {
+
+        final CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams() || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        final File result = new File(commandLine.getResult().orElse(DEFAULT_RESULT));
+        final List<RunResult> results = new ArrayList<>();
+
+        for (Integer threads : BenchmarkRunner.threadCounts(commandLine)) {
+            final File partial = File.createTempFile("jmh-", ".json");
+
+            try {
+                final Options options = new OptionsBuilder()
+                        .parent(commandLine)
+                        .threads(threads)
+                        .resultFormat(ResultFormatType.JSON)
+                        .result(partial.getPath())
+                        .build();
+
+                results.addAll(new Runner(options).run());
+            } finally {
+                partial.delete();
+            }
+        }
+
+        ResultFormatFactory.getInstance(ResultFormatType.JSON, result.getPath()).writeOut(results);
+        System.out.println("Results of " + results.size() + " benchmarks written to " + result.getAbsolutePath());
+    }
+
+    /**
+     * Reads the thread counts of the system property or, if it is not set, of the command line.
+     *
+     * @param commandLine Parsed command line options.
+     *
+     * @return Thread counts in the order they are run.
+     */
+    private static Collection<Integer> threadCounts(final Options commandLine) {
+
+        final String property = System.getProperty(THREADS_PROPERTY);
+        final List<Integer> res = new ArrayList<>();
+
+        if (property == null || property.isBlank()) {
+            res.add(commandLine.getThreads().orElse(1));
+            return res;
+        }
+
+        for (String threads : property.split(",")) {
+            try {
+                res.add(Integer.parseInt(threads.trim()));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Thread count " + threads.trim() + " of " + THREADS_PROPERTY + " is not a number.", ex);
+            }
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages.benchmarks;
+
+import io.varietas.instrumentum.simul.storages.ConcurrentSortedStorage;
+import io.varietas.instrumentum.simul.storages.SimpleBlockingSortedStorage;
+import io.varietas.instrumentum.simul.storages.SimpleBlockingUnsortedStorage;
+import io.varietas.instrumentum.simul.storages.SortedStorage;
+import io.varietas.instrumentum.simul.storages.UnsortedStorage;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <h2>ContendedStorageBenchmark</h2>
+ * <p>
+ * Measures the thread-safe storages shared by all benchmark threads. Every operation stores an entry and loads an entry, so the number of stored entries stays at the prefilled size. The unsorted storage is the simple blocking one for every implementation. The number of threads is set by the JMH option -t or by the thread counts of the {@link BenchmarkRunner}.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContendedStorageBenchmark {
+
+    @Param({"blocking", "concurrent"})
+    public String implementation;
+
+    @Param({"1000", "100000"})
+    public int entries;
+
+    @Param({"1", "16"})
+    public int codes;
+
+    private Integer[] codeValues;
+    private Integer[] values;
+    private SortedStorage<Integer, Integer> sorted;
+    private UnsortedStorage<Integer> unsorted;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+
+        this.codeValues = new Integer[this.codes];
+        this.values = new Integer[this.entries];
+
+        for (int code = 0; code < this.codes; ++code) {
+            this.codeValues[code] = code;
+        }
+
+        this.sorted = "concurrent".equals(this.implementation) ? ConcurrentSortedStorage.of(this.codeValues) : SimpleBlockingSortedStorage.of(this.codeValues);
+        this.unsorted = SimpleBlockingUnsortedStorage.of(this.entries);
+
+        for (int index = 0; index < this.entries; ++index) {
+            this.values[index] = index;
+            this.sorted.store(this.values[index], this.codeValues[index % this.codes]);
+            this.unsorted.store(this.values[index]);
+        }
+    }
+
+    @Benchmark
+    public Optional<Integer> sortedStoreAndNext() {
+
+        final int index = ThreadLocalRandom.current().nextInt(this.values.length);
+
+        this.sorted.store(this.values[index], this.codeValues[index % this.codeValues.length]);
+
+        return this.sorted.next();
+    }
+
+    @Benchmark
+    public Optional<Integer> sortedStoreAndNextCode() {
+
+        final int index = ThreadLocalRandom.current().nextInt(this.values.length);
+        final Integer code = this.codeValues[index % this.codeValues.length];
+
+        this.sorted.store(this.values[index], code);
+
+        return this.sorted.next(code);
+    }
+
+    @Benchmark
+    public Boolean sortedIsEmpty() {
+        return this.sorted.isEmpty();
+    }
+
+    /**
+     * Loads an entry of the unsorted storage and stores it again. Unsorted storages store equal entries only once, so the loaded entry is stored instead of a random one to keep the size.
+     *
+     * @return Loaded entry.
+     */
+    @Benchmark
+    public Optional<Integer> unsortedNextAndStore() {
+
+        final Optional<Integer> res = this.unsorted.next();
+        res.ifPresent(this.unsorted::store);
+
+        return res;
+    }
+}
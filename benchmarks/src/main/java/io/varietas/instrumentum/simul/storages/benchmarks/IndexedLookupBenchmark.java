@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages.benchmarks;
+
+import io.varietas.instrumentum.simul.storages.IndexedSortedStorage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <h2>IndexedLookupBenchmark</h2>
+ * <p>
+ * Compares the hash index of the {@link IndexedSortedStorage} with a linear scan over the stored lists. Every distinct entry is stored ten times spread over all codes, every call searches a random entry.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class IndexedLookupBenchmark {
+
+    private static final int DUPLICATES = 10;
+    private static final Integer[] CODES = {0, 1, 2, 3, 4, 5, 6, 7};
+
+    @Param({"10000", "100000", "1000000"})
+    public int entries;
+
+    private Integer[] values;
+    private IndexedSortedStorage<Integer, Integer> storage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        this.values = new Integer[Math.max(1, this.entries / DUPLICATES)];
+        this.storage = IndexedSortedStorage.of(CODES);
+
+        for (int index = 0; index < this.values.length; ++index) {
+            this.values[index] = index;
+        }
+
+        for (int index = 0; index < this.entries; ++index) {
+            this.storage.store(this.values[index % this.values.length], CODES[(index / this.values.length) % CODES.length]);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> findByTypes() {
+        return this.storage.findByTypes(this.random());
+    }
+
+    @Benchmark
+    public List<Integer> findByTypesAndAnnotationCode() {
+        return this.storage.findByTypesAndAnnotationCode(this.random(), CODES[0]);
+    }
+
+    @Benchmark
+    public List<Integer> linearScan() {
+
+        final Integer searched = this.random();
+        final List<Integer> res = new ArrayList<>();
+
+        for (List<Integer> list : this.storage.getStorage().values()) {
+            for (Integer entry : list) {
+                if (searched.equals(entry)) {
+                    res.add(entry);
+                }
+            }
+        }
+
+        return res;
+    }
+
+    private Integer random() {
+        return this.values[ThreadLocalRandom.current().nextInt(this.values.length)];
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages.benchmarks;
+
+import io.varietas.instrumentum.simul.storages.ConcurrentSortedStorage;
+import io.varietas.instrumentum.simul.storages.SimpleSortedStorage;
+import io.varietas.instrumentum.simul.storages.SortedStorage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <h2>SortedStorageBenchmark</h2>
+ * <p>
+ * Measures the single threaded operations of sorted storages. Storing and loading benchmarks process all entries of a storage per invocation, so their score is the time for the given number of entries. Lookups are measured per call on a filled storage. Every storage owns the given number of exclusion predictions that never match, so the cost of the exclusion checks is part of every stored entry.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SortedStorageBenchmark {
+
+    @Param({"simple", "concurrent"})
+    public String implementation;
+
+    @Param({"1000", "10000", "100000"})
+    public int entries;
+
+    @Param({"1", "16", "256"})
+    public int codes;
+
+    @Param({"0", "4", "16"})
+    public int exclusions;
+
+    private Integer[] codeValues;
+    private Integer[] values;
+    private List<List<Integer>> batches;
+    private SortedStorage<Integer, Integer> filled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        this.codeValues = new Integer[this.codes];
+        this.values = new Integer[this.entries];
+        this.batches = new ArrayList<>(this.codes);
+
+        for (int code = 0; code < this.codes; ++code) {
+            this.codeValues[code] = code;
+            this.batches.add(new ArrayList<>(this.entries / this.codes + 1));
+        }
+
+        for (int index = 0; index < this.entries; ++index) {
+            this.values[index] = index;
+            this.batches.get(index % this.codes).add(this.values[index]);
+        }
+
+        this.filled = this.fill(this.create());
+    }
+
+    @Benchmark
+    public SortedStorage<Integer, Integer> store() {
+
+        final SortedStorage<Integer, Integer> storage = this.create();
+
+        for (int index = 0; index < this.values.length; ++index) {
+            storage.store(this.values[index], this.codeValues[index % this.codeValues.length]);
+        }
+
+        return storage;
+    }
+
+    @Benchmark
+    public SortedStorage<Integer, Integer> storeAll() {
+        return this.fill(this.create());
+    }
+
+    @Benchmark
+    public void next(final Filled state, final Blackhole blackhole) {
+
+        Optional<Integer> next;
+
+        while ((next = state.storage.next()).isPresent()) {
+            blackhole.consume(next.get());
+        }
+    }
+
+    @Benchmark
+    public void nextCode(final Filled state, final Blackhole blackhole) {
+
+        for (Integer code : this.codeValues) {
+            Optional<Integer> next;
+
+            while ((next = state.storage.next(code)).isPresent()) {
+                blackhole.consume(next.get());
+            }
+        }
+    }
+
+    @Benchmark
+    public Boolean isEmpty() {
+        return this.filled.isEmpty();
+    }
+
+    @Benchmark
+    public Boolean isEmptyCode() {
+        return this.filled.isEmpty(this.codeValues[this.codeValues.length - 1]);
+    }
+
+    @Benchmark
+    public Map<Integer, List<Integer>> getStorage() {
+        return this.filled.getStorage();
+    }
+
+    private SortedStorage<Integer, Integer> create() {
+
+        final SortedStorage<Integer, Integer> res = "concurrent".equals(this.implementation)
+                ? ConcurrentSortedStorage.of(this.codeValues)
+                : SimpleSortedStorage.of(this.codeValues);
+
+        for (int index = 0; index < this.exclusions; ++index) {
+            final int excluded = -(index + 1);
+            res.addExclusion(entry -> entry == excluded);
+        }
+
+        return res;
+    }
+
+    private SortedStorage<Integer, Integer> fill(final SortedStorage<Integer, Integer> storage) {
+
+        for (int code = 0; code < this.codeValues.length; ++code) {
+            storage.storeAll(this.batches.get(code), this.codeValues[code]);
+        }
+
+        return storage;
+    }
+
+    /**
+     * A storage that is filled again before every invocation, so loading benchmarks always drain a full storage.
+     */
+    @State(Scope.Thread)
+    public static class Filled {
+
+        private SortedStorage<Integer, Integer> storage;
+
+        @Setup(Level.Invocation)
+        public void setUp(final SortedStorageBenchmark benchmark) {
+            this.storage = benchmark.fill(benchmark.create());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages.benchmarks;
+
+import io.varietas.instrumentum.simul.storages.SimpleUnsortedStorage;
+import io.varietas.instrumentum.simul.storages.UnsortedStorage;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <h2>UnsortedStorageBenchmark</h2>
+ * <p>
+ * Measures the single threaded operations of the simple unsorted storage. Storing and loading benchmarks process all entries of a storage per invocation, lookups are measured per call on a filled storage.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UnsortedStorageBenchmark {
+
+    @Param({"1000", "10000"})
+    public int entries;
+
+    private List<Integer> values;
+    private UnsortedStorage<Integer> filled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        final Integer[] res = new Integer[this.entries];
+
+        for (int index = 0; index < res.length; ++index) {
+            res[index] = index;
+        }
+
+        this.values = Arrays.asList(res);
+        this.filled = this.fill();
+    }
+
+    @Benchmark
+    public UnsortedStorage<Integer> store() {
+
+        final UnsortedStorage<Integer> storage = SimpleUnsortedStorage.of();
+
+        for (Integer value : this.values) {
+            storage.store(value);
+        }
+
+        return storage;
+    }
+
+    @Benchmark
+    public UnsortedStorage<Integer> storeAll() {
+        return this.fill();
+    }
+
+    @Benchmark
+    public void next(final Filled state, final Blackhole blackhole) {
+
+        Optional<Integer> next;
+
+        while ((next = state.storage.next()).isPresent()) {
+            blackhole.consume(next.get());
+        }
+    }
+
+    @Benchmark
+    public Boolean isEmpty() {
+        return this.filled.isEmpty();
+    }
+
+    @Benchmark
+    public List<Integer> getStorage() {
+        return this.filled.getStorage();
+    }
+
+    private UnsortedStorage<Integer> fill() {
+
+        final UnsortedStorage<Integer> res = SimpleUnsortedStorage.of();
+        res.storeAll(this.values);
+
+        return res;
+    }
+
+    /**
+     * A storage that is filled again before every invocation, so loading benchmarks always drain a full storage.
+     */
+    @State(Scope.Thread)
+    public static class Filled {
+
+        private UnsortedStorage<Integer> storage;
+
+        @Setup(Level.Invocation)
+        public void setUp(final UnsortedStorageBenchmark benchmark) {
+            this.storage = benchmark.fill();
+        }
+    }
+}
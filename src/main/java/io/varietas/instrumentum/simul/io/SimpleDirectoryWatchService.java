@@ -27,7 +27,6 @@ import io.varietas.instrumentum.simul.io.handlers.FileEventHandler;
 import io.varietas.instrumentum.simul.io.handlers.FileModifyHandler;
 import io.varietas.instrumentum.simul.io.utils.FileUtil;
 import io.varietas.instrumentum.simul.storages.SimpleSortedStorage;
-import io.varietas.instrumentum.simul.storages.SortedStorage;
 import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
@@ -39,13 +38,11 @@ import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.util.Collections;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -91,7 +88,7 @@ import lombok.extern.slf4j.Slf4j;
 public class SimpleDirectoryWatchService implements DirectoryWatchService {
 
     private final WatchService watchService;
-    private final SortedStorage<String, Tuple3<WatchKey, Path, Set<Tuple2<FileEventHandler, Set<PathMatcher>>>>> storage;
+    private final SimpleSortedStorage<String, Tuple3<WatchKey, Path, Set<Tuple2<FileEventHandler, Set<PathMatcher>>>>> storage;
 
     private SimpleDirectoryWatchService(final WatchService watchService, final String... watchKinds) throws ServiceCreationException {
         this.watchService = watchService;
@@ -198,12 +195,7 @@ public class SimpleDirectoryWatchService implements DirectoryWatchService {
             boolean valid = key.reset();
             if (!valid) {
 
-                final var keysToDelete = this.storage.getStorage().values().stream()
-                        .flatMap(List::stream)
-                        .filter(entry -> Objects.equals(entry.getV1(), key))
-                        .collect(Collectors.toList());
-
-                this.storage.getStorage().entrySet().forEach(entry -> entry.getValue().removeAll(keysToDelete));
+                this.storage.removeIf(entry -> Objects.equals(entry.getV1(), key));
             }
         } catch (final InterruptedException ex) {
             throw new ServiceExecutionException(this.getClass(), "Service interrupted", ex);
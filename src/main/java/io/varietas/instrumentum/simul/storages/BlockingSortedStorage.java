@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>BlockingSortedStorage</h2>
+ * <p>
+ * A sorted storage that allows consumers to wait for entries instead of polling {@link #next()} or {@link #isEmpty()}. If the storage is bounded, producers are able to wait for free space.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type for the value which is stored.
+ */
+public interface BlockingSortedStorage<CODE extends Comparable<?>, TYPE> extends SortedStorage<CODE, TYPE> {
+
+    /**
+     * Loads the next entry from the storage and waits if necessary until an entry is stored.
+     *
+     * @return Next entry from the storage.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    TYPE take() throws InterruptedException;
+
+    /**
+     * Loads the next entry for a code and waits if necessary until an entry is stored for the code.
+     *
+     * @param code Code where the next entry has to be loaded.
+     *
+     * @return Next entry.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    TYPE take(final CODE code) throws InterruptedException;
+
+    /**
+     * Loads the next entry from the storage and waits up to the given time if necessary until an entry is stored.
+     *
+     * @param timeout Maximum time to wait.
+     * @param unit    Time unit of the timeout.
+     *
+     * @return Next entry or an empty optional if the time elapsed before an entry was stored.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    Optional<TYPE> poll(final long timeout, final TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Loads the next entry for a code and waits up to the given time if necessary until an entry is stored for the code.
+     *
+     * @param code    Code where the next entry has to be loaded.
+     * @param timeout Maximum time to wait.
+     * @param unit    Time unit of the timeout.
+     *
+     * @return Next entry or an empty optional if the time elapsed before an entry was stored.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    Optional<TYPE> poll(final CODE code, final long timeout, final TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Stores an entry in the storage and waits up to the given time if necessary until the storage has space for the entry.
+     *
+     * @param entry   Entry to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     * @param timeout Maximum time to wait.
+     * @param unit    Time unit of the timeout.
+     *
+     * @return Number of stored entries or -1 if the time elapsed or an exclusion prediction prevents the storing.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    int offer(final TYPE entry, final CODE code, final long timeout, final TimeUnit unit) throws InterruptedException;
+}
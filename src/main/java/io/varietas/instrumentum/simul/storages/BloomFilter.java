@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.Objects;
+
+/**
+ * <h2>BloomFilter</h2>
+ * <p>
+ * A probabilistic set of hash codes. A negative answer is always correct, a positive answer is wrong with the configured probability. The bits are located in a single array of a power of two size, a lookup costs a fixed number of bit tests independent of the number of added values.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+final class BloomFilter {
+
+    private final long[] bits;
+    private final int mask;
+    private final int hashes;
+
+    private BloomFilter(final int size, final int hashes) {
+        this.bits = new long[Math.max(1, size >>> 6)];
+        this.mask = size - 1;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Creates a filter that is sized for an expected number of values and a false positive probability.
+     *
+     * @param expected    Expected number of values.
+     * @param probability False positive probability between 0 and 1 (exclusive).
+     *
+     * @return Empty bloom filter.
+     */
+    static BloomFilter of(final int expected, final double probability) {
+
+        if (probability <= 0.0 || probability >= 1.0) {
+            throw new IllegalArgumentException("False positive probability has to be between 0 and 1.");
+        }
+
+        final double values = Math.max(1, expected);
+        final double optimal = -values * Math.log(probability) / (Math.log(2) * Math.log(2));
+        final int size = Integer.highestOneBit((int) Math.min(1 << 30, Math.max(64, Math.ceil(optimal))) - 1) << 1;
+        final int hashes = (int) Math.max(1, Math.min(16, Math.round(size / values * Math.log(2))));
+
+        return new BloomFilter(size, hashes);
+    }
+
+    void put(final Object value) {
+
+        final long hash = BloomFilter.hash(value);
+        final int first = (int) hash;
+        final int second = (int) (hash >>> 32) | 1;
+
+        for (int index = 0; index < this.hashes; ++index) {
+            final int bit = (first + index * second) & this.mask;
+            this.bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(final Object value) {
+
+        final long hash = BloomFilter.hash(value);
+        final int first = (int) hash;
+        final int second = (int) (hash >>> 32) | 1;
+
+        for (int index = 0; index < this.hashes; ++index) {
+            final int bit = (first + index * second) & this.mask;
+
+            if ((this.bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static long hash(final Object value) {
+
+        long res = Objects.hashCode(value) * 0x9E3779B97F4A7C15L;
+        res ^= res >>> 29;
+        res *= 0xBF58476D1CE4E5B9L;
+
+        return res ^ (res >>> 32);
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
+
+/**
+ * <h2>CachingUnsortedStorage</h2>
+ * <p>
+ * This storage keeps the contract of the {@link SimpleUnsortedStorage} but is limited to a maximum size or weight. If the limit is exceeded, entries are evicted by a W-TinyLFU policy: New entries enter a small LRU window (1% of the maximum). Entries leaving the window compete with the least recently used entry of the main space and are only admitted if they were seen more often recently, estimated by a {@link FrequencySketch}. The main space is split into a probation and a protected segment (80% of the main space), entries are promoted to the protected segment when they are stored again.
+ * <p>
+ * Storing an entry that is already stored counts as hit, storing a new entry counts as miss. {@link #next()} removes the entry that would be evicted next.
+ * <p>
+ * Attention: Duplex values are only stored one time.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type for the value which is stored.
+ */
+public class CachingUnsortedStorage<TYPE> implements UnsortedStorage<TYPE> {
+
+    private static final double WINDOW_PERCENTAGE = 0.01;
+    private static final double PROTECTED_PERCENTAGE = 0.8;
+
+    private final Map<TYPE, Node<TYPE>> storage = new HashMap<>();
+    private final ToIntFunction<TYPE> weigher;
+    private final long maximum;
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+    private final FrequencySketch sketch;
+    private final Node<TYPE> window = Node.sentinel();
+    private final Node<TYPE> probation = Node.sentinel();
+    private final Node<TYPE> protect = Node.sentinel();
+
+    private long windowWeight;
+    private long mainWeight;
+    private long protectedWeight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private CachingUnsortedStorage(final long maximum, final ToIntFunction<TYPE> weigher) {
+        this.maximum = maximum;
+        this.weigher = weigher;
+        this.windowMaximum = Math.max(1, (long) (maximum * WINDOW_PERCENTAGE));
+        this.mainMaximum = maximum - this.windowMaximum;
+        this.protectedMaximum = (long) (this.mainMaximum * PROTECTED_PERCENTAGE);
+        this.sketch = new FrequencySketch(0);
+    }
+
+    /**
+     * Creates a caching storage that holds up to a maximum number of entries.
+     *
+     * @param <TYPE>      Generic type for the value which is stored.
+     * @param maximumSize Maximum number of entries.
+     *
+     * @return Size bounded caching storage.
+     */
+    public static final <TYPE> CachingUnsortedStorage<TYPE> of(final long maximumSize) {
+
+        final CachingUnsortedStorage<TYPE> res = CachingUnsortedStorage.of(maximumSize, entry -> 1);
+        res.sketch.ensureCapacity(maximumSize);
+
+        return res;
+    }
+
+    /**
+     * Creates a caching storage that holds entries up to a maximum total weight.
+     *
+     * @param <TYPE>        Generic type for the value which is stored.
+     * @param maximumWeight Maximum sum of the weights of all entries.
+     * @param weigher       Function calculating the weight of an entry. The weight of an entry must not change while it is stored.
+     *
+     * @return Weight bounded caching storage.
+     */
+    public static final <TYPE> CachingUnsortedStorage<TYPE> of(final long maximumWeight, final ToIntFunction<TYPE> weigher) {
+
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("Cache capacity has to be at least 1.");
+        }
+
+        if (Objects.isNull(weigher)) {
+            throw new NullPointerException("Caching storages requires a weigher.");
+        }
+
+        return new CachingUnsortedStorage<>(maximumWeight, weigher);
+    }
+
+    /**
+     * Loads the entry that would be evicted next and removes it from the storage.
+     *
+     * @return Next entry from the storage.
+     */
+    @Override
+    public final Optional<TYPE> next() {
+
+        Node<TYPE> node = this.probation.after;
+
+        if (node == this.probation) {
+            node = this.window.after != this.window ? this.window.after : this.protect.after;
+        }
+
+        if (node.entry == null) {
+            return Optional.empty();
+        }
+
+        this.remove(node);
+
+        return Optional.of(node.entry);
+    }
+
+    /**
+     * Stores a entry in the storage. A stored entry is counted as hit and marked as used, a new entry is counted as miss and may cause the eviction of other entries or of the new entry itself.
+     *
+     * @param entry Entry to be stored.
+     *
+     * @return Number of stored entries or -1 if the entry is heavier than the main space or is not admitted to the main space.
+     */
+    @Override
+    public final int store(final TYPE entry) {
+        if (Objects.isNull(entry)) {
+            throw new NullPointerException("Storage cannot handle null objetcs.");
+        }
+
+        this.sketch.increment(entry);
+
+        final Node<TYPE> stored = this.storage.get(entry);
+
+        if (Objects.nonNull(stored)) {
+            ++this.hitCount;
+            this.onAccess(stored);
+            return this.storage.size();
+        }
+
+        ++this.missCount;
+
+        final int weight = this.weigher.applyAsInt(entry);
+
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight of an entry cannot be negative.");
+        }
+
+        if (weight > Math.max(this.windowMaximum, this.mainMaximum)) {
+            return -1;
+        }
+
+        final Node<TYPE> node = new Node<>(entry, weight);
+
+        this.storage.put(entry, node);
+        this.sketch.ensureCapacity(this.storage.size());
+        node.appendTo(this.window, Node.WINDOW);
+        this.windowWeight += weight;
+        this.evict();
+
+        return this.storage.containsKey(entry) ? this.storage.size() : -1;
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage. Returns -1 if the entries are empty or an entry is too heavy or not admitted otherwise the current number of stored entries will be returned.
+     *
+     * @param entries Entries to be stored.
+     *
+     * @return Number of stored entries or -1 for an error.
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries) {
+
+        if (entries.isEmpty()) {
+            return -1;
+        }
+
+        for (TYPE entry : entries) {
+            if (this.store(entry) == -1) {
+                return -1;
+            }
+        }
+
+        return this.storage.size();
+    }
+
+    /**
+     * Checks if an entry is stored. The lookup is counted as hit or miss and marks a stored entry as used.
+     *
+     * @param entry Entry to be searched.
+     *
+     * @return True if the entry is stored, otherwise false.
+     */
+    public final boolean contains(final TYPE entry) {
+
+        this.sketch.increment(entry);
+
+        final Node<TYPE> stored = this.storage.get(entry);
+
+        if (Objects.isNull(stored)) {
+            ++this.missCount;
+            return false;
+        }
+
+        ++this.hitCount;
+        this.onAccess(stored);
+
+        return true;
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        return this.storage.isEmpty();
+    }
+
+    @Override
+    public final List<TYPE> getStorage() {
+        return new ArrayList<>(this.storage.keySet());
+    }
+
+    public final int size() {
+        return this.storage.size();
+    }
+
+    public final long getWeightedSize() {
+        return this.windowWeight + this.mainWeight;
+    }
+
+    public final long getHitCount() {
+        return this.hitCount;
+    }
+
+    public final long getMissCount() {
+        return this.missCount;
+    }
+
+    public final long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * Ratio of hits to all requests.
+     *
+     * @return Hit rate between 0 and 1 or 1 if there was no request yet.
+     */
+    public final double getHitRate() {
+
+        final long requests = this.hitCount + this.missCount;
+
+        return requests == 0 ? 1.0 : (double) this.hitCount / requests;
+    }
+
+    private void onAccess(final Node<TYPE> node) {
+
+        switch (node.queue) {
+            case Node.WINDOW:
+                node.unlink();
+                node.appendTo(this.window, Node.WINDOW);
+                break;
+            case Node.PROBATION:
+                node.unlink();
+                node.appendTo(this.protect, Node.PROTECTED);
+                this.protectedWeight += node.weight;
+                this.demote();
+                break;
+            default:
+                node.unlink();
+                node.appendTo(this.protect, Node.PROTECTED);
+                break;
+        }
+    }
+
+    /**
+     * Moves the least recently used entries of the protected segment back to the probation segment until the protected segment fits.
+     */
+    private void demote() {
+
+        while (this.protectedWeight > this.protectedMaximum) {
+            final Node<TYPE> node = this.protect.after;
+
+            node.unlink();
+            node.appendTo(this.probation, Node.PROBATION);
+            this.protectedWeight -= node.weight;
+        }
+    }
+
+    /**
+     * Moves entries that exceed the window to the main space. An entry is only admitted to a full main space if it is used more frequently than the entries it replaces.
+     */
+    private void evict() {
+
+        while (this.windowWeight > this.windowMaximum) {
+            final Node<TYPE> candidate = this.window.after;
+
+            candidate.unlink();
+            this.windowWeight -= candidate.weight;
+            this.admit(candidate);
+        }
+    }
+
+    /**
+     * Admits a candidate to the main space. If the main space is full, the candidate is compared with all entries it would replace before any of them is evicted. The candidate is rejected if one of them is used at least as frequently or if it is heavier than the main space.
+     */
+    private void admit(final Node<TYPE> candidate) {
+
+        final int frequency = this.sketch.frequency(candidate.entry);
+        long free = this.mainMaximum - this.mainWeight;
+        int victims = 0;
+
+        for (Node<TYPE> victim = this.victimAfter(this.probation); free < candidate.weight; victim = this.victimAfter(victim)) {
+
+            if (victim.entry == null || frequency <= this.sketch.frequency(victim.entry)) {
+                this.storage.remove(candidate.entry);
+                ++this.evictionCount;
+                return;
+            }
+
+            free += victim.weight;
+            ++victims;
+        }
+
+        for (; victims > 0; --victims) {
+            this.remove(this.victimAfter(this.probation));
+            ++this.evictionCount;
+        }
+
+        candidate.appendTo(this.probation, Node.PROBATION);
+        this.mainWeight += candidate.weight;
+    }
+
+    /**
+     * The entry evicted after a given node. The probation segment is followed by the protected segment, the sentinel of the protected segment ends the order.
+     */
+    private Node<TYPE> victimAfter(final Node<TYPE> node) {
+        return node.after == this.probation ? this.protect.after : node.after;
+    }
+
+    private void remove(final Node<TYPE> node) {
+
+        this.storage.remove(node.entry);
+        node.unlink();
+
+        switch (node.queue) {
+            case Node.WINDOW:
+                this.windowWeight -= node.weight;
+                break;
+            case Node.PROTECTED:
+                this.protectedWeight -= node.weight;
+                this.mainWeight -= node.weight;
+                break;
+            default:
+                this.mainWeight -= node.weight;
+                break;
+        }
+    }
+
+    /**
+     * Stored entry in one of the access ordered queues. The least recently used entry follows the sentinel of a queue.
+     *
+     * @param <TYPE> Generic type for the value which is stored.
+     */
+    private static final class Node<TYPE> {
+
+        private static final int WINDOW = 0;
+        private static final int PROBATION = 1;
+        private static final int PROTECTED = 2;
+
+        private final TYPE entry;
+        private final int weight;
+        private int queue;
+        private Node<TYPE> before;
+        private Node<TYPE> after;
+
+        private Node(final TYPE entry, final int weight) {
+            this.entry = entry;
+            this.weight = weight;
+        }
+
+        private static <TYPE> Node<TYPE> sentinel() {
+
+            final Node<TYPE> res = new Node<>(null, 0);
+            res.before = res;
+            res.after = res;
+
+            return res;
+        }
+
+        private void appendTo(final Node<TYPE> sentinel, final int queue) {
+            this.queue = queue;
+            this.before = sentinel.before;
+            this.after = sentinel;
+            sentinel.before.after = this;
+            sentinel.before = this;
+        }
+
+        private void unlink() {
+            this.before.after = this.after;
+            this.after.before = this.before;
+            this.before = null;
+            this.after = null;
+        }
+    }
+}
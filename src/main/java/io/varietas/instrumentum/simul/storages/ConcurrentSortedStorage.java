@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h2>ConcurrentSortedStorage</h2>
+ * <p>
+ * This storage is the thread-safe counterpart of the {@link SimpleSortedStorage}. Every code owns a lock-free deque, so any number of producers and consumers can store and load entries without an external lock. Entries are loaded in the same order as by the simple storage (last stored, first loaded).
+ * <p>
+ * Attention: The numbers returned by the store methods are a snapshot and may be outdated as soon as they are returned.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ConcurrentSortedStorage<CODE extends Comparable<?>, TYPE> implements SortedStorage<CODE, TYPE> {
+
+    private final ConcurrentMap<CODE, Lane<TYPE>> storage;
+    private final List<Lane<TYPE>> lanes;
+    private final AtomicReference<ExclusionChain<TYPE>> exclusions = new AtomicReference<>(ExclusionChain.empty());
+
+    @Override
+    public final Optional<TYPE> next() {
+
+        for (Lane<TYPE> lane : this.lanes) {
+            final TYPE res = lane.poll();
+
+            if (Objects.nonNull(res)) {
+                return Optional.of(res);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public final Optional<TYPE> next(final CODE code) {
+        return Optional.ofNullable(this.lane(code).poll());
+    }
+
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+
+        Objects.requireNonNull(target, "Storage cannot drain entries to a null collection.");
+
+        int res = 0;
+
+        for (Lane<TYPE> lane : this.lanes) {
+            res += lane.pollAll(target, max - res);
+        }
+
+        return res;
+    }
+
+    @Override
+    public final List<TYPE> nextBatch(final CODE code, final int max) {
+
+        final List<TYPE> res = new ArrayList<>();
+        this.lane(code).pollAll(res, max);
+
+        return res;
+    }
+
+    /**
+     * Stores a entry in the storage. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing.
+     */
+    @Override
+    public final int store(final TYPE entry, final CODE code) {
+
+        final Lane<TYPE> lane = this.lane(code);
+
+        if (this.exclusions.get().isExcluded(entry)) {
+            return -1;
+        }
+
+        return lane.offer(entry);
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage. Returns -1 if the entries are not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entries Entries to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing
+     */
+    @Override
+    public final int storeAll(Collection<TYPE> entries, final CODE code) {
+
+        final Lane<TYPE> lane = this.lane(code);
+
+        for (TYPE entry : entries) {
+            if (this.store(entry, code) == -1) {
+                return -1;
+            }
+        }
+
+        return lane.size();
+    }
+
+    /**
+     * Creates a snapshot of all stored entries. Changes made while the snapshot is created may or may not be part of it.
+     *
+     * @return Copy of the stored entries per code.
+     */
+    @Override
+    public final Map<CODE, List<TYPE>> getStorage() {
+
+        final Map<CODE, List<TYPE>> res = new LinkedHashMap<>();
+        this.storage.forEach((code, lane) -> res.put(code, lane.snapshot()));
+
+        return res;
+    }
+
+    @Override
+    public final Boolean isEmpty(CODE code) {
+        return this.lane(code).isEmpty();
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        return this.lanes.stream().allMatch(Lane::isEmpty);
+    }
+
+    @Override
+    public final SortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
+        Objects.requireNonNull(exclusion, "Exclusion cannot be null.");
+        this.exclusions.updateAndGet(chain -> chain.with(exclusion));
+        return this;
+    }
+
+    @Override
+    public final <KEY> SortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        final ExclusionSet<TYPE, KEY> exclusion = ExclusionSet.of(key, excluded);
+        this.exclusions.updateAndGet(chain -> chain.with(exclusion));
+        return this;
+    }
+
+    private Lane<TYPE> lane(final CODE code) {
+
+        final Lane<TYPE> lane = Objects.isNull(code) ? null : this.storage.get(code);
+
+        if (Objects.isNull(lane)) {
+            throw new NullPointerException("Value(s) cannot be stored for key " + String.valueOf(code) + ".");
+        }
+
+        return lane;
+    }
+
+    /**
+     * Creates an instance of a concurrent sorted storage by a given set of key. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE> Generic code type.
+     * @param <TYPE> Generic type which is stored.
+     * @param codes  Codes used for sorting the entries.
+     *
+     * @return Thread-safe sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> SortedStorage<CODE, TYPE> of(final CODE... codes) {
+
+        if (Objects.isNull(codes) || (codes.length == 0)) {
+            throw new NullPointerException("Sorted storages requires codes for sorting entities.");
+        }
+
+        final ConcurrentMap<CODE, Lane<TYPE>> storage = new ConcurrentHashMap<>(codes.length);
+        final List<Lane<TYPE>> lanes = new ArrayList<>(codes.length);
+
+        Arrays.stream(codes).distinct().forEach(code -> {
+            final Lane<TYPE> lane = new Lane<>();
+            storage.put(code, lane);
+            lanes.add(lane);
+        });
+
+        return new ConcurrentSortedStorage<>(storage, List.copyOf(lanes));
+    }
+}
@@ -0,0 +1,627 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * <h2>DelayedSortedStorage</h2>
+ * <p>
+ * This storage sorts entries by codes and hides every entry until it is due. Entries stored by {@link #store(java.lang.Object, java.lang.Comparable, java.time.Duration)} or {@link #store(java.lang.Object, java.lang.Comparable, java.time.Instant)} become visible after a delay or at a point in time, entries stored without a time are visible immediately. The entries of a code are kept in a binary heap ordered by their due time, entries that are due at the same time are loaded in the order they are stored. Loading an entry costs O(log n) per code and the due time of a code is read from the root of its heap, so there is no scan over stored entries.
+ * <p>
+ * {@link #next()} loads the entry that is due first over all codes, {@link #next(java.lang.Comparable)} the entry that is due first for a code. Both return an empty optional if no entry is due yet. Waiting consumers sleep until the next due time: For every code and for all codes only one consumer, the leader, waits for the due time of the first entry, the other consumers wait until the leader passes the turn on. Storing an entry that becomes due earlier than all entries a leader waits for wakes the leader up, so it waits for the new due time.
+ * <p>
+ * Due times are measured by {@link System#nanoTime()}, so changes of the wall clock do not affect delays. A point in time is converted to a delay against the system UTC clock when the entry is stored.
+ * <p>
+ * The storage is unbounded, {@link #offer(java.lang.Object, java.lang.Comparable, long, java.util.concurrent.TimeUnit)} never waits. Entries that are not due yet are part of {@link #getStorage()} and are counted by {@link #isEmpty()}.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+public class DelayedSortedStorage<CODE extends Comparable<?>, TYPE> implements BlockingSortedStorage<CODE, TYPE> {
+
+    private static final Comparator<Node<?>> DUE_ORDER = Comparator.<Node<?>>comparingLong(node -> node.deadline).thenComparingLong(node -> node.sequence);
+
+    private final Map<CODE, Integer> positions;
+    private final List<EntryOrder.Entries<Node<TYPE>>> heaps;
+    private final List<Consumers> consumers;
+    private final Consumers anyConsumers;
+    private final BitSet occupied = new BitSet();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongSupplier clock;
+    private final Clock wallClock;
+    private final long origin;
+    private ExclusionChain<TYPE> exclusions = ExclusionChain.empty();
+    private long sequence;
+
+    private DelayedSortedStorage(final Map<CODE, Integer> positions, final LongSupplier clock, final Clock wallClock) {
+        this.positions = positions;
+        this.heaps = new ArrayList<>(positions.size());
+        this.consumers = new ArrayList<>(positions.size());
+        this.anyConsumers = new Consumers(this.lock);
+        this.clock = clock;
+        this.wallClock = wallClock;
+        this.origin = clock.getAsLong();
+
+        final EntryOrder<Node<TYPE>> order = EntryOrder.priority(DUE_ORDER);
+
+        for (int position = 0; position < positions.size(); ++position) {
+            this.heaps.add(order.entries());
+            this.consumers.add(new Consumers(this.lock));
+        }
+    }
+
+    /**
+     * Loads the entry that is due first over all codes.
+     *
+     * @return Next due entry or an empty optional if no entry is due.
+     */
+    @Override
+    public final Optional<TYPE> next() {
+        this.lock.lock();
+        try {
+            return Optional.ofNullable(this.load(-1, this.now()));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Loads the entry of a code that is due first.
+     *
+     * @param code Code where the next entry has to be loaded.
+     *
+     * @return Next due entry or an empty optional if no entry of the code is due.
+     */
+    @Override
+    public final Optional<TYPE> next(final CODE code) {
+
+        final int position = this.position(code, "loaded");
+
+        this.lock.lock();
+        try {
+            return Optional.ofNullable(this.load(position, this.now()));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+
+        Objects.requireNonNull(target, "Storage cannot drain entries to a null collection.");
+
+        this.lock.lock();
+        try {
+            return this.loadAll(-1, target, max);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final List<TYPE> nextBatch(final CODE code, final int max) {
+
+        final int position = this.position(code, "loaded");
+        final List<TYPE> res = new ArrayList<>();
+
+        this.lock.lock();
+        try {
+            this.loadAll(position, res, max);
+            return res;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final TYPE take() throws InterruptedException {
+        return this.await(-1, Long.MAX_VALUE).get();
+    }
+
+    @Override
+    public final TYPE take(final CODE code) throws InterruptedException {
+        return this.await(this.position(code, "loaded"), Long.MAX_VALUE).get();
+    }
+
+    @Override
+    public final Optional<TYPE> poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return this.await(-1, unit.toNanos(timeout));
+    }
+
+    @Override
+    public final Optional<TYPE> poll(final CODE code, final long timeout, final TimeUnit unit) throws InterruptedException {
+        return this.await(this.position(code, "loaded"), unit.toNanos(timeout));
+    }
+
+    /**
+     * Stores a entry that is visible immediately. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries of the code or -1 if an exclusion prediction prevents the storing.
+     */
+    @Override
+    public final int store(final TYPE entry, final CODE code) {
+        return this.store(entry, this.position(code, "stored"), 0L);
+    }
+
+    /**
+     * Stores a entry that becomes visible after a delay. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     * @param delay Time until the entry is due. Entries with a delay that is not positive are visible immediately.
+     *
+     * @return Number of stored entries of the code or -1 if an exclusion prediction prevents the storing.
+     */
+    public final int store(final TYPE entry, final CODE code, final Duration delay) {
+
+        if (Objects.isNull(delay)) {
+            throw new NullPointerException("Delayed storages requires a delay.");
+        }
+
+        return this.store(entry, this.position(code, "stored"), DelayedSortedStorage.toNanos(delay));
+    }
+
+    /**
+     * Stores a entry that becomes visible at a point in time. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entry     Entry to be stored.
+     * @param code      Annotation type code where the entry should be stored for.
+     * @param visibleAt Point in time the entry is due, compared with the wall clock of the storage when the entry is stored. Entries with a point in time in the past are visible immediately.
+     *
+     * @return Number of stored entries of the code or -1 if an exclusion prediction prevents the storing.
+     */
+    public final int store(final TYPE entry, final CODE code, final Instant visibleAt) {
+
+        if (Objects.isNull(visibleAt)) {
+            throw new NullPointerException("Delayed storages requires a point in time.");
+        }
+
+        return this.store(entry, this.position(code, "stored"), DelayedSortedStorage.toNanos(Duration.between(this.wallClock.instant(), visibleAt)));
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage, the entries are visible immediately. Either all entries are stored or none. Returns -1 if the entries are not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entries Entries to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries of the code or -1 if an exclusion prediction prevents the storing
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries, final CODE code) {
+
+        final int position = this.position(code, "stored");
+
+        this.lock.lock();
+        try {
+            if (this.exclusions.isAnyExcluded(new ArrayList<>(entries))) {
+                return -1;
+            }
+
+            int res = this.heaps.get(position).size();
+
+            for (TYPE entry : entries) {
+                res = this.store(entry, position, 0L);
+            }
+
+            return res;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a entry that is visible immediately. The storage is unbounded, so the method never waits.
+     *
+     * @param entry   Entry to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     * @param timeout Maximum time to wait.
+     * @param unit    Time unit of the timeout.
+     *
+     * @return Number of stored entries of the code or -1 if an exclusion prediction prevents the storing.
+     */
+    @Override
+    public final int offer(final TYPE entry, final CODE code, final long timeout, final TimeUnit unit) {
+        return this.store(entry, code);
+    }
+
+    /**
+     * Creates a snapshot of all stored entries including the entries that are not due yet. The lists are ordered by the due time of the entries.
+     *
+     * @return Copy of the stored entries per code.
+     */
+    @Override
+    public final Map<CODE, List<TYPE>> getStorage() {
+        this.lock.lock();
+        try {
+            final Map<CODE, List<TYPE>> res = new LinkedHashMap<>();
+
+            this.positions.forEach((code, position) -> {
+                final List<Node<TYPE>> nodes = new ArrayList<>(this.heaps.get(position));
+                final List<TYPE> list = new ArrayList<>(nodes.size());
+
+                nodes.sort(DUE_ORDER);
+                nodes.forEach(node -> list.add(node.entry));
+                res.put(code, list);
+            });
+
+            return res;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final Boolean isEmpty(final CODE code) {
+
+        final int position = this.position(code, "loaded");
+
+        this.lock.lock();
+        try {
+            return this.heaps.get(position).isEmpty();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        this.lock.lock();
+        try {
+            return this.occupied.isEmpty();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final BlockingSortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
+        this.lock.lock();
+        try {
+            this.exclusions = this.exclusions.with(exclusion);
+            return this;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final <KEY> BlockingSortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        this.lock.lock();
+        try {
+            this.exclusions = this.exclusions.with(ExclusionSet.of(key, excluded));
+            return this;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Time until the next entry of the storage is due.
+     *
+     * @return Remaining delay, zero if an entry is due or an empty optional if the storage is empty.
+     */
+    public final Optional<Duration> getDelay() {
+        this.lock.lock();
+        try {
+            final long deadline = this.deadline(-1);
+
+            return deadline == Long.MAX_VALUE ? Optional.empty() : Optional.of(Duration.ofNanos(Math.max(0L, deadline - this.now())));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private int store(final TYPE entry, final int position, final long delay) {
+        this.lock.lock();
+        try {
+            if (this.exclusions.isExcluded(entry)) {
+                return -1;
+            }
+
+            final long now = this.now();
+            final long earliest = this.deadline(-1);
+            final EntryOrder.Entries<Node<TYPE>> heap = this.heaps.get(position);
+            final Node<TYPE> node = new Node<>(entry, now + Math.min(Math.max(0L, delay), Long.MAX_VALUE - now), this.sequence++);
+
+            heap.add(node);
+            this.occupied.set(position);
+
+            if (heap.get(0) == node) {
+                this.consumers.get(position).wakeLeader();
+
+                if (node.deadline < earliest) {
+                    this.anyConsumers.wakeLeader();
+                }
+            }
+
+            return heap.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Loads the next due entry and waits until it is due if necessary. The first consumer waiting for a due time becomes the leader and waits up to the due time, all other consumers wait until they are signalled. Before a consumer leaves, it passes the turn on if there is no leader and entries are left.
+     *
+     * @param position Position of the code or -1 for all codes.
+     * @param timeout  Maximum time to wait in nanoseconds. A value of {@link Long#MAX_VALUE} waits without limit.
+     *
+     * @return Loaded entry or an empty optional if the time elapsed.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    private Optional<TYPE> await(final int position, final long timeout) throws InterruptedException {
+
+        final Consumers waiting = position < 0 ? this.anyConsumers : this.consumers.get(position);
+        final Thread current = Thread.currentThread();
+        long nanos = timeout;
+
+        this.lock.lockInterruptibly();
+        try {
+            for (;;) {
+                final long now = this.now();
+                final TYPE res = this.load(position, now);
+
+                if (Objects.nonNull(res)) {
+                    return Optional.of(res);
+                }
+
+                if (nanos <= 0) {
+                    return Optional.empty();
+                }
+
+                final long deadline = this.deadline(position);
+
+                if (deadline == Long.MAX_VALUE || Objects.nonNull(waiting.leader) || nanos < deadline - now) {
+                    nanos = this.awaitNanos(waiting, nanos);
+                    continue;
+                }
+
+                final long delay = deadline - now;
+
+                waiting.leader = current;
+                try {
+                    final long left = waiting.waiters.awaitNanos(delay);
+
+                    if (nanos != Long.MAX_VALUE) {
+                        nanos -= delay - left;
+                    }
+                } finally {
+                    if (waiting.leader == current) {
+                        waiting.leader = null;
+                    }
+                }
+            }
+        } finally {
+            if (Objects.isNull(waiting.leader) && (position < 0 ? !this.occupied.isEmpty() : this.occupied.get(position))) {
+                waiting.waiters.signal();
+            }
+
+            this.lock.unlock();
+        }
+    }
+
+    private long awaitNanos(final Consumers waiting, final long nanos) throws InterruptedException {
+
+        if (nanos == Long.MAX_VALUE) {
+            waiting.waiters.await();
+            return nanos;
+        }
+
+        return waiting.waiters.awaitNanos(nanos);
+    }
+
+    /**
+     * Removes the first entry of a code or over all codes if it is due.
+     *
+     * @param position Position of the code or -1 for all codes.
+     * @param now      Current time of the storage.
+     *
+     * @return Removed entry or null if no entry is due.
+     */
+    private TYPE load(final int position, final long now) {
+
+        final int selected = position < 0 ? this.earliest() : position;
+
+        if (selected < 0) {
+            return null;
+        }
+
+        final EntryOrder.Entries<Node<TYPE>> heap = this.heaps.get(selected);
+
+        if (heap.isEmpty() || heap.get(0).deadline > now) {
+            return null;
+        }
+
+        final TYPE res = heap.poll().entry;
+
+        if (heap.isEmpty()) {
+            this.occupied.clear(selected);
+        }
+
+        return res;
+    }
+
+    private int loadAll(final int position, final Collection<? super TYPE> target, final int max) {
+
+        final long now = this.now();
+        int res = 0;
+        TYPE entry;
+
+        while (res < max && Objects.nonNull(entry = this.load(position, now))) {
+            target.add(entry);
+            ++res;
+        }
+
+        return res;
+    }
+
+    /**
+     * Searches the code whose first entry is due first. Only the roots of the heaps of codes with entries are compared.
+     *
+     * @return Position of the code or -1 if the storage is empty.
+     */
+    private int earliest() {
+
+        int res = -1;
+        long deadline = Long.MAX_VALUE;
+
+        for (int position = this.occupied.nextSetBit(0); position >= 0; position = this.occupied.nextSetBit(position + 1)) {
+            final Node<TYPE> first = this.heaps.get(position).get(0);
+
+            if (res < 0 || first.deadline < deadline) {
+                res = position;
+                deadline = first.deadline;
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Due time of the first entry of a code or over all codes.
+     *
+     * @param position Position of the code or -1 for all codes.
+     *
+     * @return Due time or {@link Long#MAX_VALUE} if there is no entry.
+     */
+    private long deadline(final int position) {
+
+        final int selected = position < 0 ? this.earliest() : position;
+
+        if (selected < 0 || this.heaps.get(selected).isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+
+        return this.heaps.get(selected).get(0).deadline;
+    }
+
+    private long now() {
+        return this.clock.getAsLong() - this.origin;
+    }
+
+    private int position(final CODE code, final String action) {
+
+        final Integer res = Objects.isNull(code) ? null : this.positions.get(code);
+
+        if (Objects.isNull(res)) {
+            throw new NullPointerException("Value(s) cannot be " + action + " for key " + String.valueOf(code) + ".");
+        }
+
+        return res;
+    }
+
+    private static long toNanos(final Duration delay) {
+        try {
+            return delay.toNanos();
+        } catch (ArithmeticException ex) {
+            return delay.isNegative() ? 0L : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Creates an instance of a delayed sorted storage by a given set of key. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE> Generic code type.
+     * @param <TYPE> Generic type which is stored.
+     * @param codes  Codes used for sorting the entries.
+     *
+     * @return Thread-safe, blocking sorted storage with delayed entries.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> DelayedSortedStorage<CODE, TYPE> of(final CODE... codes) {
+        return DelayedSortedStorage.create(System::nanoTime, Clock.systemUTC(), codes);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <CODE extends Comparable<?>, TYPE> DelayedSortedStorage<CODE, TYPE> create(final LongSupplier clock, final Clock wallClock, final CODE... codes) {
+
+        if (Objects.isNull(codes) || (codes.length == 0)) {
+            throw new NullPointerException("Sorted storages requires codes for sorting entities.");
+        }
+
+        final Map<CODE, Integer> positions = new LinkedHashMap<>(codes.length);
+
+        for (CODE code : codes) {
+            positions.putIfAbsent(code, positions.size());
+        }
+
+        return new DelayedSortedStorage<>(positions, clock, wallClock);
+    }
+
+    /**
+     * Consumers waiting for the entries of a code or of all codes. The leader is the consumer that waits for the due time of the first entry.
+     */
+    private static final class Consumers {
+
+        private final Waiters waiters;
+        private Thread leader;
+
+        private Consumers(final ReentrantLock lock) {
+            this.waiters = new Waiters(lock);
+        }
+
+        /**
+         * Wakes up a consumer because the first entry changed. The woken consumer becomes the new leader.
+         */
+        private void wakeLeader() {
+            this.leader = null;
+            this.waiters.signal();
+        }
+    }
+
+    /**
+     * Stored entry with its due time in nanoseconds since the creation of the storage.
+     *
+     * @param <TYPE> Generic type which is stored.
+     */
+    private static final class Node<TYPE> {
+
+        private final TYPE entry;
+        private final long deadline;
+        private final long sequence;
+
+        private Node(final TYPE entry, final long deadline, final long sequence) {
+            this.entry = entry;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,488 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h2>EntryOrder</h2>
+ * <p>
+ * An entry order decides which entry of a code is loaded next. The entries of every code are kept in an array-backed list, so loading an entry never searches the list.
+ * <ul>
+ * <li>{@link #lifo()}: The last stored entry is loaded first, loading costs O(1). This is the default.</li>
+ * <li>{@link #fifo()}: The first stored entry is loaded first, entries are kept in a circular array and loading costs O(1).</li>
+ * <li>{@link #priority(java.util.Comparator)}: The smallest entry by a comparator is loaded first, entries are kept in a binary heap and storing and loading cost O(log n).</li>
+ * </ul>
+ * The overflow policy {@link OverflowPolicy#DROP_OLDEST} drops the first stored entry of a lifo or fifo order and the largest entry of a priority order. The lists returned by {@link SortedStorage#getStorage()} contain the entries of a priority order in heap order.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type which is stored.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class EntryOrder<TYPE> {
+
+    private static final EntryOrder<?> LIFO = new EntryOrder<>(null, false);
+    private static final EntryOrder<?> FIFO = new EntryOrder<>(null, true);
+
+    private final Comparator<? super TYPE> comparator;
+    private final boolean firstInFirstOut;
+
+    @SuppressWarnings("unchecked")
+    public static <TYPE> EntryOrder<TYPE> lifo() {
+        return (EntryOrder<TYPE>) EntryOrder.LIFO;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <TYPE> EntryOrder<TYPE> fifo() {
+        return (EntryOrder<TYPE>) EntryOrder.FIFO;
+    }
+
+    /**
+     * Creates a priority order. Entries that are equal by the comparator are loaded in no particular order.
+     *
+     * @param <TYPE>     Generic type which is stored.
+     * @param comparator Comparator of the entries, the smallest entry is loaded first.
+     *
+     * @return Priority order.
+     */
+    public static <TYPE> EntryOrder<TYPE> priority(final Comparator<? super TYPE> comparator) {
+
+        if (Objects.isNull(comparator)) {
+            throw new NullPointerException("Priority order requires a comparator.");
+        }
+
+        return new EntryOrder<>(comparator, false);
+    }
+
+    /**
+     * Creates the list of entries of a code.
+     *
+     * @return Empty list of entries.
+     */
+    Entries<TYPE> entries() {
+
+        if (Objects.nonNull(this.comparator)) {
+            return new Heap<>(this.comparator);
+        }
+
+        return this.firstInFirstOut ? new Ring<>() : new Stack<>();
+    }
+
+    /**
+     * Entries of a single code.
+     *
+     * @param <TYPE> Generic type which is stored.
+     */
+    interface Entries<TYPE> extends List<TYPE> {
+
+        /**
+         * Removes the entry that is loaded next from a non-empty list.
+         *
+         * @return Removed entry.
+         */
+        TYPE poll();
+
+        /**
+         * Removes the entry that is dropped to make room for a new entry from a non-empty list.
+         *
+         * @return Removed entry.
+         */
+        TYPE evict();
+    }
+
+    private static final class Stack<TYPE> extends ArrayList<TYPE> implements Entries<TYPE> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public TYPE poll() {
+            return this.remove(this.size() - 1);
+        }
+
+        @Override
+        public TYPE evict() {
+            return this.remove(0);
+        }
+    }
+
+    /**
+     * Circular array list. Appending and removing the first entry cost O(1), inserting and removing in between shift the following entries.
+     */
+    private static final class Ring<TYPE> extends AbstractList<TYPE> implements Entries<TYPE>, RandomAccess {
+
+        private Object[] elements = new Object[16];
+        private int head;
+        private int size;
+
+        @Override
+        public TYPE poll() {
+
+            final TYPE res = this.get(0);
+
+            this.elements[this.head] = null;
+            this.head = (this.head + 1) & (this.elements.length - 1);
+            --this.size;
+            ++this.modCount;
+
+            return res;
+        }
+
+        @Override
+        public TYPE evict() {
+            return this.poll();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public TYPE get(final int index) {
+            Objects.checkIndex(index, this.size);
+            return (TYPE) this.elements[this.slot(index)];
+        }
+
+        @Override
+        public TYPE set(final int index, final TYPE element) {
+
+            final TYPE res = this.get(index);
+            this.elements[this.slot(index)] = element;
+
+            return res;
+        }
+
+        @Override
+        public void add(final int index, final TYPE element) {
+
+            Objects.checkIndex(index, this.size + 1);
+
+            if (this.size == this.elements.length) {
+                this.grow();
+            }
+
+            for (int current = this.size; current > index; --current) {
+                this.elements[this.slot(current)] = this.elements[this.slot(current - 1)];
+            }
+
+            this.elements[this.slot(index)] = element;
+            ++this.size;
+            ++this.modCount;
+        }
+
+        @Override
+        public TYPE remove(final int index) {
+
+            if (index == 0) {
+                return this.poll();
+            }
+
+            final TYPE res = this.get(index);
+
+            for (int current = index; current < this.size - 1; ++current) {
+                this.elements[this.slot(current)] = this.elements[this.slot(current + 1)];
+            }
+
+            this.elements[this.slot(this.size - 1)] = null;
+            --this.size;
+            ++this.modCount;
+
+            return res;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(this.elements, null);
+            this.head = 0;
+            this.size = 0;
+            ++this.modCount;
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        private int slot(final int index) {
+            return (this.head + index) & (this.elements.length - 1);
+        }
+
+        private void grow() {
+
+            final Object[] grown = new Object[this.elements.length << 1];
+
+            for (int index = 0; index < this.size; ++index) {
+                grown[index] = this.elements[this.slot(index)];
+            }
+
+            this.elements = grown;
+            this.head = 0;
+        }
+    }
+
+    /**
+     * Binary min-heap. The list contains the entries in heap order, the smallest entry is at index 0.
+     */
+    private static final class Heap<TYPE> extends AbstractList<TYPE> implements Entries<TYPE>, RandomAccess {
+
+        private final Comparator<? super TYPE> comparator;
+        private Object[] elements = new Object[16];
+        private int size;
+
+        private Heap(final Comparator<? super TYPE> comparator) {
+            this.comparator = comparator;
+        }
+
+        @Override
+        public TYPE poll() {
+            return this.remove(0);
+        }
+
+        /**
+         * Removes the largest entry. The largest entry is always a leaf, so only the second half of the heap is searched.
+         */
+        @Override
+        public TYPE evict() {
+
+            int largest = this.size >>> 1;
+
+            for (int index = largest + 1; index < this.size; ++index) {
+                if (this.comparator.compare(this.element(index), this.element(largest)) > 0) {
+                    largest = index;
+                }
+            }
+
+            return this.remove(largest);
+        }
+
+        @Override
+        public TYPE get(final int index) {
+            Objects.checkIndex(index, this.size);
+            return this.element(index);
+        }
+
+        /**
+         * Inserts an entry into the heap. Entries can only be appended, their position is defined by the comparator.
+         */
+        @Override
+        public void add(final int index, final TYPE element) {
+
+            if (index != this.size) {
+                throw new UnsupportedOperationException("Entries of a priority order can only be appended.");
+            }
+
+            if (this.size == this.elements.length) {
+                this.elements = Arrays.copyOf(this.elements, this.size << 1);
+            }
+
+            this.siftUp(this.size++, element);
+            ++this.modCount;
+        }
+
+        @Override
+        public TYPE remove(final int index) {
+
+            final TYPE res = this.get(index);
+            this.removeAt(index);
+
+            return res;
+        }
+
+        /**
+         * Iterates the entries in heap order. Removing an entry can move the last entry in front of the cursor, the iterator remembers such entries and returns them at the end, like the iterator of {@link java.util.PriorityQueue}. Bulk removals like {@link #removeIf(java.util.function.Predicate)} rely on it.
+         */
+        @Override
+        public Iterator<TYPE> iterator() {
+            return new HeapIterator();
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(this.elements, 0, this.size, null);
+            this.size = 0;
+            ++this.modCount;
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        @SuppressWarnings("unchecked")
+        private TYPE element(final int index) {
+            return (TYPE) this.elements[index];
+        }
+
+        /**
+         * Removes the entry at an index by moving the last entry into its place.
+         *
+         * @return The last entry if it was moved in front of the index, otherwise null.
+         */
+        private TYPE removeAt(final int index) {
+
+            final int last = --this.size;
+            final TYPE moved = this.element(last);
+
+            this.elements[last] = null;
+            ++this.modCount;
+
+            if (index == last) {
+                return null;
+            }
+
+            this.siftDown(index, moved);
+
+            if (this.elements[index] == moved) {
+                this.siftUp(index, moved);
+
+                if (this.elements[index] != moved) {
+                    return moved;
+                }
+            }
+
+            return null;
+        }
+
+        private void siftUp(final int index, final TYPE element) {
+
+            int current = index;
+
+            while (current > 0) {
+                final int parent = (current - 1) >>> 1;
+
+                if (this.comparator.compare(element, this.element(parent)) >= 0) {
+                    break;
+                }
+
+                this.elements[current] = this.elements[parent];
+                current = parent;
+            }
+
+            this.elements[current] = element;
+        }
+
+        private void siftDown(final int index, final TYPE element) {
+
+            final int half = this.size >>> 1;
+            int current = index;
+
+            while (current < half) {
+                int child = (current << 1) + 1;
+                final int right = child + 1;
+
+                if (right < this.size && this.comparator.compare(this.element(right), this.element(child)) < 0) {
+                    child = right;
+                }
+
+                if (this.comparator.compare(element, this.element(child)) <= 0) {
+                    break;
+                }
+
+                this.elements[current] = this.elements[child];
+                current = child;
+            }
+
+            this.elements[current] = element;
+        }
+
+        private final class HeapIterator implements Iterator<TYPE> {
+
+            private int cursor;
+            private int last = -1;
+            private ArrayDeque<TYPE> forgotten;
+            private TYPE lastForgotten;
+            private int expectedModCount = Heap.this.modCount;
+
+            @Override
+            public boolean hasNext() {
+                return this.cursor < Heap.this.size || (Objects.nonNull(this.forgotten) && !this.forgotten.isEmpty());
+            }
+
+            @Override
+            public TYPE next() {
+
+                if (this.expectedModCount != Heap.this.modCount) {
+                    throw new ConcurrentModificationException();
+                }
+
+                if (this.cursor < Heap.this.size) {
+                    return Heap.this.element(this.last = this.cursor++);
+                }
+
+                if (Objects.nonNull(this.forgotten)) {
+                    this.last = -1;
+                    this.lastForgotten = this.forgotten.poll();
+
+                    if (Objects.nonNull(this.lastForgotten)) {
+                        return this.lastForgotten;
+                    }
+                }
+
+                throw new NoSuchElementException();
+            }
+
+            @Override
+            public void remove() {
+
+                if (this.expectedModCount != Heap.this.modCount) {
+                    throw new ConcurrentModificationException();
+                }
+
+                if (this.last != -1) {
+                    final TYPE moved = Heap.this.removeAt(this.last);
+                    this.last = -1;
+
+                    if (Objects.isNull(moved)) {
+                        --this.cursor;
+                    } else {
+                        if (Objects.isNull(this.forgotten)) {
+                            this.forgotten = new ArrayDeque<>();
+                        }
+
+                        this.forgotten.add(moved);
+                    }
+                } else if (Objects.nonNull(this.lastForgotten)) {
+                    Heap.this.removeAt(this.indexOf(this.lastForgotten));
+                    this.lastForgotten = null;
+                } else {
+                    throw new IllegalStateException();
+                }
+
+                this.expectedModCount = Heap.this.modCount;
+            }
+
+            private int indexOf(final TYPE entry) {
+
+                for (int index = 0; index < Heap.this.size; ++index) {
+                    if (Heap.this.elements[index] == entry) {
+                        return index;
+                    }
+                }
+
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
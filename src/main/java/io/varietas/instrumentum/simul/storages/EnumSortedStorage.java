@@ -0,0 +1,295 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * <h2>EnumSortedStorage</h2>
+ * <p>
+ * This storage sorts entries by enum codes. The entries of a code are kept in an array stack at the ordinal of the code, so storing and loading neither hashes the code nor allocates, apart from growing a stack. A bitmap of all ordinals with stored entries allows loading the next entry without iterating over empty codes. {@link #next()} loads from the code with the smallest ordinal, entries of a code are loaded last stored, first loaded.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Enum code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+public class EnumSortedStorage<CODE extends Enum<CODE>, TYPE> implements SortedStorage<CODE, TYPE> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Object[] EMPTY = new Object[0];
+
+    private final Class<CODE> type;
+    private final BitSet codes;
+    private final Object[][] entries;
+    private final int[] sizes;
+    private final BitSet occupied = new BitSet();
+    private ExclusionChain<TYPE> exclusions = ExclusionChain.empty();
+
+    private EnumSortedStorage(final Class<CODE> type, final BitSet codes) {
+        final int count = type.getEnumConstants().length;
+
+        this.type = type;
+        this.codes = codes;
+        this.entries = new Object[count][];
+        this.sizes = new int[count];
+
+        Arrays.fill(this.entries, EMPTY);
+    }
+
+    @Override
+    public final Optional<TYPE> next() {
+
+        final int ordinal = this.occupied.nextSetBit(0);
+
+        if (ordinal < 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.pop(ordinal));
+    }
+
+    @Override
+    public final Optional<TYPE> next(final CODE code) {
+
+        final int ordinal = this.ordinal(code);
+
+        if (this.sizes[ordinal] == 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.pop(ordinal));
+    }
+
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+
+        Objects.requireNonNull(target, "Storage cannot drain entries to a null collection.");
+
+        int res = 0;
+
+        for (int ordinal = this.occupied.nextSetBit(0); ordinal >= 0 && res < max; ordinal = this.occupied.nextSetBit(ordinal + 1)) {
+            res += this.popAll(ordinal, target, max - res);
+        }
+
+        return res;
+    }
+
+    @Override
+    public final List<TYPE> nextBatch(final CODE code, final int max) {
+
+        final int ordinal = this.ordinal(code);
+        final List<TYPE> res = new ArrayList<>(Math.min(Math.max(max, 0), this.sizes[ordinal]));
+
+        this.popAll(ordinal, res, max);
+
+        return res;
+    }
+
+    /**
+     * Stores a entry in the storage. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing.
+     */
+    @Override
+    public final int store(final TYPE entry, final CODE code) {
+        return this.store(entry, this.ordinal(code));
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage. Returns -1 if the entries are not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entries Entries to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries, final CODE code) {
+
+        final int ordinal = this.ordinal(code);
+
+        for (TYPE entry : entries) {
+            if (this.store(entry, ordinal) == -1) {
+                return -1;
+            }
+        }
+
+        return this.sizes[ordinal];
+    }
+
+    /**
+     * Creates a copy of all entries. The lists are ordered as the entries are stored.
+     *
+     * @return Copy of the stored entries per code.
+     */
+    @Override
+    public final Map<CODE, List<TYPE>> getStorage() {
+
+        final Map<CODE, List<TYPE>> res = new EnumMap<>(this.type);
+        final CODE[] constants = this.type.getEnumConstants();
+
+        for (int ordinal = this.codes.nextSetBit(0); ordinal >= 0; ordinal = this.codes.nextSetBit(ordinal + 1)) {
+            final List<TYPE> list = new ArrayList<>(this.sizes[ordinal]);
+
+            for (int index = 0; index < this.sizes[ordinal]; ++index) {
+                list.add(this.entry(ordinal, index));
+            }
+
+            res.put(constants[ordinal], list);
+        }
+
+        return res;
+    }
+
+    @Override
+    public final Boolean isEmpty(final CODE code) {
+        return this.sizes[this.ordinal(code)] == 0;
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        return this.occupied.isEmpty();
+    }
+
+    @Override
+    public final SortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
+        this.exclusions = this.exclusions.with(exclusion);
+        return this;
+    }
+
+    @Override
+    public final <KEY> SortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        this.exclusions = this.exclusions.with(ExclusionSet.of(key, excluded));
+        return this;
+    }
+
+    private int store(final TYPE entry, final int ordinal) {
+
+        if (this.exclusions.isExcluded(entry)) {
+            return -1;
+        }
+
+        Object[] stack = this.entries[ordinal];
+        final int size = this.sizes[ordinal];
+
+        if (size == stack.length) {
+            stack = Arrays.copyOf(stack, Math.max(INITIAL_CAPACITY, size + (size >> 1)));
+            this.entries[ordinal] = stack;
+        }
+
+        stack[size] = entry;
+        this.occupied.set(ordinal);
+
+        return this.sizes[ordinal] = size + 1;
+    }
+
+    private TYPE pop(final int ordinal) {
+
+        final int size = --this.sizes[ordinal];
+        final TYPE res = this.entry(ordinal, size);
+
+        this.entries[ordinal][size] = null;
+
+        if (size == 0) {
+            this.occupied.clear(ordinal);
+        }
+
+        return res;
+    }
+
+    private int popAll(final int ordinal, final Collection<? super TYPE> target, final int max) {
+
+        int res = 0;
+
+        while (res < max && this.sizes[ordinal] > 0) {
+            target.add(this.pop(ordinal));
+            ++res;
+        }
+
+        return res;
+    }
+
+    @SuppressWarnings("unchecked")
+    private TYPE entry(final int ordinal, final int index) {
+        return (TYPE) this.entries[ordinal][index];
+    }
+
+    private int ordinal(final CODE code) {
+
+        if (Objects.isNull(code) || !this.codes.get(code.ordinal())) {
+            throw new NullPointerException("Value(s) cannot be stored for key " + String.valueOf(code) + ".");
+        }
+
+        return code.ordinal();
+    }
+
+    /**
+     * Creates an instance of an enum sorted storage for all constants of an enum. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE> Enum code type.
+     * @param <TYPE> Generic type which is stored.
+     * @param type   Enum class of the codes.
+     *
+     * @return Enum sorted storage.
+     */
+    public static <CODE extends Enum<CODE>, TYPE> EnumSortedStorage<CODE, TYPE> of(final Class<CODE> type) {
+
+        if (Objects.isNull(type)) {
+            throw new NullPointerException("Sorted storages requires codes for sorting entities.");
+        }
+
+        return EnumSortedStorage.of(type.getEnumConstants());
+    }
+
+    /**
+     * Creates an instance of an enum sorted storage by a given set of key. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE> Enum code type.
+     * @param <TYPE> Generic type which is stored.
+     * @param codes  Codes used for sorting the entries.
+     *
+     * @return Enum sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Enum<CODE>, TYPE> EnumSortedStorage<CODE, TYPE> of(final CODE... codes) {
+
+        if (Objects.isNull(codes) || (codes.length == 0)) {
+            throw new NullPointerException("Sorted storages requires codes for sorting entities.");
+        }
+
+        final BitSet known = new BitSet();
+
+        for (CODE code : codes) {
+            known.set(Objects.requireNonNull(code, "Sorted storages requires codes for sorting entities.").ordinal());
+        }
+
+        return new EnumSortedStorage<>(codes[0].getDeclaringClass(), known);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * <h2>ExclusionChain</h2>
+ * <p>
+ * Immutable, compiled form of the exclusion predictions of a storage. Adding a prediction creates a new chain. Exclusion sets are evaluated before exclusion functions, because a set lookup costs a few bit tests while a function may be arbitrary expensive. The checks are held in arrays, so evaluating the chain does not create a stream or an iterator per entry.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type which is checked.
+ */
+final class ExclusionChain<TYPE> {
+
+    /**
+     * Minimum number of entries checked in parallel by {@link #isAnyExcluded(java.util.List)}.
+     */
+    static final int PARALLEL_THRESHOLD = 8192;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final ExclusionChain EMPTY = new ExclusionChain<>(new Predicate[0], new Function[0]);
+
+    private final Predicate<TYPE>[] sets;
+    private final Function<TYPE, Boolean>[] functions;
+
+    private ExclusionChain(final Predicate<TYPE>[] sets, final Function<TYPE, Boolean>[] functions) {
+        this.sets = sets;
+        this.functions = functions;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <TYPE> ExclusionChain<TYPE> empty() {
+        return ExclusionChain.EMPTY;
+    }
+
+    /**
+     * Checks if an entry is excluded by any set or function of the chain.
+     *
+     * @param entry Entry to be checked.
+     *
+     * @return True if the entry must not be stored, otherwise false.
+     */
+    boolean isExcluded(final TYPE entry) {
+
+        for (Predicate<TYPE> set : this.sets) {
+            if (set.test(entry)) {
+                return true;
+            }
+        }
+
+        for (Function<TYPE, Boolean> function : this.functions) {
+            if (function.apply(entry)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if any entry of a list is excluded. Lists of at least {@link #PARALLEL_THRESHOLD} entries are checked in parallel by the common fork-join pool, so the sets and functions of the chain have to be thread-safe.
+     *
+     * @param entries Entries to be checked.
+     *
+     * @return True if at least one entry must not be stored, otherwise false.
+     */
+    boolean isAnyExcluded(final List<TYPE> entries) {
+
+        if (this.isEmpty()) {
+            return false;
+        }
+
+        if (entries.size() >= PARALLEL_THRESHOLD) {
+            return entries.parallelStream().anyMatch(this::isExcluded);
+        }
+
+        for (TYPE entry : entries) {
+            if (this.isExcluded(entry)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    boolean isEmpty() {
+        return this.sets.length == 0 && this.functions.length == 0;
+    }
+
+    ExclusionChain<TYPE> with(final Function<TYPE, Boolean> exclusion) {
+
+        final Function<TYPE, Boolean>[] res = Arrays.copyOf(this.functions, this.functions.length + 1);
+        res[this.functions.length] = Objects.requireNonNull(exclusion, "Exclusion cannot be null.");
+
+        return new ExclusionChain<>(this.sets, res);
+    }
+
+    ExclusionChain<TYPE> with(final ExclusionSet<TYPE, ?> exclusion) {
+
+        final Predicate<TYPE>[] res = Arrays.copyOf(this.sets, this.sets.length + 1);
+        res[this.sets.length] = Objects.requireNonNull(exclusion, "Exclusion cannot be null.");
+
+        return new ExclusionChain<>(res, this.functions);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * <h2>ExclusionSet</h2>
+ * <p>
+ * Excludes entries whose key is part of a fixed set of keys. A bloom filter answers most lookups of keys that are not excluded, only possible matches are checked against the exact set.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type which is checked.
+ * @param <KEY>  Generic type of the excluded keys.
+ */
+final class ExclusionSet<TYPE, KEY> implements Predicate<TYPE> {
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final Function<TYPE, KEY> key;
+    private final BloomFilter filter;
+    private final Set<KEY> keys;
+
+    private ExclusionSet(final Function<TYPE, KEY> key, final BloomFilter filter, final Set<KEY> keys) {
+        this.key = key;
+        this.filter = filter;
+        this.keys = keys;
+    }
+
+    @Override
+    public boolean test(final TYPE entry) {
+
+        final KEY value = this.key.apply(entry);
+
+        return this.filter.mightContain(value) && this.keys.contains(value);
+    }
+
+    /**
+     * Creates an exclusion set from a copy of the given keys. Keys added to the collection afterwards are not excluded.
+     *
+     * @param <TYPE>   Generic type which is checked.
+     * @param <KEY>    Generic type of the excluded keys.
+     * @param key      Function extracting the key of an entry.
+     * @param excluded Keys of entries that are excluded.
+     *
+     * @return Exclusion set.
+     */
+    static <TYPE, KEY> ExclusionSet<TYPE, KEY> of(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+
+        if (Objects.isNull(key)) {
+            throw new NullPointerException("Exclusion sets requires a key function.");
+        }
+
+        if (Objects.isNull(excluded)) {
+            throw new NullPointerException("Exclusion sets requires excluded keys.");
+        }
+
+        final Set<KEY> keys = new HashSet<>(excluded);
+        final BloomFilter filter = BloomFilter.of(keys.size(), FALSE_POSITIVE_PROBABILITY);
+
+        keys.forEach(filter::put);
+
+        return new ExclusionSet<>(key, filter, keys);
+    }
+}
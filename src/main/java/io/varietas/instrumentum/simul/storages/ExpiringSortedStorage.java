@@ -0,0 +1,384 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * <h2>ExpiringSortedStorage</h2>
+ * <p>
+ * This storage sorts entries by codes like the {@link SimpleSortedStorage} and removes entries after a time to live. Every storage has a default time to live, a different one can be passed per entry by {@link #store(java.lang.Object, java.lang.Comparable, java.time.Duration)}. Expired entries are removed by a {@link TimerWheel} while the storage is used, there is no background thread. Loading methods additionally skip entries whose time to live elapsed since the last tick of the wheel, so an expired entry is never returned.
+ * <p>
+ * The number of expired entries is counted per code and over all codes.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+public class ExpiringSortedStorage<CODE extends Comparable<?>, TYPE> implements SortedStorage<CODE, TYPE> {
+
+    private final Map<CODE, Integer> positions;
+    private final List<Node<TYPE>> heads;
+    private final int[] sizes;
+    private final long[] expired;
+    private final BitSet occupied = new BitSet();
+    private final long timeToLive;
+    private final LongSupplier clock;
+    private final long origin;
+    private final TimerWheel wheel;
+    private ExclusionChain<TYPE> exclusions = ExclusionChain.empty();
+    private long expiredTotal;
+
+    private ExpiringSortedStorage(final Map<CODE, Integer> positions, final long timeToLive, final LongSupplier clock) {
+        this.positions = positions;
+        this.heads = new ArrayList<>(positions.size());
+        this.sizes = new int[positions.size()];
+        this.expired = new long[positions.size()];
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+        this.wheel = new TimerWheel(0L);
+
+        for (int position = 0; position < positions.size(); ++position) {
+            this.heads.add(new Node<>(null, position, 0L));
+        }
+    }
+
+    @Override
+    public final Optional<TYPE> next() {
+
+        final long now = this.advance();
+
+        for (int position = this.occupied.nextSetBit(0); position >= 0; position = this.occupied.nextSetBit(position + 1)) {
+            final TYPE res = this.pop(position, now);
+
+            if (Objects.nonNull(res)) {
+                return Optional.of(res);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public final Optional<TYPE> next(final CODE code) {
+
+        final int position = this.position(code);
+
+        return Optional.ofNullable(this.pop(position, this.advance()));
+    }
+
+    /**
+     * Stores a entry with the default time to live of the storage. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing.
+     */
+    @Override
+    public final int store(final TYPE entry, final CODE code) {
+        return this.store(entry, this.position(code), this.timeToLive);
+    }
+
+    /**
+     * Stores a entry with an individual time to live. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entry      Entry to be stored.
+     * @param code       Annotation type code where the entry should be stored for.
+     * @param timeToLive Time until the entry expires.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing or the time to live is not positive.
+     */
+    public final int store(final TYPE entry, final CODE code, final Duration timeToLive) {
+        return this.store(entry, this.position(code), ExpiringSortedStorage.toNanos(timeToLive));
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage. Returns -1 if the entries are not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entries Entries to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries, final CODE code) {
+
+        final int position = this.position(code);
+
+        for (TYPE entry : entries) {
+            if (this.store(entry, position, this.timeToLive) == -1) {
+                return -1;
+            }
+        }
+
+        return this.sizes[position];
+    }
+
+    /**
+     * Creates a copy of all entries that are not expired. The lists are ordered as the entries are stored.
+     *
+     * @return Copy of the stored entries per code.
+     */
+    @Override
+    public final Map<CODE, List<TYPE>> getStorage() {
+
+        final long now = this.advance();
+        final Map<CODE, List<TYPE>> res = new LinkedHashMap<>();
+
+        this.positions.forEach((code, position) -> {
+            final Node<TYPE> head = this.heads.get(position);
+            final List<TYPE> list = new ArrayList<>(this.sizes[position]);
+
+            for (Node<TYPE> node = head.after; node != head; node = node.after) {
+                if (node.getDeadline() > now) {
+                    list.add(node.entry);
+                }
+            }
+
+            res.put(code, list);
+        });
+
+        return res;
+    }
+
+    @Override
+    public final Boolean isEmpty(final CODE code) {
+
+        final int position = this.position(code);
+        this.advance();
+
+        return this.sizes[position] == 0;
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+
+        this.advance();
+
+        return this.occupied.isEmpty();
+    }
+
+    @Override
+    public final SortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
+        this.exclusions = this.exclusions.with(exclusion);
+        return this;
+    }
+
+    @Override
+    public final <KEY> SortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        this.exclusions = this.exclusions.with(ExclusionSet.of(key, excluded));
+        return this;
+    }
+
+    /**
+     * Number of entries that expired before they were loaded.
+     *
+     * @return Number of expired entries over all codes.
+     */
+    public final long getExpiredCount() {
+        this.advance();
+        return this.expiredTotal;
+    }
+
+    /**
+     * Number of entries of a code that expired before they were loaded.
+     *
+     * @param code Category code.
+     *
+     * @return Number of expired entries of the code.
+     */
+    public final long getExpiredCount(final CODE code) {
+
+        final int position = this.position(code);
+        this.advance();
+
+        return this.expired[position];
+    }
+
+    private int store(final TYPE entry, final int position, final long timeToLive) {
+
+        final long now = this.advance();
+
+        if (this.exclusions.isExcluded(entry) || timeToLive <= 0) {
+            return -1;
+        }
+
+        final Node<TYPE> head = this.heads.get(position);
+        final Node<TYPE> node = new Node<>(entry, position, now + Math.min(timeToLive, Long.MAX_VALUE - now));
+
+        node.before = head.before;
+        node.after = head;
+        head.before.after = node;
+        head.before = node;
+
+        this.wheel.schedule(node);
+        this.occupied.set(position);
+
+        return ++this.sizes[position];
+    }
+
+    /**
+     * Removes the last stored entry of a code. Entries that expired since the last tick are dropped and counted.
+     *
+     * @return Removed entry or null if the code does not contain an entry that is not expired.
+     */
+    private TYPE pop(final int position, final long now) {
+
+        final Node<TYPE> head = this.heads.get(position);
+
+        while (head.before != head) {
+            final Node<TYPE> node = head.before;
+
+            this.wheel.cancel(node);
+            this.unlink(node);
+
+            if (node.getDeadline() > now) {
+                return node.entry;
+            }
+
+            this.countExpired(position);
+        }
+
+        return null;
+    }
+
+    private long advance() {
+
+        final long now = this.clock.getAsLong() - this.origin;
+
+        this.wheel.advance(now, timer -> {
+            @SuppressWarnings("unchecked")
+            final Node<TYPE> node = (Node<TYPE>) timer;
+
+            this.unlink(node);
+            this.countExpired(node.position);
+        });
+
+        return now;
+    }
+
+    private void unlink(final Node<TYPE> node) {
+
+        node.before.after = node.after;
+        node.after.before = node.before;
+        node.before = null;
+        node.after = null;
+
+        if (--this.sizes[node.position] == 0) {
+            this.occupied.clear(node.position);
+        }
+    }
+
+    private void countExpired(final int position) {
+        ++this.expired[position];
+        ++this.expiredTotal;
+    }
+
+    private int position(final CODE code) {
+
+        final Integer res = Objects.isNull(code) ? null : this.positions.get(code);
+
+        if (Objects.isNull(res)) {
+            throw new NullPointerException("Value(s) cannot be stored for key " + String.valueOf(code) + ".");
+        }
+
+        return res;
+    }
+
+    private static long toNanos(final Duration timeToLive) {
+
+        if (Objects.isNull(timeToLive)) {
+            throw new NullPointerException("Expiring storages requires a time to live.");
+        }
+
+        try {
+            return timeToLive.toNanos();
+        } catch (ArithmeticException ex) {
+            return timeToLive.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Creates an instance of an expiring sorted storage by a given set of key. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE>     Generic code type.
+     * @param <TYPE>     Generic type which is stored.
+     * @param timeToLive Default time until a stored entry expires.
+     * @param codes      Codes used for sorting the entries.
+     *
+     * @return Expiring sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> ExpiringSortedStorage<CODE, TYPE> of(final Duration timeToLive, final CODE... codes) {
+        return ExpiringSortedStorage.create(timeToLive, System::nanoTime, codes);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <CODE extends Comparable<?>, TYPE> ExpiringSortedStorage<CODE, TYPE> create(final Duration timeToLive, final LongSupplier clock, final CODE... codes) {
+
+        final long nanos = ExpiringSortedStorage.toNanos(timeToLive);
+
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("Time to live has to be positive.");
+        }
+
+        if (Objects.isNull(codes) || (codes.length == 0)) {
+            throw new NullPointerException("Sorted storages requires codes for sorting entities.");
+        }
+
+        final Map<CODE, Integer> positions = new LinkedHashMap<>(codes.length);
+
+        for (CODE code : codes) {
+            positions.putIfAbsent(code, positions.size());
+        }
+
+        return new ExpiringSortedStorage<>(positions, nanos, clock);
+    }
+
+    /**
+     * Stored entry that is linked into the list of its code and into the timer wheel. The head of a list is a node without entry.
+     *
+     * @param <TYPE> Generic type which is stored.
+     */
+    private static final class Node<TYPE> extends TimerWheel.Timer {
+
+        private final TYPE entry;
+        private final int position;
+        private Node<TYPE> before = this;
+        private Node<TYPE> after = this;
+
+        private Node(final TYPE entry, final int position, final long deadline) {
+            super(deadline);
+            this.entry = entry;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.Objects;
+
+/**
+ * <h2>FrequencySketch</h2>
+ * <p>
+ * A count-min sketch of 4-bit counters estimating how often a value was seen recently. Every value is counted by four counters, the estimate is the minimum of them. When the number of increments reaches ten times the capacity, all counters are halved, so old popularity fades out. The capacity is the number of counted entries, not their weight, and grows with the storage by {@link #ensureCapacity(long)}.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+    private static final int MAX_CAPACITY = 1 << 26;
+
+    private long[] table = new long[0];
+    private int mask;
+    private int sampleSize;
+    private int size;
+
+    FrequencySketch(final long capacity) {
+        this.ensureCapacity(capacity);
+    }
+
+    /**
+     * Grows the sketch to count the given number of entries. The sketch never shrinks, growing clears all counters.
+     *
+     * @param capacity Number of entries to be counted.
+     */
+    void ensureCapacity(final long capacity) {
+
+        final int length = Integer.highestOneBit((int) Math.max(2, Math.min(capacity, MAX_CAPACITY)) - 1) << 1;
+
+        if (length <= this.table.length) {
+            return;
+        }
+
+        this.table = new long[length];
+        this.mask = length - 1;
+        this.sampleSize = (int) Math.min(10L * Math.max(1, capacity), Integer.MAX_VALUE);
+        this.size = 0;
+    }
+
+    int frequency(final Object value) {
+
+        final int hash = FrequencySketch.spread(Objects.hashCode(value));
+        int res = MAX_COUNT;
+
+        for (int depth = 0; depth < SEEDS.length; ++depth) {
+            final int shift = FrequencySketch.offset(hash, depth) << 2;
+            res = Math.min(res, (int) ((this.table[this.index(hash, depth)] >>> shift) & 0xFL));
+        }
+
+        return res;
+    }
+
+    void increment(final Object value) {
+
+        final int hash = FrequencySketch.spread(Objects.hashCode(value));
+        boolean added = false;
+
+        for (int depth = 0; depth < SEEDS.length; ++depth) {
+            final int index = this.index(hash, depth);
+            final int shift = FrequencySketch.offset(hash, depth) << 2;
+            final long counter = 0xFL << shift;
+
+            if ((this.table[index] & counter) != counter) {
+                this.table[index] += 1L << shift;
+                added = true;
+            }
+        }
+
+        if (added && ++this.size >= this.sampleSize) {
+            this.reset();
+        }
+    }
+
+    private void reset() {
+
+        for (int index = 0; index < this.table.length; ++index) {
+            this.table[index] = (this.table[index] >>> 1) & RESET_MASK;
+        }
+
+        this.size >>>= 1;
+    }
+
+    private int index(final int hash, final int depth) {
+
+        long res = (hash + SEEDS[depth]) * SEEDS[depth];
+        res += res >>> 32;
+
+        return (int) res & this.mask;
+    }
+
+    private static int offset(final int hash, final int depth) {
+        return (hash >>> (depth << 3)) & 0xF;
+    }
+
+    private static int spread(final int hash) {
+
+        int res = ((hash >>> 16) ^ hash) * 0x45D9F3B;
+        res = ((res >>> 16) ^ res) * 0x45D9F3B;
+
+        return (res >>> 16) ^ res;
+    }
+}
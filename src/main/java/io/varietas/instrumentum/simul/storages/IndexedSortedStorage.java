@@ -0,0 +1,273 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h2>IndexedSortedStorage</h2>
+ * <p>
+ * This storage sorts entries by codes like the {@link SimpleSortedStorage} and additionally maintains a hash index of all stored entries. The index maps an entry to the equal entries stored per code, so {@link #findByTypes(java.lang.Object)} and {@link #findByTypesAndAnnotationCode(java.lang.Object, java.io.Serializable)} only depend on the number of found entries instead of the number of stored entries. The index is updated with every stored and loaded entry.
+ * <p>
+ * Attention: The storage returned by {@link #getStorage()} is not modifiable, because changes would bypass the index. Entries found by {@link #findByTypes(java.lang.Object)} are grouped by codes, the order of the codes is not defined.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class IndexedSortedStorage<CODE extends Comparable<?> & Serializable, TYPE> implements SortedStorage<CODE, TYPE>, SortedTypedStorage<CODE, TYPE> {
+
+    private final Map<CODE, List<TYPE>> storage;
+    private final Map<CODE, Integer> positions;
+    private final List<List<TYPE>> lists;
+    private final BitSet occupied = new BitSet();
+    private final Map<TYPE, Map<Integer, List<TYPE>>> index = new HashMap<>();
+    private ExclusionChain<TYPE> exclusions = ExclusionChain.empty();
+
+    @Override
+    public final Optional<TYPE> next() {
+
+        final int position = this.occupied.nextSetBit(0);
+
+        if (position < 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.pop(position));
+    }
+
+    @Override
+    public final Optional<TYPE> next(final CODE code) {
+
+        final int position = this.position(code);
+
+        if (this.lists.get(position).isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.pop(position));
+    }
+
+    /**
+     * Stores a entry in the storage and adds it to the index. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing.
+     */
+    @Override
+    public final int store(final TYPE entry, final CODE code) {
+
+        final int position = this.position(code);
+
+        if (this.exclusions.isExcluded(entry)) {
+            return -1;
+        }
+
+        final List<TYPE> list = this.lists.get(position);
+
+        list.add(entry);
+        this.occupied.set(position);
+        this.index
+                .computeIfAbsent(entry, key -> new HashMap<>(2))
+                .computeIfAbsent(position, key -> new ArrayList<>(1))
+                .add(entry);
+
+        return list.size();
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage. Returns -1 if the entries are not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entries Entries to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries, final CODE code) {
+
+        for (TYPE entry : entries) {
+            if (this.store(entry, code) == -1) {
+                return -1;
+            }
+        }
+
+        return this.lists.get(this.position(code)).size();
+    }
+
+    /**
+     * Searches all stored entries equal to a given entry.
+     *
+     * @param entry Equal entries searched for.
+     *
+     * @return Found entries or an empty list.
+     */
+    @Override
+    public final List<TYPE> findByTypes(final TYPE entry) {
+
+        final Map<Integer, List<TYPE>> found = this.index.get(entry);
+
+        if (Objects.isNull(found)) {
+            return Collections.emptyList();
+        }
+
+        final List<TYPE> res = new ArrayList<>();
+        found.values().forEach(res::addAll);
+
+        return res;
+    }
+
+    /**
+     * Searches all entries equal to a given entry that are stored for a code.
+     *
+     * @param entry Equal entries searched for.
+     * @param code  Annotation code.
+     *
+     * @return Found entries in the order they are stored or an empty list.
+     */
+    @Override
+    public final List<TYPE> findByTypesAndAnnotationCode(final TYPE entry, final CODE code) {
+
+        final int position = this.position(code);
+        final Map<Integer, List<TYPE>> found = this.index.get(entry);
+
+        if (Objects.isNull(found) || !found.containsKey(position)) {
+            return Collections.emptyList();
+        }
+
+        return new ArrayList<>(found.get(position));
+    }
+
+    @Override
+    public final Map<CODE, List<TYPE>> getStorage() {
+        return this.storage;
+    }
+
+    @Override
+    public final Boolean isEmpty(final CODE code) {
+        return this.lists.get(this.position(code)).isEmpty();
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        return this.occupied.isEmpty();
+    }
+
+    @Override
+    public final SortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
+        this.exclusions = this.exclusions.with(exclusion);
+        return this;
+    }
+
+    @Override
+    public final <KEY> SortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        this.exclusions = this.exclusions.with(ExclusionSet.of(key, excluded));
+        return this;
+    }
+
+    private int position(final CODE code) {
+
+        final Integer res = Objects.isNull(code) ? null : this.positions.get(code);
+
+        if (Objects.isNull(res)) {
+            throw new NullPointerException("Value(s) cannot be stored for key " + String.valueOf(code) + ".");
+        }
+
+        return res;
+    }
+
+    /**
+     * Removes the last entry of a non-empty list and from the index. Equal entries of a code are loaded in reverse order, so the last entry of the index list is the loaded one.
+     *
+     * @param position Position of the list.
+     *
+     * @return Removed entry.
+     */
+    private TYPE pop(final int position) {
+
+        final List<TYPE> list = this.lists.get(position);
+        final TYPE res = list.remove(list.size() - 1);
+
+        if (list.isEmpty()) {
+            this.occupied.clear(position);
+        }
+
+        final Map<Integer, List<TYPE>> found = this.index.get(res);
+        final List<TYPE> equal = found.get(position);
+
+        equal.remove(equal.size() - 1);
+
+        if (equal.isEmpty()) {
+            found.remove(position);
+
+            if (found.isEmpty()) {
+                this.index.remove(res);
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Creates an instance of an indexed sorted storage by a given set of key. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE> Generic code type.
+     * @param <TYPE> Generic type which is stored.
+     * @param codes  Codes used for sorting the entries.
+     *
+     * @return Indexed sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?> & Serializable, TYPE> IndexedSortedStorage<CODE, TYPE> of(final CODE... codes) {
+
+        if (Objects.isNull(codes) || (codes.length == 0)) {
+            throw new NullPointerException("Sorted storages requires codes for sorting entities.");
+        }
+
+        final Map<CODE, List<TYPE>> storage = new LinkedHashMap<>(codes.length);
+        final Map<CODE, Integer> positions = new HashMap<>(codes.length);
+        final List<List<TYPE>> lists = new ArrayList<>(codes.length);
+
+        for (CODE code : codes) {
+            if (!positions.containsKey(code)) {
+                final List<TYPE> list = new ArrayList<>();
+                positions.put(code, lists.size());
+                lists.add(list);
+                storage.put(code, Collections.unmodifiableList(list));
+            }
+        }
+
+        return new IndexedSortedStorage<>(Collections.unmodifiableMap(storage), positions, lists);
+    }
+}
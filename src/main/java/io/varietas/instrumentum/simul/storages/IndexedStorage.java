@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * <h2>IndexedStorage</h2>
+ * <p>
+ * A storage that maintains named secondary indexes over its entries. Every stored entry is indexed by the key returned by the extractor of an index, so entries can be found by {@link #findBy(java.lang.String, java.lang.Object)} without iterating over the storage.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type for the value which is stored.
+ */
+public interface IndexedStorage<TYPE> {
+
+    /**
+     * Adds a named index. Entries that are already stored are indexed immediately.
+     *
+     * @param name      Unique name of the index.
+     * @param extractor Function extracting the key of an entry.
+     *
+     * @return The instance of the storage for fluent like usage.
+     *
+     * @throws IllegalArgumentException If an index with the name already exists.
+     */
+    public IndexedStorage<TYPE> addIndex(final String name, final Function<TYPE, ?> extractor);
+
+    /**
+     * Searches all stored entries with a key by a named index. The entries are not removed from the storage.
+     *
+     * @param name Name of the index.
+     * @param key  Key of the entries.
+     *
+     * @return Found entries or an empty list.
+     *
+     * @throws IllegalArgumentException If no index with the name exists.
+     */
+    public List<TYPE> findBy(final String name, final Object key);
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h2>IntSortedStorage</h2>
+ * <p>
+ * This storage is the primitive counterpart of the {@link SimpleSortedStorage} for int values. Every code owns a growable int array and the values are loaded in the same order as by the simple storage (last stored, first loaded). Storing and loading values by the primitive methods does not allocate objects. The methods of the {@link SortedStorage} interface are supported but box the values.
+ * <p>
+ * Exclusions added by {@link #addIntExclusion(java.util.function.IntPredicate)} are evaluated without boxing, exclusions added by {@link #addExclusion(java.util.function.Function)} box every value that is stored.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class IntSortedStorage<CODE extends Comparable<?>> implements SortedStorage<CODE, Integer> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final Map<CODE, Integer> positions;
+    private final int[][] values;
+    private final int[] sizes;
+    private final BitSet occupied = new BitSet();
+    private final List<IntPredicate> exclusionPredictions = new ArrayList<>();
+
+    /**
+     * Stores a value for a code without boxing it.
+     *
+     * @param entry Value to be stored.
+     * @param code  Code where the value should be stored for.
+     *
+     * @return Number of stored values for the code or -1 if an exclusion prediction prevents the storing.
+     */
+    public final int storeInt(final int entry, final CODE code) {
+
+        final int position = this.position(code);
+
+        for (IntPredicate exclusion : this.exclusionPredictions) {
+            if (exclusion.test(entry)) {
+                return -1;
+            }
+        }
+
+        final int size = this.sizes[position];
+
+        if (size == this.values[position].length) {
+            this.values[position] = Arrays.copyOf(this.values[position], size << 1);
+        }
+
+        this.values[position][size] = entry;
+        this.occupied.set(position);
+
+        return ++this.sizes[position];
+    }
+
+    /**
+     * Loads the next value from the storage without boxing it. Important is that this value will be removed from the storage.
+     *
+     * @return Next value from the storage.
+     *
+     * @throws NoSuchElementException If the storage is empty.
+     */
+    public final int nextInt() {
+
+        final int position = this.occupied.nextSetBit(0);
+
+        if (position < 0) {
+            throw new NoSuchElementException("Storage does not contain any value.");
+        }
+
+        return this.pop(position);
+    }
+
+    /**
+     * Loads the next value for a code without boxing it. Important is that this value will be removed from the storage.
+     *
+     * @param code Code where the next value has to be loaded.
+     *
+     * @return Next value.
+     *
+     * @throws NoSuchElementException If there is no value for the code.
+     */
+    public final int nextInt(final CODE code) {
+
+        final int position = this.position(code);
+
+        if (this.sizes[position] == 0) {
+            throw new NoSuchElementException("Storage does not contain any value for key " + String.valueOf(code) + ".");
+        }
+
+        return this.pop(position);
+    }
+
+    /**
+     * Number of values stored for a code.
+     *
+     * @param code Category code.
+     *
+     * @return Number of stored values.
+     */
+    public final int size(final CODE code) {
+        return this.sizes[this.position(code)];
+    }
+
+    /**
+     * Adds an exclusion prediction that is evaluated without boxing the stored value.
+     *
+     * @param exclusion A prediction is used to prevent storing of a value. If the method returns true, the given value isn't stored.
+     *
+     * @return The instance of the sorted storage for fluent like usage.
+     */
+    public final IntSortedStorage<CODE> addIntExclusion(final IntPredicate exclusion) {
+        this.exclusionPredictions.add(Objects.requireNonNull(exclusion));
+        return this;
+    }
+
+    @Override
+    public final IntSortedStorage<CODE> addExclusion(final Function<Integer, Boolean> exclusion) {
+        Objects.requireNonNull(exclusion);
+        this.exclusionPredictions.add(entry -> exclusion.apply(entry));
+        return this;
+    }
+
+    @Override
+    public final Optional<Integer> next() {
+        return this.occupied.isEmpty() ? Optional.empty() : Optional.of(this.nextInt());
+    }
+
+    @Override
+    public final Optional<Integer> next(final CODE code) {
+        return this.sizes[this.position(code)] == 0 ? Optional.empty() : Optional.of(this.nextInt(code));
+    }
+
+    @Override
+    public final int store(final Integer entry, final CODE code) {
+        if (Objects.isNull(entry)) {
+            throw new NullPointerException("Storage cannot handle null objetcs.");
+        }
+        return this.storeInt(entry.intValue(), code);
+    }
+
+    @Override
+    public final int storeAll(final Collection<Integer> entries, final CODE code) {
+
+        final int position = this.position(code);
+
+        for (Integer entry : entries) {
+            if (this.store(entry, code) == -1) {
+                return -1;
+            }
+        }
+
+        return this.sizes[position];
+    }
+
+    /**
+     * All stored values per code. The values are boxed.
+     *
+     * @return Copy of the stored values per code.
+     */
+    @Override
+    public final Map<CODE, List<Integer>> getStorage() {
+
+        final Map<CODE, List<Integer>> res = new LinkedHashMap<>();
+
+        this.positions.forEach((code, position) -> {
+            final List<Integer> entries = new ArrayList<>(this.sizes[position]);
+
+            for (int index = 0; index < this.sizes[position]; ++index) {
+                entries.add(this.values[position][index]);
+            }
+
+            res.put(code, entries);
+        });
+
+        return res;
+    }
+
+    @Override
+    public final Boolean isEmpty(final CODE code) {
+        return this.sizes[this.position(code)] == 0;
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        return this.occupied.isEmpty();
+    }
+
+    private int pop(final int position) {
+
+        final int res = this.values[position][--this.sizes[position]];
+
+        if (this.sizes[position] == 0) {
+            this.occupied.clear(position);
+        }
+
+        return res;
+    }
+
+    private int position(final CODE code) {
+
+        final Integer res = this.positions.get(code);
+
+        if (Objects.isNull(res)) {
+            throw new NullPointerException("Value(s) cannot be stored for key " + String.valueOf(code) + ".");
+        }
+
+        return res;
+    }
+
+    /**
+     * Creates an instance of a primitive int storage by a given set of key. Predictions for exclusions can be added by the #addExclusion(...) and #addIntExclusion(...) methods.
+     *
+     * @param <CODE> Generic code type.
+     * @param codes  Codes used for sorting the values.
+     *
+     * @return Sorted storage for int values.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>> IntSortedStorage<CODE> of(final CODE... codes) {
+
+        if (Objects.isNull(codes) || (codes.length == 0)) {
+            throw new NullPointerException("Sorted storages requires codes for sorting entities.");
+        }
+
+        final Map<CODE, Integer> positions = new LinkedHashMap<>(codes.length);
+
+        for (CODE code : codes) {
+            positions.putIfAbsent(code, positions.size());
+        }
+
+        final int[][] values = new int[positions.size()][MIN_CAPACITY];
+
+        return new IntSortedStorage<>(positions, values, new int[positions.size()]);
+    }
+}
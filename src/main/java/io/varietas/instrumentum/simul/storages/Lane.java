@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h2>Lane</h2>
+ * <p>
+ * Lock-free entry list of a single code. Entries are loaded last stored, first loaded. The size is tracked separately because the size of a concurrent deque is computed by traversing it.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type which is stored.
+ */
+final class Lane<TYPE> {
+
+    private final ConcurrentLinkedDeque<TYPE> entries = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    int offer(final TYPE entry) {
+        this.entries.addLast(entry);
+        return this.size.incrementAndGet();
+    }
+
+    TYPE poll() {
+        final TYPE res = this.entries.pollLast();
+
+        if (Objects.nonNull(res)) {
+            this.size.decrementAndGet();
+        }
+
+        return res;
+    }
+
+    int pollAll(final Collection<? super TYPE> target, final int max) {
+
+        int res = 0;
+        TYPE next;
+
+        while (res < max && Objects.nonNull(next = this.entries.pollLast())) {
+            target.add(next);
+            ++res;
+        }
+
+        this.size.addAndGet(-res);
+
+        return res;
+    }
+
+    int size() {
+        return this.size.get();
+    }
+
+    boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    /**
+     * Copies the entries in the order they are stored. Changes made while the copy is created may or may not be part of it.
+     */
+    List<TYPE> snapshot() {
+        return new ArrayList<>(this.entries);
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <h2>LongUnsortedStorage</h2>
+ * <p>
+ * This storage is the primitive counterpart of the {@link SimpleUnsortedStorage} for long values. The values are stored in an open-addressing hash table with linear probing, so storing and loading values by the primitive methods does not allocate objects. The methods of the {@link UnsortedStorage} interface are supported but box the values.
+ * <p>
+ * Attention: Duplex values are only stored one time.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+public class LongUnsortedStorage implements UnsortedStorage<Long> {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.7f;
+
+    /**
+     * The value 0 marks an empty slot. A stored 0 is tracked by a separate flag.
+     */
+    private long[] table;
+    private int mask;
+    private int size;
+    private int threshold;
+    private int cursor;
+    private boolean containsZero;
+
+    private LongUnsortedStorage(final int capacity) {
+        this.allocate(capacity);
+    }
+
+    public static final LongUnsortedStorage of() {
+        return LongUnsortedStorage.of(0);
+    }
+
+    public static final LongUnsortedStorage of(int listSize) {
+        return new LongUnsortedStorage(LongUnsortedStorage.tableSize(listSize));
+    }
+
+    /**
+     * Stores a value in the storage without boxing it.
+     *
+     * @param entry Value to be stored.
+     *
+     * @return Number of stored values.
+     */
+    public final int storeLong(final long entry) {
+
+        if (entry == 0) {
+            if (!this.containsZero) {
+                this.containsZero = true;
+                ++this.size;
+            }
+            return this.size;
+        }
+
+        int slot = LongUnsortedStorage.hash(entry) & this.mask;
+
+        while (this.table[slot] != 0) {
+            if (this.table[slot] == entry) {
+                return this.size;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+
+        this.table[slot] = entry;
+
+        if (++this.size > this.threshold) {
+            this.rehash(this.table.length << 1);
+        }
+
+        return this.size;
+    }
+
+    /**
+     * Checks if a value is stored.
+     *
+     * @param entry Value to be checked.
+     *
+     * @return True if the value is stored, otherwise false.
+     */
+    public final boolean contains(final long entry) {
+
+        if (entry == 0) {
+            return this.containsZero;
+        }
+
+        for (int slot = LongUnsortedStorage.hash(entry) & this.mask; this.table[slot] != 0; slot = (slot + 1) & this.mask) {
+            if (this.table[slot] == entry) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Loads the next value from the storage without boxing it. Important is that this value will be removed from the storage.
+     *
+     * @return Next value from the storage.
+     *
+     * @throws NoSuchElementException If the storage is empty.
+     */
+    public final long nextLong() {
+
+        if (this.size == 0) {
+            throw new NoSuchElementException("Storage does not contain any value.");
+        }
+
+        if (this.containsZero) {
+            this.containsZero = false;
+            --this.size;
+            return 0;
+        }
+
+        while (this.table[this.cursor] == 0) {
+            this.cursor = (this.cursor + 1) & this.mask;
+        }
+
+        final long res = this.table[this.cursor];
+        this.removeAt(this.cursor);
+
+        return res;
+    }
+
+    /**
+     * Number of stored values.
+     *
+     * @return Number of stored values.
+     */
+    public final int size() {
+        return this.size;
+    }
+
+    @Override
+    public final Optional<Long> next() {
+        return this.size == 0 ? Optional.empty() : Optional.of(this.nextLong());
+    }
+
+    @Override
+    public final int store(final Long entry) {
+        if (Objects.isNull(entry)) {
+            throw new NullPointerException("Storage cannot handle null objetcs.");
+        }
+        return this.storeLong(entry.longValue());
+    }
+
+    @Override
+    public final int storeAll(final Collection<Long> entries) {
+
+        if (entries.isEmpty()) {
+            return -1;
+        }
+
+        entries.forEach(this::store);
+        return this.size;
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * All stored values as list. The values are boxed.
+     *
+     * @return
+     */
+    @Override
+    public final List<Long> getStorage() {
+
+        final List<Long> res = new ArrayList<>(this.size);
+
+        if (this.containsZero) {
+            res.add(0L);
+        }
+
+        for (long entry : this.table) {
+            if (entry != 0) {
+                res.add(entry);
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Removes the value of a slot and shifts following values of the same probe sequence backwards, so that no tombstones are required.
+     *
+     * @param slot Slot of the value to be removed.
+     */
+    private void removeAt(final int slot) {
+
+        int gap = slot;
+
+        for (int next = (gap + 1) & this.mask; this.table[next] != 0; next = (next + 1) & this.mask) {
+            final int ideal = LongUnsortedStorage.hash(this.table[next]) & this.mask;
+
+            if (((next - ideal) & this.mask) >= ((next - gap) & this.mask)) {
+                this.table[gap] = this.table[next];
+                gap = next;
+            }
+        }
+
+        this.table[gap] = 0;
+        --this.size;
+    }
+
+    private void rehash(final int capacity) {
+
+        final long[] old = this.table;
+        this.allocate(capacity);
+
+        for (long entry : old) {
+            if (entry != 0) {
+                int slot = LongUnsortedStorage.hash(entry) & this.mask;
+
+                while (this.table[slot] != 0) {
+                    slot = (slot + 1) & this.mask;
+                }
+
+                this.table[slot] = entry;
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+        this.cursor = 0;
+    }
+
+    private static int tableSize(final int expected) {
+
+        final int minimum = Math.max(MIN_CAPACITY, (int) Math.ceil(expected / LOAD_FACTOR));
+
+        return Integer.highestOneBit(minimum - 1) << 1;
+    }
+
+    private static int hash(final long entry) {
+
+        final long res = entry * 0x9E3779B97F4A7C15L;
+
+        return (int) (res ^ (res >>> 32));
+    }
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h2>MappedSortedStorage</h2>
+ * <p>
+ * This storage persists its entries in memory-mapped files, so stored entries survive a restart of the JVM. Every code owns a directory with append-only segments and a pointer to the first entry that is not consumed yet. Entries are encoded by a {@link StorageCodec} as length-prefixed records. Opening an existing directory maps the segments again and only walks over the record headers to restore the number of stored entries, no entry is decoded.
+ * <p>
+ * A segment is rolled when the next record does not fit into it anymore and deleted as soon as all of its records are consumed. The disk usage is therefore bounded by the unconsumed entries plus one segment per code.
+ * <p>
+ * Attention: In contrast to the {@link SimpleSortedStorage} entries of a code are loaded in the order they are stored (first stored, first loaded). The consumed pointer is updated after an entry is decoded, an entry may be loaded a second time if the process terminates in between. Written data is handed over to the operating system immediately, {@link #flush()} additionally forces it to the storage device.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class MappedSortedStorage<CODE extends Comparable<?>, TYPE> implements SortedStorage<CODE, TYPE>, Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    private static final int RECORD_HEADER = Integer.BYTES;
+    private static final String POINTER_FILE = "consumed";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final Map<CODE, Journal> storage;
+    private final List<Journal> journals;
+    private final StorageCodec<TYPE> codec;
+    private final int segmentSize;
+    private ExclusionChain<TYPE> exclusions = ExclusionChain.empty();
+
+    @Override
+    public final Optional<TYPE> next() {
+
+        for (Journal journal : this.journals) {
+            if (journal.size > 0) {
+                return Optional.of(this.read(journal));
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public final Optional<TYPE> next(final CODE code) {
+
+        final Journal journal = this.journal(code);
+
+        if (journal.size == 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.read(journal));
+    }
+
+    /**
+     * Stores a entry in the storage. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing.
+     */
+    @Override
+    public final int store(final TYPE entry, final CODE code) {
+
+        final Journal journal = this.journal(code);
+
+        if (this.exclusions.isExcluded(entry)) {
+            return -1;
+        }
+
+        final int length = this.codec.size(entry);
+
+        if (length < 0 || length > this.segmentSize - RECORD_HEADER) {
+            throw new IllegalArgumentException("Encoded entry of " + length + " bytes does not fit into a segment of " + this.segmentSize + " bytes.");
+        }
+
+        Segment segment = journal.segments.peekLast();
+        int offset = (int) (journal.writePosition - segment.base);
+
+        if (offset + RECORD_HEADER + length > segment.buffer.capacity()) {
+            segment = this.roll(journal, segment);
+            offset = 0;
+        }
+
+        final MappedByteBuffer buffer = segment.buffer;
+        final int start = offset + RECORD_HEADER;
+
+        buffer.limit(start + length).position(start);
+        this.codec.encode(entry, buffer);
+
+        if (buffer.position() != start + length) {
+            throw new IllegalStateException("Codec wrote " + (buffer.position() - start) + " bytes instead of " + length + " bytes.");
+        }
+        buffer.clear();
+
+        // Remainders of a record that was written without its header before a restart must not be read as the next header.
+        if (start + length + RECORD_HEADER <= buffer.capacity()) {
+            buffer.putInt(start + length, 0);
+        }
+
+        // The header is written last, a record without header is ignored on recovery.
+        buffer.putInt(offset, length + 1);
+        journal.writePosition = segment.base + start + length;
+
+        return ++journal.size;
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage. Returns -1 if the entries are not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entries Entries to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries, final CODE code) {
+
+        for (TYPE entry : entries) {
+            if (this.store(entry, code) == -1) {
+                return -1;
+            }
+        }
+
+        return this.journal(code).size;
+    }
+
+    /**
+     * Decodes all stored entries. The lists are ordered as the entries will be loaded and changes to them are not written back.
+     *
+     * @return Copy of the stored entries per code.
+     */
+    @Override
+    public final Map<CODE, List<TYPE>> getStorage() {
+
+        final Map<CODE, List<TYPE>> res = new LinkedHashMap<>();
+        this.storage.forEach((code, journal) -> res.put(code, this.readAll(journal)));
+
+        return res;
+    }
+
+    @Override
+    public final Boolean isEmpty(final CODE code) {
+        return this.journal(code).size == 0;
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        return this.journals.stream().allMatch(journal -> journal.size == 0);
+    }
+
+    @Override
+    public final SortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
+        this.exclusions = this.exclusions.with(exclusion);
+        return this;
+    }
+
+    @Override
+    public final <KEY> SortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        this.exclusions = this.exclusions.with(ExclusionSet.of(key, excluded));
+        return this;
+    }
+
+    /**
+     * Forces all mapped segments and consumed pointers to the storage device.
+     */
+    public final void flush() {
+        this.journals.forEach(journal -> {
+            journal.segments.forEach(segment -> segment.buffer.force());
+            journal.pointer.force();
+        });
+    }
+
+    /**
+     * Flushes the storage. Mapped files are released by the garbage collector, the storage must not be used afterwards.
+     */
+    @Override
+    public final void close() {
+        this.flush();
+    }
+
+    private Journal journal(final CODE code) {
+
+        final Journal journal = Objects.isNull(code) ? null : this.storage.get(code);
+
+        if (Objects.isNull(journal)) {
+            throw new NullPointerException("Value(s) cannot be stored for key " + String.valueOf(code) + ".");
+        }
+
+        return journal;
+    }
+
+    /**
+     * Loads the first unconsumed record of a non-empty journal and moves the consumed pointer behind it. Segments are deleted as soon as the pointer leaves them.
+     */
+    private TYPE read(final Journal journal) {
+
+        Segment segment = journal.segments.peekFirst();
+        int offset = (int) (journal.readPosition - segment.base);
+
+        if (!MappedSortedStorage.hasRecord(segment, offset)) {
+            journal.segments.pollFirst();
+            MappedSortedStorage.delete(segment.path);
+            segment = journal.segments.peekFirst();
+            offset = 0;
+        }
+
+        final int length = segment.buffer.getInt(offset) - 1;
+        final TYPE res = this.decode(segment, offset + RECORD_HEADER, length);
+
+        journal.readPosition = segment.base + offset + RECORD_HEADER + length;
+        journal.pointer.putLong(0, journal.readPosition);
+        --journal.size;
+
+        return res;
+    }
+
+    private List<TYPE> readAll(final Journal journal) {
+
+        final List<TYPE> res = new ArrayList<>(journal.size);
+        int offset = (int) (journal.readPosition - journal.segments.peekFirst().base);
+
+        for (Segment segment : journal.segments) {
+
+            while (res.size() < journal.size && MappedSortedStorage.hasRecord(segment, offset)) {
+                final int length = segment.buffer.getInt(offset) - 1;
+                res.add(this.decode(segment, offset + RECORD_HEADER, length));
+                offset += RECORD_HEADER + length;
+            }
+
+            offset = 0;
+        }
+
+        return res;
+    }
+
+    private TYPE decode(final Segment segment, final int start, final int length) {
+
+        final ByteBuffer source = segment.buffer.duplicate();
+        source.limit(start + length).position(start);
+
+        return this.codec.decode(source);
+    }
+
+    private Segment roll(final Journal journal, final Segment tail) {
+
+        final Segment res = MappedSortedStorage.map(journal.directory, tail.base + tail.buffer.capacity(), this.segmentSize);
+
+        journal.segments.addLast(res);
+        journal.writePosition = res.base;
+
+        return res;
+    }
+
+    private static boolean hasRecord(final Segment segment, final int offset) {
+        return offset + RECORD_HEADER <= segment.buffer.capacity() && segment.buffer.getInt(offset) != 0;
+    }
+
+    /**
+     * Opens a persistent sorted storage with the default segment size.
+     *
+     * @param <CODE>    Generic code type.
+     * @param <TYPE>    Generic type which is stored.
+     * @param directory Directory containing the segments. It is created if it does not exist.
+     * @param codec     Codec used to encode the entries.
+     * @param codes     Codes used for sorting the entries.
+     *
+     * @return Persistent sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> MappedSortedStorage<CODE, TYPE> of(final Path directory, final StorageCodec<TYPE> codec, final CODE... codes) {
+        return MappedSortedStorage.of(directory, DEFAULT_SEGMENT_SIZE, codec, codes);
+    }
+
+    /**
+     * Opens a persistent sorted storage. Entries stored by a previous instance in the same directory are recovered. Existing segments keep their size, the given size is used for new segments.
+     *
+     * @param <CODE>      Generic code type.
+     * @param <TYPE>      Generic type which is stored.
+     * @param directory   Directory containing the segments. It is created if it does not exist.
+     * @param segmentSize Size of a segment in bytes.
+     * @param codec       Codec used to encode the entries.
+     * @param codes       Codes used for sorting the entries. Every code is stored in a directory named by its string representation.
+     *
+     * @return Persistent sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> MappedSortedStorage<CODE, TYPE> of(final Path directory, final int segmentSize, final StorageCodec<TYPE> codec, final CODE... codes) {
+
+        if (Objects.isNull(directory)) {
+            throw new NullPointerException("Mapped storages requires a directory.");
+        }
+
+        if (Objects.isNull(codec)) {
+            throw new NullPointerException("Mapped storages requires a codec.");
+        }
+
+        if (segmentSize <= RECORD_HEADER) {
+            throw new IllegalArgumentException("Segment size has to be greater than " + RECORD_HEADER + " bytes.");
+        }
+
+        if (Objects.isNull(codes) || (codes.length == 0)) {
+            throw new NullPointerException("Sorted storages requires codes for sorting entities.");
+        }
+
+        final Map<CODE, Journal> storage = new LinkedHashMap<>(codes.length);
+        final Set<String> names = new HashSet<>(codes.length);
+
+        for (CODE code : codes) {
+            if (!storage.containsKey(code)) {
+                final String name = "code-" + URLEncoder.encode(String.valueOf(code), StandardCharsets.UTF_8);
+
+                if (!names.add(name)) {
+                    throw new IllegalArgumentException("Code " + String.valueOf(code) + " has the same directory as another code.");
+                }
+
+                storage.put(code, MappedSortedStorage.recover(directory.resolve(name), segmentSize));
+            }
+        }
+
+        return new MappedSortedStorage<>(storage, List.copyOf(storage.values()), codec, segmentSize);
+    }
+
+    /**
+     * Maps the segments of a code directory and restores the read position, the write position and the number of stored entries.
+     */
+    private static Journal recover(final Path directory, final int segmentSize) {
+
+        try {
+            Files.createDirectories(directory);
+
+            final List<Path> paths;
+            try (Stream<Path> files = Files.list(directory)) {
+                paths = files
+                        .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+
+            final Journal res = new Journal(directory, MappedSortedStorage.mapFile(directory.resolve(POINTER_FILE), Long.BYTES));
+            res.readPosition = res.pointer.getLong(0);
+
+            for (Path path : paths) {
+                final long base = Long.parseLong(path.getFileName().toString().substring(SEGMENT_PREFIX.length()).replace(SEGMENT_SUFFIX, ""));
+                final long size = Files.size(path);
+
+                if (base + size <= res.readPosition) {
+                    MappedSortedStorage.delete(path);
+                } else {
+                    res.segments.addLast(new Segment(base, path, MappedSortedStorage.mapFile(path, (int) size)));
+                }
+            }
+
+            if (res.segments.isEmpty()) {
+                res.segments.addLast(MappedSortedStorage.map(directory, res.readPosition, segmentSize));
+            }
+
+            res.readPosition = Math.max(res.readPosition, res.segments.peekFirst().base);
+            res.writePosition = res.readPosition;
+
+            int offset = (int) (res.readPosition - res.segments.peekFirst().base);
+
+            for (Segment segment : res.segments) {
+                while (MappedSortedStorage.hasRecord(segment, offset)) {
+                    offset += RECORD_HEADER + segment.buffer.getInt(offset) - 1;
+                    ++res.size;
+                }
+
+                res.writePosition = segment.base + offset;
+                offset = 0;
+            }
+
+            return res;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Storage cannot be recovered from " + directory + ".", ex);
+        }
+    }
+
+    private static Segment map(final Path directory, final long base, final int segmentSize) {
+
+        final Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, base, SEGMENT_SUFFIX));
+
+        try {
+            return new Segment(base, path, MappedSortedStorage.mapFile(path, segmentSize));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Segment " + path + " cannot be created.", ex);
+        }
+    }
+
+    private static MappedByteBuffer mapFile(final Path path, final int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Deletes a consumed segment. A segment that cannot be deleted, e.g. because the platform does not allow deleting mapped files, is deleted when the storage is opened the next time.
+     */
+    private static void delete(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            // Retried on recovery.
+        }
+    }
+
+    /**
+     * Segments and positions of a single code. Positions are absolute over all segments of the code, a segment covers the positions from its base up to its base plus its size.
+     */
+    private static final class Journal {
+
+        private final Path directory;
+        private final MappedByteBuffer pointer;
+        private final Deque<Segment> segments = new ArrayDeque<>();
+        private long readPosition;
+        private long writePosition;
+        private int size;
+
+        private Journal(final Path directory, final MappedByteBuffer pointer) {
+            this.directory = directory;
+            this.pointer = pointer;
+        }
+    }
+
+    private static final class Segment {
+
+        private final long base;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+
+        private Segment(final long base, final Path path, final MappedByteBuffer buffer) {
+            this.base = base;
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
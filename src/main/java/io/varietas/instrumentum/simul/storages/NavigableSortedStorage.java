@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.NavigableSet;
+import java.util.Optional;
+
+/**
+ * <h2>NavigableSortedStorage</h2>
+ * <p>
+ * A sorted storage whose codes are ordered by their natural order. Ranges of codes can be loaded at once, so the entries of a band of codes, e.g. the codes with the highest priority, are loaded without naming every code.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+public interface NavigableSortedStorage<CODE extends Comparable<? super CODE>, TYPE> extends SortedStorage<CODE, TYPE> {
+
+    /**
+     * Loads the next entry of the smallest code with entries within a range of codes. Important is that this entry will be removed from the storage.
+     *
+     * @param fromCode Smallest code of the range, inclusive.
+     * @param toCode   Largest code of the range, exclusive.
+     *
+     * @return Next entry of the range or an empty optional if all codes of the range are empty.
+     */
+    Optional<TYPE> next(final CODE fromCode, final CODE toCode);
+
+    /**
+     * Codes of the storage smaller than a given code in ascending order.
+     *
+     * @param code Upper bound, exclusive.
+     *
+     * @return Unmodifiable view of the smaller codes.
+     */
+    NavigableSet<CODE> headCodes(final CODE code);
+
+    /**
+     * All codes of the storage in ascending order.
+     *
+     * @return Unmodifiable view of the codes.
+     */
+    NavigableSet<CODE> codes();
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <h2>OffHeapUnsortedStorage</h2>
+ * <p>
+ * This storage keeps its entries encoded in direct memory instead of the heap. Entries are appended to slabs of direct byte buffers by a {@link StorageCodec} and loaded in the order they are stored. An open-addressing hash index, located in direct memory as well, detects duplicate entries by comparing their encoded bytes. Slabs that are completely loaded are recycled, so the heap only holds a few buffer references independent of the number of stored entries.
+ * <p>
+ * Attention: Duplex values are only stored one time. Entries are equal if their encoded bytes are equal.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type for the value which is stored.
+ */
+public class OffHeapUnsortedStorage<TYPE> implements UnsortedStorage<TYPE> {
+
+    public static final int DEFAULT_SLAB_SIZE = 1 << 20;
+
+    private static final int RECORD_HEADER = Integer.BYTES;
+    private static final int END_OF_SLAB = -1;
+    private static final int MIN_INDEX_CAPACITY = 1 << 10;
+    /**
+     * Largest index whose table of addresses fits into a single direct buffer, a buffer is limited to {@link Integer#MAX_VALUE} bytes.
+     */
+    private static final int MAX_INDEX_CAPACITY = Integer.highestOneBit(Integer.MAX_VALUE / Long.BYTES);
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private final StorageCodec<TYPE> codec;
+    private final int slabSize;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final Deque<ByteBuffer> spareSlabs = new ArrayDeque<>(1);
+
+    /**
+     * Address of every stored record plus one, 0 marks an empty slot.
+     */
+    private LongBuffer addresses;
+    private IntBuffer hashes;
+    private int mask;
+    private int threshold;
+
+    private long firstSlabId;
+    private int readOffset;
+    private int writeOffset;
+    private int size;
+
+    private OffHeapUnsortedStorage(final StorageCodec<TYPE> codec, final int slabSize) {
+        this.codec = codec;
+        this.slabSize = slabSize;
+        this.allocateIndex(MIN_INDEX_CAPACITY);
+        this.slabs.add(ByteBuffer.allocateDirect(slabSize));
+    }
+
+    public static final <TYPE> UnsortedStorage<TYPE> of(final StorageCodec<TYPE> codec) {
+        return OffHeapUnsortedStorage.of(codec, DEFAULT_SLAB_SIZE);
+    }
+
+    public static final <TYPE> UnsortedStorage<TYPE> of(final StorageCodec<TYPE> codec, final int slabSize) {
+
+        if (Objects.isNull(codec)) {
+            throw new NullPointerException("Off-heap storages requires a codec.");
+        }
+
+        if (slabSize <= RECORD_HEADER) {
+            throw new IllegalArgumentException("Slab size has to be greater than " + RECORD_HEADER + " bytes.");
+        }
+
+        return new OffHeapUnsortedStorage<>(codec, slabSize);
+    }
+
+    /**
+     * Loads the next entry from the storage. Important is that this entry will be removed from the storage.
+     *
+     * @return Next entry from the storage.
+     */
+    @Override
+    public final Optional<TYPE> next() {
+
+        if (this.size == 0) {
+            return Optional.empty();
+        }
+
+        this.skipEndOfSlab();
+
+        final ByteBuffer slab = this.slabs.get(0);
+        final int length = slab.getInt(this.readOffset);
+        final int start = this.readOffset + RECORD_HEADER;
+        final TYPE res = this.decode(slab, start, length);
+
+        this.removeFromIndex(this.firstSlabId, this.readOffset, OffHeapUnsortedStorage.hash(slab, start, length));
+        this.readOffset = start + length;
+
+        if (--this.size == 0) {
+            this.reset();
+        }
+
+        return Optional.of(res);
+    }
+
+    /**
+     * Stores a entry in the storage. Returns current number of stored entries.
+     *
+     * @param entry Entry to be stored.
+     *
+     * @return Number of stored entries or -1 if the index cannot hold further entries.
+     */
+    @Override
+    public final int store(final TYPE entry) {
+        if (Objects.isNull(entry)) {
+            throw new NullPointerException("Storage cannot handle null objetcs.");
+        }
+
+        final int length = this.codec.size(entry);
+
+        if (length < 0 || length > this.slabSize - RECORD_HEADER) {
+            throw new IllegalArgumentException("Encoded entry of " + length + " bytes does not fit into a slab of " + this.slabSize + " bytes.");
+        }
+
+        if (this.size >= this.threshold && !this.growIndex()) {
+            return -1;
+        }
+
+        if (this.writeOffset + RECORD_HEADER + length > this.slabSize) {
+            this.nextSlab();
+        }
+
+        final int slabIndex = this.slabs.size() - 1;
+        final ByteBuffer slab = this.slabs.get(slabIndex);
+        final int start = this.writeOffset + RECORD_HEADER;
+
+        slab.limit(start + length).position(start);
+        this.codec.encode(entry, slab);
+
+        if (slab.position() != start + length) {
+            throw new IllegalStateException("Codec wrote " + (slab.position() - start) + " bytes instead of " + length + " bytes.");
+        }
+        slab.clear();
+
+        final int hash = OffHeapUnsortedStorage.hash(slab, start, length);
+        int slot = hash & this.mask;
+
+        for (long address = this.addresses.get(slot); address != 0; address = this.addresses.get(slot)) {
+            if (this.hashes.get(slot) == hash && this.isEqual(address - 1, slab, start, length)) {
+                return this.size;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+
+        slab.putInt(this.writeOffset, length);
+        this.addresses.put(slot, OffHeapUnsortedStorage.address(this.firstSlabId + slabIndex, this.writeOffset) + 1);
+        this.hashes.put(slot, hash);
+        this.writeOffset = start + length;
+
+        return ++this.size;
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage. Returns -1 if the entries are empty otherwise the current number of stored entries will be returned.
+     *
+     * @param entries Entries to be stored.
+     *
+     * @return Number of stored entries or -1 for an error.
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries) {
+
+        if (entries.isEmpty()) {
+            return -1;
+        }
+
+        entries.forEach(this::store);
+        return this.size;
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * All stored entries as list. Every entry is decoded, so this method allocates the whole working set on the heap.
+     *
+     * @return
+     */
+    @Override
+    public final List<TYPE> getStorage() {
+
+        final List<TYPE> res = new ArrayList<>(this.size);
+        int offset = this.readOffset;
+
+        for (int slabIndex = 0; slabIndex < this.slabs.size(); ++slabIndex) {
+            final ByteBuffer slab = this.slabs.get(slabIndex);
+            final int end = slabIndex == this.slabs.size() - 1 ? this.writeOffset : this.slabSize;
+
+            while (offset + RECORD_HEADER <= end && slab.getInt(offset) != END_OF_SLAB) {
+                final int length = slab.getInt(offset);
+                res.add(this.decode(slab, offset + RECORD_HEADER, length));
+                offset += RECORD_HEADER + length;
+            }
+
+            offset = 0;
+        }
+
+        return res;
+    }
+
+    /**
+     * Moves the read offset to the next slab if the current one does not contain further records. Completely read slabs are recycled.
+     */
+    private void skipEndOfSlab() {
+
+        final ByteBuffer slab = this.slabs.get(0);
+
+        if (this.readOffset + RECORD_HEADER <= this.slabSize && slab.getInt(this.readOffset) != END_OF_SLAB) {
+            return;
+        }
+
+        this.recycle(this.slabs.remove(0));
+        ++this.firstSlabId;
+        this.readOffset = 0;
+    }
+
+    /**
+     * Releases all slabs except the current write slab and restarts writing at its beginning. Called as soon as the last entry is loaded.
+     */
+    private void reset() {
+
+        while (this.slabs.size() > 1) {
+            this.recycle(this.slabs.remove(0));
+            ++this.firstSlabId;
+        }
+
+        this.readOffset = 0;
+        this.writeOffset = 0;
+    }
+
+    /**
+     * Keeps a single spare slab for reuse. Further slabs are released, so the direct memory shrinks again after a peak.
+     */
+    private void recycle(final ByteBuffer slab) {
+
+        if (this.spareSlabs.isEmpty()) {
+            slab.clear();
+            this.spareSlabs.push(slab);
+        }
+    }
+
+    /**
+     * Closes the current write slab by an end marker and continues writing in a new slab.
+     */
+    private void nextSlab() {
+
+        final ByteBuffer slab = this.slabs.get(this.slabs.size() - 1);
+
+        if (this.writeOffset + RECORD_HEADER <= this.slabSize) {
+            slab.putInt(this.writeOffset, END_OF_SLAB);
+        }
+
+        this.slabs.add(this.spareSlabs.isEmpty() ? ByteBuffer.allocateDirect(this.slabSize) : this.spareSlabs.pop());
+        this.writeOffset = 0;
+    }
+
+    private TYPE decode(final ByteBuffer slab, final int start, final int length) {
+
+        final ByteBuffer source = slab.duplicate();
+        source.limit(start + length).position(start);
+
+        return this.codec.decode(source);
+    }
+
+    private ByteBuffer slab(final long address) {
+        return this.slabs.get((int) ((address >>> 32) - this.firstSlabId));
+    }
+
+    private boolean isEqual(final long address, final ByteBuffer slab, final int start, final int length) {
+
+        final ByteBuffer other = this.slab(address);
+        final int offset = (int) address;
+
+        if (other.getInt(offset) != length) {
+            return false;
+        }
+
+        int index = 0;
+
+        for (; index + Long.BYTES <= length; index += Long.BYTES) {
+            if (other.getLong(offset + RECORD_HEADER + index) != slab.getLong(start + index)) {
+                return false;
+            }
+        }
+
+        for (; index < length; ++index) {
+            if (other.get(offset + RECORD_HEADER + index) != slab.get(start + index)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes a record from the index and shifts following slots of the same probe sequence backwards, so that no tombstones are required.
+     */
+    private void removeFromIndex(final long slabId, final int offset, final int hash) {
+
+        final long address = OffHeapUnsortedStorage.address(slabId, offset) + 1;
+        int gap = hash & this.mask;
+
+        while (this.addresses.get(gap) != address) {
+            gap = (gap + 1) & this.mask;
+        }
+
+        for (int next = (gap + 1) & this.mask; this.addresses.get(next) != 0; next = (next + 1) & this.mask) {
+            final int ideal = this.hashes.get(next) & this.mask;
+
+            if (((next - ideal) & this.mask) >= ((next - gap) & this.mask)) {
+                this.addresses.put(gap, this.addresses.get(next));
+                this.hashes.put(gap, this.hashes.get(next));
+                gap = next;
+            }
+        }
+
+        this.addresses.put(gap, 0);
+    }
+
+    private boolean growIndex() {
+
+        final int capacity = this.addresses.capacity();
+
+        if (capacity >= MAX_INDEX_CAPACITY) {
+            return false;
+        }
+
+        final LongBuffer oldAddresses = this.addresses;
+        final IntBuffer oldHashes = this.hashes;
+
+        this.allocateIndex(capacity << 1);
+
+        for (int slot = 0; slot < capacity; ++slot) {
+            final long address = oldAddresses.get(slot);
+
+            if (address != 0) {
+                int target = oldHashes.get(slot) & this.mask;
+
+                while (this.addresses.get(target) != 0) {
+                    target = (target + 1) & this.mask;
+                }
+
+                this.addresses.put(target, address);
+                this.hashes.put(target, oldHashes.get(slot));
+            }
+        }
+
+        return true;
+    }
+
+    private void allocateIndex(final int capacity) {
+        this.addresses = ByteBuffer.allocateDirect(capacity * Long.BYTES).asLongBuffer();
+        this.hashes = ByteBuffer.allocateDirect(capacity * Integer.BYTES).asIntBuffer();
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static long address(final long slabId, final int offset) {
+        return (slabId << 32) | offset;
+    }
+
+    private static int hash(final ByteBuffer slab, final int start, final int length) {
+
+        long res = length;
+        int index = 0;
+
+        for (; index + Long.BYTES <= length; index += Long.BYTES) {
+            res = (res ^ slab.getLong(start + index)) * 0x9E3779B97F4A7C15L;
+        }
+
+        for (; index < length; ++index) {
+            res = (res ^ slab.get(start + index)) * 0x9E3779B97F4A7C15L;
+        }
+
+        return (int) (res ^ (res >>> 32));
+    }
+}
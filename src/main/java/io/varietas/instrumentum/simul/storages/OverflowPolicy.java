@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+/**
+ * <h2>OverflowPolicy</h2>
+ * <p>
+ * Defines what a bounded storage does with an entry that is stored while the storage is full.
+ *
+ * @see StorageCapacity
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+public enum OverflowPolicy {
+    /**
+     * The storing thread waits until an entry is loaded. Storages that are not able to wait reject the entry like {@link #REJECT}.
+     */
+    BLOCK,
+    /**
+     * The entry is not stored and -1 is returned.
+     */
+    REJECT,
+    /**
+     * The entry that is stored for the longest time is removed to make room for the entry.
+     */
+    DROP_OLDEST,
+    /**
+     * The entry is silently discarded and the current number of stored entries is returned.
+     */
+    DROP_NEWEST
+}
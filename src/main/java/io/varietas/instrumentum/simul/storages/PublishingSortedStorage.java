@@ -0,0 +1,353 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * <h2>PublishingSortedStorage</h2>
+ * <p>
+ * This storage guards a sorted storage by a single lock and publishes its entries by {@link StoragePublisher}s. The publisher of all codes loads entries like {@link #next()}, the publisher of a code loads entries like {@link #next(java.lang.Comparable)}. Every stored entry is pushed to a subscriber with outstanding demand, entries without demand remain in the storage and can still be loaded directly.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+public class PublishingSortedStorage<CODE extends Comparable<?>, TYPE> implements SortedStorage<CODE, TYPE>, IndexedStorage<TYPE> {
+
+    private final SortedStorage<CODE, TYPE> storage;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StoragePublisher<TYPE> publisher;
+    private final ConcurrentMap<CODE, StoragePublisher<TYPE>> publishers = new ConcurrentHashMap<>();
+
+    private PublishingSortedStorage(final SortedStorage<CODE, TYPE> storage) {
+        this.storage = storage;
+        this.publisher = new StoragePublisher<>(this::next);
+    }
+
+    /**
+     * Creates a publishing storage around a simple sorted storage.
+     *
+     * @param <CODE> Generic code type.
+     * @param <TYPE> Generic type which is stored.
+     * @param codes  Codes used for sorting the entries.
+     *
+     * @return Publishing sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> PublishingSortedStorage<CODE, TYPE> of(final CODE... codes) {
+        return PublishingSortedStorage.of(SimpleSortedStorage.<CODE, TYPE>of(codes));
+    }
+
+    /**
+     * Creates a publishing storage around a storage. The storage must not be used directly afterwards.
+     *
+     * @param <CODE>  Generic code type.
+     * @param <TYPE>  Generic type which is stored.
+     * @param storage Storage holding the entries.
+     *
+     * @return Publishing sorted storage.
+     */
+    public static <CODE extends Comparable<?>, TYPE> PublishingSortedStorage<CODE, TYPE> of(final SortedStorage<CODE, TYPE> storage) {
+
+        if (Objects.isNull(storage)) {
+            throw new NullPointerException("Publishing storages requires a storage.");
+        }
+
+        return new PublishingSortedStorage<>(storage);
+    }
+
+    /**
+     * Publisher of the entries of all codes.
+     *
+     * @return Publisher of the stored entries.
+     */
+    public final Flow.Publisher<TYPE> publisher() {
+        return this.publisher;
+    }
+
+    /**
+     * Publisher of the entries of a single code. Every call returns the same publisher for a code.
+     *
+     * @param code Category code.
+     *
+     * @return Publisher of the entries stored for the code.
+     */
+    public final Flow.Publisher<TYPE> publisher(final CODE code) {
+
+        final StoragePublisher<TYPE> res = Objects.isNull(code) ? null : this.publishers.get(code);
+
+        if (Objects.nonNull(res)) {
+            return res;
+        }
+
+        this.lock.lock();
+        try {
+            if (Objects.isNull(code) || !this.storage.getStorage().containsKey(code)) {
+                throw new NullPointerException("Value(s) cannot be stored for key " + String.valueOf(code) + ".");
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+        return this.publishers.computeIfAbsent(code, key -> new StoragePublisher<>(() -> this.next(key)));
+    }
+
+    @Override
+    public final Optional<TYPE> next() {
+        this.lock.lock();
+        try {
+            return this.storage.next();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final Optional<TYPE> next(final CODE code) {
+        this.lock.lock();
+        try {
+            return this.storage.next(code);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+        this.lock.lock();
+        try {
+            return this.storage.drainTo(target, max);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final List<TYPE> nextBatch(final CODE code, final int max) {
+        this.lock.lock();
+        try {
+            return this.storage.nextBatch(code, max);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a entry in the storage and pushes stored entries to subscribers with demand.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     *
+     * @return Number of entries stored before the entries are published or -1 if the entry is not stored.
+     */
+    @Override
+    public final int store(final TYPE entry, final CODE code) {
+
+        final int res;
+
+        this.lock.lock();
+        try {
+            res = this.storage.store(entry, code);
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (res != -1) {
+            this.signal(code);
+        }
+
+        return res;
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage and pushes stored entries to subscribers with demand.
+     *
+     * @param entries Entries to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     *
+     * @return Number of entries stored before the entries are published or -1 if an entry is not stored.
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries, final CODE code) {
+
+        final int res;
+
+        this.lock.lock();
+        try {
+            res = this.storage.storeAll(entries, code);
+        } finally {
+            this.lock.unlock();
+        }
+
+        this.signal(code);
+
+        return res;
+    }
+
+    /**
+     * Creates a snapshot of all stored entries.
+     *
+     * @return Copy of the stored entries per code.
+     */
+    @Override
+    public final Map<CODE, List<TYPE>> getStorage() {
+        this.lock.lock();
+        try {
+            final Map<CODE, List<TYPE>> res = new LinkedHashMap<>();
+            this.storage.getStorage().forEach((code, entries) -> res.put(code, new ArrayList<>(entries)));
+
+            return res;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Creates a read-only view of a snapshot of all stored entries.
+     *
+     * @return Read-only view of the copied entries in the order of the codes.
+     */
+    @Override
+    public final Collection<TYPE> view() {
+        return new StorageView<>(new ArrayList<>(this.getStorage().values()));
+    }
+
+    /**
+     * Creates a read-only snapshot of the entries of a code. Only the entries of the code are copied.
+     *
+     * @param code Category code.
+     *
+     * @return Read-only copy of the entries of the code.
+     */
+    @Override
+    public final List<TYPE> view(final CODE code) {
+        this.lock.lock();
+        try {
+            return Collections.unmodifiableList(new ArrayList<>(this.storage.view(code)));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final Boolean isEmpty(final CODE code) {
+        this.lock.lock();
+        try {
+            return this.storage.isEmpty(code);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        this.lock.lock();
+        try {
+            return this.storage.isEmpty();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final SortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
+        this.lock.lock();
+        try {
+            this.storage.addExclusion(exclusion);
+            return this;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final <KEY> SortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        this.lock.lock();
+        try {
+            this.storage.addExclusionSet(key, excluded);
+            return this;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a named index to the guarded storage.
+     *
+     * @param name      Unique name of the index.
+     * @param extractor Function extracting the key of an entry.
+     *
+     * @return The instance of the publishing storage for fluent like usage.
+     *
+     * @throws UnsupportedOperationException If the guarded storage is not an {@link IndexedStorage}.
+     */
+    @Override
+    public final PublishingSortedStorage<CODE, TYPE> addIndex(final String name, final Function<TYPE, ?> extractor) {
+        this.lock.lock();
+        try {
+            this.indexed().addIndex(name, extractor);
+            return this;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final List<TYPE> findBy(final String name, final Object key) {
+        this.lock.lock();
+        try {
+            return this.indexed().findBy(name, key);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private IndexedStorage<TYPE> indexed() {
+
+        if (!(this.storage instanceof IndexedStorage)) {
+            throw new UnsupportedOperationException("Storage does not support indexes.");
+        }
+
+        return (IndexedStorage<TYPE>) this.storage;
+    }
+
+    private void signal(final CODE code) {
+
+        final StoragePublisher<TYPE> publisher = this.publishers.get(code);
+
+        if (Objects.nonNull(publisher)) {
+            publisher.signal();
+        }
+
+        this.publisher.signal();
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * <h2>PublishingUnsortedStorage</h2>
+ * <p>
+ * This storage guards an unsorted storage by a single lock and publishes its entries by a {@link StoragePublisher}. Every stored entry is pushed to a subscriber with outstanding demand, entries without demand remain in the storage and can still be loaded directly.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type for the value which is stored.
+ */
+public class PublishingUnsortedStorage<TYPE> implements UnsortedStorage<TYPE>, IndexedStorage<TYPE> {
+
+    private final UnsortedStorage<TYPE> storage;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StoragePublisher<TYPE> publisher;
+
+    private PublishingUnsortedStorage(final UnsortedStorage<TYPE> storage) {
+        this.storage = storage;
+        this.publisher = new StoragePublisher<>(this::next);
+    }
+
+    public static final <TYPE> PublishingUnsortedStorage<TYPE> of() {
+        return PublishingUnsortedStorage.of(SimpleUnsortedStorage.of());
+    }
+
+    /**
+     * Creates a publishing storage around a storage. The storage must not be used directly afterwards.
+     *
+     * @param <TYPE>  Generic type for the value which is stored.
+     * @param storage Storage holding the entries.
+     *
+     * @return Publishing unsorted storage.
+     */
+    public static final <TYPE> PublishingUnsortedStorage<TYPE> of(final UnsortedStorage<TYPE> storage) {
+
+        if (Objects.isNull(storage)) {
+            throw new NullPointerException("Publishing storages requires a storage.");
+        }
+
+        return new PublishingUnsortedStorage<>(storage);
+    }
+
+    /**
+     * Publisher of all entries of the storage.
+     *
+     * @return Publisher of the stored entries.
+     */
+    public final Flow.Publisher<TYPE> publisher() {
+        return this.publisher;
+    }
+
+    @Override
+    public final Optional<TYPE> next() {
+        this.lock.lock();
+        try {
+            return this.storage.next();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+        this.lock.lock();
+        try {
+            return this.storage.drainTo(target, max);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a entry in the storage and pushes stored entries to subscribers with demand.
+     *
+     * @param entry Entry to be stored.
+     *
+     * @return Number of entries stored before the entries are published or -1 for an error.
+     */
+    @Override
+    public final int store(final TYPE entry) {
+
+        final int res;
+
+        this.lock.lock();
+        try {
+            res = this.storage.store(entry);
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (res != -1) {
+            this.publisher.signal();
+        }
+
+        return res;
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage and pushes stored entries to subscribers with demand.
+     *
+     * @param entries Entries to be stored.
+     *
+     * @return Number of entries stored before the entries are published or -1 for an error.
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries) {
+
+        final int res;
+
+        this.lock.lock();
+        try {
+            res = this.storage.storeAll(entries);
+        } finally {
+            this.lock.unlock();
+        }
+
+        this.publisher.signal();
+
+        return res;
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        this.lock.lock();
+        try {
+            return this.storage.isEmpty();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Creates a snapshot of all stored entries.
+     *
+     * @return Copy of the stored entries.
+     */
+    @Override
+    public final List<TYPE> getStorage() {
+        this.lock.lock();
+        try {
+            return new ArrayList<>(this.storage.getStorage());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a named index to the guarded storage.
+     *
+     * @param name      Unique name of the index.
+     * @param extractor Function extracting the key of an entry.
+     *
+     * @return The instance of the publishing storage for fluent like usage.
+     *
+     * @throws UnsupportedOperationException If the guarded storage is not an {@link IndexedStorage}.
+     */
+    @Override
+    public final PublishingUnsortedStorage<TYPE> addIndex(final String name, final Function<TYPE, ?> extractor) {
+        this.lock.lock();
+        try {
+            this.indexed().addIndex(name, extractor);
+            return this;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final List<TYPE> findBy(final String name, final Object key) {
+        this.lock.lock();
+        try {
+            return this.indexed().findBy(name, key);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private IndexedStorage<TYPE> indexed() {
+
+        if (!(this.storage instanceof IndexedStorage)) {
+            throw new UnsupportedOperationException("Storage does not support indexes.");
+        }
+
+        return (IndexedStorage<TYPE>) this.storage;
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * <h2>RingBufferSortedStorage</h2>
+ * <p>
+ * This storage keeps the entries of every code in a preallocated ring buffer with a power-of-two capacity. Producer and consumer of a ring only communicate through two sequence counters, which are written with release semantics and padded against false sharing. Each side caches the last seen sequence of the other side, so neither storing nor loading uses a compare-and-set or allocates, apart from the {@link Optional} returned by the loading methods. Entries of a code are loaded first stored, first loaded. A full ring rejects further entries.
+ * <p>
+ * In single-producer/single-consumer mode every code must be stored by at most one thread and loaded by at most one thread at a time, loading without a code counts as loading from all codes. Otherwise each ring is guarded by its own lock and any number of threads can store and load.
+ * <p>
+ * Attention: The numbers returned by the store methods and the storage returned by {@link #getStorage()} are snapshots and may be outdated as soon as they are returned.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+public class RingBufferSortedStorage<CODE extends Comparable<?>, TYPE> implements SortedStorage<CODE, TYPE> {
+
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final Map<CODE, Ring<TYPE>> storage;
+    private final Ring<TYPE>[] rings;
+    private final AtomicReference<ExclusionChain<TYPE>> exclusions = new AtomicReference<>(ExclusionChain.empty());
+
+    @SuppressWarnings("unchecked")
+    private RingBufferSortedStorage(final Map<CODE, Ring<TYPE>> storage) {
+        this.storage = storage;
+        this.rings = storage.values().toArray((Ring<TYPE>[]) new Ring<?>[storage.size()]);
+    }
+
+    @Override
+    public final Optional<TYPE> next() {
+
+        for (Ring<TYPE> ring : this.rings) {
+            final TYPE res = ring.poll();
+
+            if (Objects.nonNull(res)) {
+                return Optional.of(res);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public final Optional<TYPE> next(final CODE code) {
+        return Optional.ofNullable(this.ring(code).poll());
+    }
+
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+
+        Objects.requireNonNull(target, "Storage cannot drain entries to a null collection.");
+
+        int res = 0;
+
+        for (Ring<TYPE> ring : this.rings) {
+            TYPE next;
+
+            while (res < max && Objects.nonNull(next = ring.poll())) {
+                target.add(next);
+                ++res;
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Stores a entry in the ring of a code. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if the ring is full or an exclusion prediction prevents the storing.
+     */
+    @Override
+    public final int store(final TYPE entry, final CODE code) {
+
+        final Ring<TYPE> ring = this.ring(code);
+
+        if (Objects.isNull(entry)) {
+            throw new NullPointerException("Storage cannot handle null objetcs.");
+        }
+
+        if (this.exclusions.get().isExcluded(entry)) {
+            return -1;
+        }
+
+        return ring.offer(entry);
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage. Returns -1 if the entries are not stored otherwise the current number of stored entries will be returned. Entries stored before a rejected entry remain stored.
+     *
+     * @param entries Entries to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if the ring is full or an exclusion prediction prevents the storing
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries, final CODE code) {
+
+        final Ring<TYPE> ring = this.ring(code);
+
+        for (TYPE entry : entries) {
+            if (this.store(entry, code) == -1) {
+                return -1;
+            }
+        }
+
+        return ring.size();
+    }
+
+    /**
+     * Creates a snapshot of all stored entries. Changes made while the snapshot is created may or may not be part of it.
+     *
+     * @return Copy of the stored entries per code.
+     */
+    @Override
+    public final Map<CODE, List<TYPE>> getStorage() {
+
+        final Map<CODE, List<TYPE>> res = new LinkedHashMap<>();
+        this.storage.forEach((code, ring) -> res.put(code, ring.snapshot()));
+
+        return res;
+    }
+
+    @Override
+    public final Boolean isEmpty(final CODE code) {
+        return this.ring(code).size() == 0;
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+
+        for (Ring<TYPE> ring : this.rings) {
+            if (ring.size() != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public final SortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
+        Objects.requireNonNull(exclusion, "Exclusion cannot be null.");
+        this.exclusions.updateAndGet(chain -> chain.with(exclusion));
+        return this;
+    }
+
+    @Override
+    public final <KEY> SortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        final ExclusionSet<TYPE, KEY> exclusion = ExclusionSet.of(key, excluded);
+        this.exclusions.updateAndGet(chain -> chain.with(exclusion));
+        return this;
+    }
+
+    private Ring<TYPE> ring(final CODE code) {
+
+        final Ring<TYPE> ring = Objects.isNull(code) ? null : this.storage.get(code);
+
+        if (Objects.isNull(ring)) {
+            throw new NullPointerException("Value(s) cannot be stored for key " + String.valueOf(code) + ".");
+        }
+
+        return ring;
+    }
+
+    /**
+     * Creates an instance of a ring buffer sorted storage by a given set of key. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE>                       Generic code type.
+     * @param <TYPE>                       Generic type which is stored.
+     * @param capacity                     Number of entries per code, rounded up to the next power of two.
+     * @param singleProducerSingleConsumer True if every code is stored by a single thread and loaded by a single thread, otherwise false.
+     * @param codes                        Codes used for sorting the entries.
+     *
+     * @return Ring buffer sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> SortedStorage<CODE, TYPE> of(final int capacity, final boolean singleProducerSingleConsumer, final CODE... codes) {
+
+        if (capacity < 1 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Ring capacity has to be between 1 and " + MAXIMUM_CAPACITY + ".");
+        }
+
+        if (Objects.isNull(codes) || (codes.length == 0)) {
+            throw new NullPointerException("Sorted storages requires codes for sorting entities.");
+        }
+
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        final Map<CODE, Ring<TYPE>> storage = new LinkedHashMap<>(codes.length);
+
+        for (CODE code : codes) {
+            storage.computeIfAbsent(code, key -> singleProducerSingleConsumer ? new Ring<>(size) : new LockedRing<>(size));
+        }
+
+        return new RingBufferSortedStorage<>(storage);
+    }
+
+    /**
+     * Leading padding of a sequence.
+     */
+    private static class LeftPadding {
+
+        protected long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    /**
+     * Sequence written by one side of a ring and a cache of the sequence of the other side, read by the owning side only.
+     */
+    private static class SequenceFields extends LeftPadding {
+
+        protected volatile long value;
+        protected long cached;
+    }
+
+    /**
+     * Padded sequence of a ring. The padding keeps the sequences of producer and consumer on different cache lines.
+     */
+    private static final class Sequence extends SequenceFields {
+
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(SequenceFields.class, "value", long.class);
+            } catch (ReflectiveOperationException ex) {
+                throw new ExceptionInInitializerError(ex);
+            }
+        }
+
+        protected long p11, p12, p13, p14, p15, p16, p17;
+
+        private void setRelease(final long value) {
+            VALUE.setRelease(this, value);
+        }
+    }
+
+    /**
+     * Ring of a single code for one producer and one consumer.
+     *
+     * @param <TYPE> Generic type which is stored.
+     */
+    private static class Ring<TYPE> {
+
+        private final Object[] buffer;
+        private final int mask;
+        private final Sequence head = new Sequence();
+        private final Sequence tail = new Sequence();
+
+        private Ring(final int capacity) {
+            this.buffer = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+
+        int offer(final TYPE entry) {
+
+            final long tail = this.tail.value;
+
+            if (tail - this.tail.cached >= this.buffer.length) {
+                this.tail.cached = this.head.value;
+
+                if (tail - this.tail.cached >= this.buffer.length) {
+                    return -1;
+                }
+            }
+
+            this.buffer[(int) tail & this.mask] = entry;
+            this.tail.setRelease(tail + 1);
+
+            return (int) (tail + 1 - this.tail.cached);
+        }
+
+        @SuppressWarnings("unchecked")
+        TYPE poll() {
+
+            final long head = this.head.value;
+
+            if (head >= this.head.cached) {
+                this.head.cached = this.tail.value;
+
+                if (head >= this.head.cached) {
+                    return null;
+                }
+            }
+
+            final int index = (int) head & this.mask;
+            final TYPE res = (TYPE) this.buffer[index];
+
+            this.buffer[index] = null;
+            this.head.setRelease(head + 1);
+
+            return res;
+        }
+
+        int size() {
+
+            final long head = this.head.value;
+
+            return (int) (this.tail.value - head);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<TYPE> snapshot() {
+
+            final long head = this.head.value;
+            final long tail = this.tail.value;
+            final List<TYPE> res = new ArrayList<>((int) (tail - head));
+
+            for (long sequence = head; sequence < tail; ++sequence) {
+                final TYPE entry = (TYPE) this.buffer[(int) sequence & this.mask];
+
+                if (Objects.nonNull(entry)) {
+                    res.add(entry);
+                }
+            }
+
+            return res;
+        }
+    }
+
+    /**
+     * Ring of a single code for any number of producers and consumers. Producers and consumers of the ring take turns by the lock of the ring.
+     *
+     * @param <TYPE> Generic type which is stored.
+     */
+    private static final class LockedRing<TYPE> extends Ring<TYPE> {
+
+        private LockedRing(final int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        synchronized int offer(final TYPE entry) {
+            return super.offer(entry);
+        }
+
+        @Override
+        synchronized TYPE poll() {
+            return super.poll();
+        }
+
+        @Override
+        synchronized List<TYPE> snapshot() {
+            return super.snapshot();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <h2>SecondaryIndexes</h2>
+ * <p>
+ * Named indexes that map a key extracted from an entry to all stored entries with this key. Storages notify the indexes about every stored and removed entry, so entries can be found by a key without iterating over the storage.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type which is indexed.
+ */
+final class SecondaryIndexes<TYPE> {
+
+    private final Map<String, Index<TYPE>> indexes = new LinkedHashMap<>();
+    private Index<TYPE>[] active = SecondaryIndexes.newArray(0);
+
+    /**
+     * Registers a new index and adds all entries that are already stored.
+     *
+     * @param name      Unique name of the index.
+     * @param extractor Function extracting the key of an entry.
+     * @param stored    Entries stored at the moment.
+     */
+    void add(final String name, final Function<TYPE, ?> extractor, final Iterable<TYPE> stored) {
+
+        if (Objects.isNull(name)) {
+            throw new NullPointerException("Indexes requires a name.");
+        }
+
+        if (Objects.isNull(extractor)) {
+            throw new NullPointerException("Indexes requires a key extractor.");
+        }
+
+        if (this.indexes.containsKey(name)) {
+            throw new IllegalArgumentException("Index " + name + " already exists.");
+        }
+
+        final Index<TYPE> index = new Index<>(extractor);
+        stored.forEach(index::add);
+
+        this.indexes.put(name, index);
+        this.active = this.indexes.values().toArray(SecondaryIndexes.newArray(this.indexes.size()));
+    }
+
+    /**
+     * Searches all entries with a key.
+     *
+     * @param name Name of the index.
+     * @param key  Key of the entries.
+     *
+     * @return Found entries in the order they were first stored or an empty list.
+     */
+    List<TYPE> find(final String name, final Object key) {
+
+        final Index<TYPE> index = this.indexes.get(name);
+
+        if (Objects.isNull(index)) {
+            throw new IllegalArgumentException("Index " + name + " does not exist.");
+        }
+
+        return index.find(key);
+    }
+
+    void stored(final TYPE entry) {
+        for (Index<TYPE> index : this.active) {
+            index.add(entry);
+        }
+    }
+
+    void removed(final TYPE entry) {
+        for (Index<TYPE> index : this.active) {
+            index.remove(entry);
+        }
+    }
+
+    boolean isEmpty() {
+        return this.active.length == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <TYPE> Index<TYPE>[] newArray(final int size) {
+        return (Index<TYPE>[]) new Index<?>[size];
+    }
+
+    private static final class Index<TYPE> {
+
+        private final Function<TYPE, ?> extractor;
+        private final Map<Object, Map<Reference<TYPE>, Integer>> entries = new HashMap<>();
+
+        private Index(final Function<TYPE, ?> extractor) {
+            this.extractor = extractor;
+        }
+
+        private void add(final TYPE entry) {
+            this.entries.computeIfAbsent(this.extractor.apply(entry), key -> new LinkedHashMap<>(2)).merge(new Reference<>(entry), 1, Integer::sum);
+        }
+
+        /**
+         * Removes an entry by identity. The entries of a key are counted by their identity, so the removal does not depend on the position the storage loads the entry from.
+         */
+        private void remove(final TYPE entry) {
+
+            final Object key = this.extractor.apply(entry);
+            final Map<Reference<TYPE>, Integer> references = this.entries.get(key);
+
+            if (Objects.isNull(references)) {
+                return;
+            }
+
+            references.computeIfPresent(new Reference<>(entry), (reference, count) -> count == 1 ? null : count - 1);
+
+            if (references.isEmpty()) {
+                this.entries.remove(key);
+            }
+        }
+
+        private List<TYPE> find(final Object key) {
+
+            final Map<Reference<TYPE>, Integer> references = this.entries.get(key);
+
+            if (Objects.isNull(references)) {
+                return Collections.emptyList();
+            }
+
+            final List<TYPE> res = new ArrayList<>(references.size());
+
+            references.forEach((reference, count) -> {
+                for (int copy = 0; copy < count; ++copy) {
+                    res.add(reference.entry);
+                }
+            });
+
+            return res;
+        }
+    }
+
+    /**
+     * Compares entries by identity, equal entries stored as different instances are indexed separately.
+     */
+    private static final class Reference<TYPE> {
+
+        private final TYPE entry;
+
+        private Reference(final TYPE entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Reference && ((Reference<?>) other).entry == this.entry;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.entry);
+        }
+    }
+}
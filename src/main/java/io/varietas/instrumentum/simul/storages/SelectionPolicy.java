@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h2>SelectionPolicy</h2>
+ * <p>
+ * A selection policy decides from which code {@link SortedStorage#next()} loads the next entry. Codes without entries are always skipped.
+ * <ul>
+ * <li>{@link #insertionOrder()}: The first code passed to the factory method of the storage wins. This is the default.</li>
+ * <li>{@link #priority()}: The smallest code by its natural order wins.</li>
+ * <li>{@link #roundRobin()}: Codes take turns, one entry per code.</li>
+ * <li>{@link #weighted(java.util.Map)}: Codes take turns, a code loads as many entries in a row as its weight before the next code is served.</li>
+ * </ul>
+ * Every policy selects a code by searching the bitmap of codes with entries, which costs O(codes / 64) and is independent of the number of stored entries.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SelectionPolicy<CODE extends Comparable<?>> {
+
+    private final Kind kind;
+    private final Map<CODE, Integer> weights;
+
+    public static <CODE extends Comparable<?>> SelectionPolicy<CODE> insertionOrder() {
+        return new SelectionPolicy<>(Kind.INSERTION_ORDER, Collections.emptyMap());
+    }
+
+    public static <CODE extends Comparable<?>> SelectionPolicy<CODE> priority() {
+        return new SelectionPolicy<>(Kind.PRIORITY, Collections.emptyMap());
+    }
+
+    public static <CODE extends Comparable<?>> SelectionPolicy<CODE> roundRobin() {
+        return new SelectionPolicy<>(Kind.ROUND_ROBIN, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a weighted round robin policy. Over time every code with entries receives a share of the loaded entries proportional to its weight.
+     *
+     * @param <CODE>  Generic code type.
+     * @param weights Weights per code. Codes without weight have the weight 1.
+     *
+     * @return Weighted selection policy.
+     */
+    public static <CODE extends Comparable<?>> SelectionPolicy<CODE> weighted(final Map<CODE, Integer> weights) {
+
+        if (Objects.isNull(weights)) {
+            throw new NullPointerException("Weighted selection requires weights.");
+        }
+
+        weights.forEach((code, weight) -> {
+            if (Objects.isNull(weight) || weight < 1) {
+                throw new IllegalArgumentException("Weight of code " + String.valueOf(code) + " has to be at least 1.");
+            }
+        });
+
+        return new SelectionPolicy<>(Kind.WEIGHTED, Map.copyOf(weights));
+    }
+
+    /**
+     * Checks if the codes have to be sorted by their natural order before positions are assigned.
+     *
+     * @return True for the priority policy, otherwise false.
+     */
+    boolean isSorted() {
+        return this.kind == Kind.PRIORITY;
+    }
+
+    /**
+     * Creates the selector for the positions of a storage.
+     *
+     * @param codes Codes ordered by their position.
+     *
+     * @return Selector of the next position.
+     */
+    Selector selector(final List<CODE> codes) {
+
+        switch (this.kind) {
+            case ROUND_ROBIN:
+                return new WeightedSelector(new int[codes.size()]);
+            case WEIGHTED:
+                final int[] credits = new int[codes.size()];
+
+                for (int position = 0; position < credits.length; ++position) {
+                    credits[position] = this.weights.getOrDefault(codes.get(position), 1) - 1;
+                }
+
+                return new WeightedSelector(credits);
+            default:
+                return occupied -> occupied.nextSetBit(0);
+        }
+    }
+
+    private enum Kind {
+        INSERTION_ORDER, PRIORITY, ROUND_ROBIN, WEIGHTED
+    }
+
+    /**
+     * Selects the position the next entry is loaded from.
+     */
+    @FunctionalInterface
+    interface Selector {
+
+        /**
+         * Selects a position with entries. The selection is counted as one loaded entry.
+         *
+         * @param occupied Positions with entries.
+         *
+         * @return Selected position or -1 if there is no position with entries.
+         */
+        int select(final BitSet occupied);
+
+        /**
+         * Checks if every selection is limited to a single entry. Otherwise all entries of a selected position may be loaded at once.
+         *
+         * @return True if positions take turns per entry, otherwise false.
+         */
+        default boolean isFair() {
+            return false;
+        }
+    }
+
+    /**
+     * Deficit round robin with a cost of one per entry. The current position keeps the turn as long as it has credits and entries, the next position with entries receives its full weight as credits.
+     */
+    private static final class WeightedSelector implements Selector {
+
+        private final int[] additionalEntries;
+        private int current = -1;
+        private int credits;
+
+        private WeightedSelector(final int[] additionalEntries) {
+            this.additionalEntries = additionalEntries;
+        }
+
+        @Override
+        public int select(final BitSet occupied) {
+
+            if (this.current >= 0 && this.credits > 0 && occupied.get(this.current)) {
+                --this.credits;
+                return this.current;
+            }
+
+            int res = occupied.nextSetBit(this.current + 1);
+
+            if (res < 0) {
+                res = occupied.nextSetBit(0);
+            }
+
+            if (res >= 0) {
+                this.current = res;
+                this.credits = this.additionalEntries[res];
+            }
+
+            return res;
+        }
+
+        @Override
+        public boolean isFair() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <h2>ShardedSortedStorage</h2>
+ * <p>
+ * This storage spreads its entries over a number of independently locked sorted storages, so threads working on different shards do not contend for the same lock. Entries are assigned to a shard by a {@link ShardingStrategy}. Loading starts at the shard of the current thread and steals from the other shards if it is empty. Shards without entries are skipped without acquiring their lock.
+ * <p>
+ * Attention: The numbers returned by the store methods are the number of entries of the shard the entry is stored to. The order of entries is only kept within a shard.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+public class ShardedSortedStorage<CODE extends Comparable<?>, TYPE> implements SortedStorage<CODE, TYPE> {
+
+    private final Shards<SortedStorage<CODE, TYPE>> shards;
+
+    private ShardedSortedStorage(final Shards<SortedStorage<CODE, TYPE>> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Creates a sharded storage of simple sorted storages. Entries are assigned to shards by their hash code.
+     *
+     * @param <CODE> Generic code type.
+     * @param <TYPE> Generic type which is stored.
+     * @param shards Number of shards.
+     * @param codes  Codes used for sorting the entries.
+     *
+     * @return Sharded sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> SortedStorage<CODE, TYPE> of(final int shards, final CODE... codes) {
+
+        if (Objects.isNull(codes) || (codes.length == 0)) {
+            throw new NullPointerException("Sorted storages requires codes for sorting entities.");
+        }
+
+        return ShardedSortedStorage.of(shards, ShardingStrategy.HASH, () -> SimpleSortedStorage.<CODE, TYPE>of(codes));
+    }
+
+    /**
+     * Creates a sharded storage of storages created by a factory. The storages do not have to be thread-safe, every shard is accessed by a single thread at a time. All storages have to support the same codes.
+     *
+     * @param <CODE>   Generic code type.
+     * @param <TYPE>   Generic type which is stored.
+     * @param shards   Number of shards.
+     * @param strategy Strategy assigning entries to shards.
+     * @param factory  Factory creating the storage of a shard.
+     *
+     * @return Sharded sorted storage.
+     */
+    public static <CODE extends Comparable<?>, TYPE> SortedStorage<CODE, TYPE> of(final int shards, final ShardingStrategy strategy, final Supplier<? extends SortedStorage<CODE, TYPE>> factory) {
+        return new ShardedSortedStorage<>(new Shards<>(shards, strategy, factory));
+    }
+
+    @Override
+    public final Optional<TYPE> next() {
+        return this.steal(SortedStorage::next);
+    }
+
+    @Override
+    public final Optional<TYPE> next(final CODE code) {
+        return this.steal(storage -> storage.next(code));
+    }
+
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+
+        Objects.requireNonNull(target, "Storage cannot drain entries to a null collection.");
+
+        final int local = this.shards.local();
+        int res = 0;
+
+        for (int step = 0; step < this.shards.size() && res < max; ++step) {
+            final int index = (local + step) % this.shards.size();
+
+            if (!this.shards.isEmpty(index)) {
+                final int remaining = max - res;
+                res += this.shards.apply(index, storage -> storage.drainTo(target, remaining));
+            }
+        }
+
+        return res;
+    }
+
+    @Override
+    public final List<TYPE> nextBatch(final CODE code, final int max) {
+
+        final List<TYPE> res = new ArrayList<>();
+        final int local = this.shards.local();
+
+        for (int step = 0; step < this.shards.size() && res.size() < max; ++step) {
+            final int index = (local + step) % this.shards.size();
+
+            if (!this.shards.isEmpty(index)) {
+                final int remaining = max - res.size();
+                res.addAll(this.shards.apply(index, storage -> storage.nextBatch(code, remaining)));
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Stores a entry in the shard selected by the sharding strategy.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     *
+     * @return Number of entries stored in the shard for the code or -1 if the entry is not stored.
+     */
+    @Override
+    public final int store(final TYPE entry, final CODE code) {
+        return this.shards.apply(this.shards.of(entry), storage -> storage.store(entry, code));
+    }
+
+    /**
+     * Stores all entries from a given collection. Returns -1 if an entry is not stored otherwise the number of entries stored in the shard of the last entry will be returned.
+     *
+     * @param entries Entries to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an entry is not stored.
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries, final CODE code) {
+
+        int res = 0;
+
+        for (TYPE entry : entries) {
+            if ((res = this.store(entry, code)) == -1) {
+                return -1;
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Merges the entries of all shards. The entries of a shard are copied while its lock is held.
+     *
+     * @return Copy of the stored entries per code.
+     */
+    @Override
+    public final Map<CODE, List<TYPE>> getStorage() {
+
+        final Map<CODE, List<TYPE>> res = new LinkedHashMap<>();
+
+        for (int index = 0; index < this.shards.size(); ++index) {
+            this.shards.apply(index, storage -> {
+                storage.getStorage().forEach((code, entries) -> res.computeIfAbsent(code, key -> new ArrayList<>()).addAll(entries));
+                return res;
+            });
+        }
+
+        return res;
+    }
+
+    @Override
+    public final Boolean isEmpty(final CODE code) {
+
+        for (int index = 0; index < this.shards.size(); ++index) {
+            if (!this.shards.isEmpty(index) && !this.shards.apply(index, storage -> storage.isEmpty(code))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if all shards are empty without locking any shard.
+     *
+     * @return True if no shard contains entries, otherwise false.
+     */
+    @Override
+    public final Boolean isEmpty() {
+        return this.shards.isEmpty();
+    }
+
+    @Override
+    public final SortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
+
+        for (int index = 0; index < this.shards.size(); ++index) {
+            this.shards.apply(index, storage -> storage.addExclusion(exclusion));
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a set of excluded keys to every shard. Shards of type {@link SimpleSortedStorage} share a single set, it is checked before the exclusion functions of each shard. Other shards create their own set.
+     */
+    @Override
+    public final <KEY> SortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+
+        final ExclusionSet<TYPE, KEY> exclusion = ExclusionSet.of(key, excluded);
+
+        for (int index = 0; index < this.shards.size(); ++index) {
+            this.shards.apply(index, storage -> storage instanceof SimpleSortedStorage
+                    ? ((SimpleSortedStorage<CODE, TYPE>) storage).addExclusionSet(exclusion)
+                    : storage.addExclusionSet(key, excluded));
+        }
+
+        return this;
+    }
+
+    private Optional<TYPE> steal(final Function<SortedStorage<CODE, TYPE>, Optional<TYPE>> operation) {
+
+        final int local = this.shards.local();
+
+        for (int step = 0; step < this.shards.size(); ++step) {
+            final int index = (local + step) % this.shards.size();
+
+            if (!this.shards.isEmpty(index)) {
+                final Optional<TYPE> res = this.shards.apply(index, operation);
+
+                if (res.isPresent()) {
+                    return res;
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * <h2>ShardedUnsortedStorage</h2>
+ * <p>
+ * This storage spreads its entries over a number of independently locked unsorted storages, so threads working on different shards do not contend for the same lock. Entries are assigned to a shard by a {@link ShardingStrategy}. Loading starts at the shard of the current thread and steals from the other shards if it is empty. Shards without entries are skipped without acquiring their lock.
+ * <p>
+ * Attention: The numbers returned by the store methods are the number of entries of the shard the entry is stored to.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type for the value which is stored.
+ */
+public class ShardedUnsortedStorage<TYPE> implements UnsortedStorage<TYPE> {
+
+    private final Shards<UnsortedStorage<TYPE>> shards;
+
+    private ShardedUnsortedStorage(final Shards<UnsortedStorage<TYPE>> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Creates a sharded storage of simple unsorted storages. Entries are assigned to shards by their hash code.
+     *
+     * @param <TYPE>  Generic type for the value which is stored.
+     * @param shards Number of shards.
+     *
+     * @return Sharded unsorted storage.
+     */
+    public static final <TYPE> UnsortedStorage<TYPE> of(final int shards) {
+        return ShardedUnsortedStorage.of(shards, ShardingStrategy.HASH, SimpleUnsortedStorage::of);
+    }
+
+    /**
+     * Creates a sharded storage of storages created by a factory. The storages do not have to be thread-safe, every shard is accessed by a single thread at a time.
+     *
+     * @param <TYPE>   Generic type for the value which is stored.
+     * @param shards   Number of shards.
+     * @param strategy Strategy assigning entries to shards.
+     * @param factory  Factory creating the storage of a shard.
+     *
+     * @return Sharded unsorted storage.
+     */
+    public static final <TYPE> UnsortedStorage<TYPE> of(final int shards, final ShardingStrategy strategy, final Supplier<? extends UnsortedStorage<TYPE>> factory) {
+        return new ShardedUnsortedStorage<>(new Shards<>(shards, strategy, factory));
+    }
+
+    @Override
+    public final Optional<TYPE> next() {
+
+        final int local = this.shards.local();
+
+        for (int step = 0; step < this.shards.size(); ++step) {
+            final int index = (local + step) % this.shards.size();
+
+            if (!this.shards.isEmpty(index)) {
+                final Optional<TYPE> res = this.shards.apply(index, UnsortedStorage::next);
+
+                if (res.isPresent()) {
+                    return res;
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+
+        Objects.requireNonNull(target, "Storage cannot drain entries to a null collection.");
+
+        final int local = this.shards.local();
+        int res = 0;
+
+        for (int step = 0; step < this.shards.size() && res < max; ++step) {
+            final int index = (local + step) % this.shards.size();
+
+            if (!this.shards.isEmpty(index)) {
+                final int remaining = max - res;
+                res += this.shards.apply(index, storage -> storage.drainTo(target, remaining));
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Stores a entry in the shard selected by the sharding strategy.
+     *
+     * @param entry Entry to be stored.
+     *
+     * @return Number of entries stored in the shard or -1 for an error.
+     */
+    @Override
+    public final int store(final TYPE entry) {
+        if (Objects.isNull(entry)) {
+            throw new NullPointerException("Storage cannot handle null objetcs.");
+        }
+
+        return this.shards.apply(this.shards.of(entry), storage -> storage.store(entry));
+    }
+
+    /**
+     * Stores all entries from a given collection. Returns -1 if the entries are empty or an entry is not stored otherwise the number of entries stored in the shard of the last entry will be returned.
+     *
+     * @param entries Entries to be stored.
+     *
+     * @return Number of stored entries or -1 for an error.
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries) {
+
+        if (entries.isEmpty()) {
+            return -1;
+        }
+
+        int res = -1;
+
+        for (TYPE entry : entries) {
+            if ((res = this.store(entry)) == -1) {
+                return -1;
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Checks if all shards are empty without locking any shard.
+     *
+     * @return True if no shard contains entries, otherwise false.
+     */
+    @Override
+    public final Boolean isEmpty() {
+        return this.shards.isEmpty();
+    }
+
+    /**
+     * Merges the entries of all shards. The entries of a shard are copied while its lock is held.
+     *
+     * @return Copy of the stored entries.
+     */
+    @Override
+    public final List<TYPE> getStorage() {
+
+        final List<TYPE> res = new ArrayList<>();
+
+        for (int index = 0; index < this.shards.size(); ++index) {
+            this.shards.apply(index, storage -> res.addAll(storage.getStorage()));
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+/**
+ * <h2>ShardingStrategy</h2>
+ * <p>
+ * Defines to which shard of a sharded storage an entry is stored.
+ *
+ * @see ShardedUnsortedStorage
+ * @see ShardedSortedStorage
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+public enum ShardingStrategy {
+    /**
+     * The shard is selected by the hash code of the entry. Equal entries are stored in the same shard, so duplicates are detected like in a single storage.
+     */
+    HASH,
+    /**
+     * The shard is selected by the storing thread. Threads that store and load entries mostly use their own shard, but equal entries stored by different threads may be stored more than once.
+     */
+    THREAD
+}
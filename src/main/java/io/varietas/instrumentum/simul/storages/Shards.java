@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <h2>Shards</h2>
+ * <p>
+ * Independently locked storages of a sharded storage. Every shard publishes whether it is empty after each operation, so the emptiness of all shards is checked without acquiring a lock.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <STORAGE> Type of the storage of a shard.
+ */
+final class Shards<STORAGE extends Storage<?>> {
+
+    private final Shard<STORAGE>[] shards;
+    private final ShardingStrategy strategy;
+
+    @SuppressWarnings("unchecked")
+    Shards(final int count, final ShardingStrategy strategy, final Supplier<? extends STORAGE> factory) {
+
+        if (count < 1) {
+            throw new IllegalArgumentException("Sharded storages requires at least one shard.");
+        }
+
+        if (Objects.isNull(strategy)) {
+            throw new NullPointerException("Sharded storages requires a sharding strategy.");
+        }
+
+        if (Objects.isNull(factory)) {
+            throw new NullPointerException("Sharded storages requires a storage factory.");
+        }
+
+        this.shards = (Shard<STORAGE>[]) new Shard<?>[count];
+        this.strategy = strategy;
+
+        for (int index = 0; index < count; ++index) {
+            this.shards[index] = new Shard<>(Objects.requireNonNull(factory.get(), "Storage factory returned null."));
+        }
+    }
+
+    int size() {
+        return this.shards.length;
+    }
+
+    /**
+     * Index of the shard assigned to the current thread. Loading starts at this shard.
+     */
+    int local() {
+        return Shards.index(Long.hashCode(Thread.currentThread().getId()), this.shards.length);
+    }
+
+    /**
+     * Index of the shard an entry is stored to.
+     */
+    int of(final Object entry) {
+        return this.strategy == ShardingStrategy.HASH ? Shards.index(Objects.hashCode(entry), this.shards.length) : this.local();
+    }
+
+    /**
+     * Executes an operation on a shard while holding its lock.
+     */
+    <RESULT> RESULT apply(final int index, final Function<STORAGE, RESULT> operation) {
+
+        final Shard<STORAGE> shard = this.shards[index];
+
+        shard.lock.lock();
+        try {
+            return operation.apply(shard.storage);
+        } finally {
+            shard.empty = shard.storage.isEmpty();
+            shard.lock.unlock();
+        }
+    }
+
+    boolean isEmpty(final int index) {
+        return this.shards[index].empty;
+    }
+
+    /**
+     * Checks the published emptiness of all shards without locking. Entries stored concurrently may or may not be seen.
+     */
+    boolean isEmpty() {
+
+        for (Shard<STORAGE> shard : this.shards) {
+            if (!shard.empty) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int index(final int hash, final int count) {
+        return Math.floorMod(hash ^ (hash >>> 16), count);
+    }
+
+    private static final class Shard<STORAGE extends Storage<?>> {
+
+        private final STORAGE storage;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean empty;
+
+        private Shard(final STORAGE storage) {
+            this.storage = storage;
+            this.empty = storage.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,526 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h2>SimpleBlockingSortedStorage</h2>
+ * <p>
+ * This storage guards a {@link SimpleSortedStorage} by a single lock and allows consumers to wait for entries of all or of a single code. A stored entry wakes up exactly one waiting consumer. Consumers waiting for the code of the entry are preferred to consumers waiting for any entry. A consumer that leaves entries behind passes the signal on to the next waiting consumer.
+ * <p>
+ * If the storage is bounded by a {@link StorageCapacity} with the {@link OverflowPolicy#BLOCK} policy, producers wait until a consumer loads an entry. Every loaded entry wakes up a single waiting producer that is able to store its entry.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class SimpleBlockingSortedStorage<CODE extends Comparable<?>, TYPE> implements BlockingSortedStorage<CODE, TYPE>, IndexedStorage<TYPE> {
+
+    private final SimpleSortedStorage<CODE, TYPE> storage;
+    private final StorageCapacity capacity;
+    private final ReentrantLock lock;
+    private final Waiters anyWaiters;
+    private final Map<CODE, Waiters> codeWaiters;
+    private final Map<CODE, Waiters> spaceWaiters;
+    private final Waiters batchWaiters;
+    private int producers;
+
+    @Override
+    public final Optional<TYPE> next() {
+        this.lock.lock();
+        try {
+            return this.passOn(this.storage.next());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final Optional<TYPE> next(final CODE code) {
+        this.lock.lock();
+        try {
+            return this.passOn(code, this.storage.next(code));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+        this.lock.lock();
+        try {
+            final int res = this.storage.drainTo(target, max);
+
+            this.signalSpace(res);
+
+            if (res > 0 && !this.storage.isEmpty()) {
+                this.anyWaiters.signal();
+            }
+
+            return res;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final List<TYPE> nextBatch(final CODE code, final int max) {
+        this.lock.lock();
+        try {
+            final List<TYPE> res = this.storage.nextBatch(code, max);
+
+            this.signalSpace(res.size());
+
+            if (!res.isEmpty() && !this.storage.isEmpty(code)) {
+                this.signal(code);
+            }
+
+            return res;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final TYPE take() throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            Optional<TYPE> res = this.storage.next();
+
+            while (res.isEmpty()) {
+                this.anyWaiters.await();
+                res = this.storage.next();
+            }
+
+            return this.passOn(res).get();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final TYPE take(final CODE code) throws InterruptedException {
+        final Waiters waiters = this.waiters(code);
+
+        this.lock.lockInterruptibly();
+        try {
+            Optional<TYPE> res = this.storage.next(code);
+
+            while (res.isEmpty()) {
+                waiters.await();
+                res = this.storage.next(code);
+            }
+
+            return this.passOn(code, res).get();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final Optional<TYPE> poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+
+        this.lock.lockInterruptibly();
+        try {
+            Optional<TYPE> res = this.storage.next();
+
+            while (res.isEmpty() && nanos > 0) {
+                nanos = this.anyWaiters.awaitNanos(nanos);
+                res = this.storage.next();
+            }
+
+            return this.passOn(res);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final Optional<TYPE> poll(final CODE code, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final Waiters waiters = this.waiters(code);
+        long nanos = unit.toNanos(timeout);
+
+        this.lock.lockInterruptibly();
+        try {
+            Optional<TYPE> res = this.storage.next(code);
+
+            while (res.isEmpty() && nanos > 0) {
+                nanos = waiters.awaitNanos(nanos);
+                res = this.storage.next(code);
+            }
+
+            return this.passOn(code, res);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a entry in the storage. If the storage is full and bounded with the blocking policy, the method waits until there is space for the entry.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing or the thread is interrupted while waiting.
+     */
+    @Override
+    public final int store(final TYPE entry, final CODE code) {
+        this.lock.lock();
+        try {
+            if (this.capacity.getPolicy() == OverflowPolicy.BLOCK && this.spaceWaiters.containsKey(code)) {
+                this.awaitSpace(code, 1, Long.MAX_VALUE);
+            }
+
+            return this.signal(code, this.storage.store(entry, code));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a entry in the storage. If the storage is full, the method waits up to the given time until there is space for the entry. If the time elapsed, the entry is handled by the overflow policy.
+     *
+     * @param entry   Entry to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     * @param timeout Maximum time to wait.
+     * @param unit    Time unit of the timeout.
+     *
+     * @return Number of stored entries or -1 if the time elapsed or an exclusion prediction prevents the storing.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    @Override
+    public final int offer(final TYPE entry, final CODE code, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long nanos = unit.toNanos(timeout);
+
+        this.lock.lockInterruptibly();
+        try {
+            if (this.spaceWaiters.containsKey(code)) {
+                this.awaitSpace(code, 1, nanos);
+            }
+
+            return this.signal(code, this.storage.store(entry, code));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage. Either all entries are stored or none. If the storage is bounded with the blocking policy, the method waits until there is space for all entries at once.
+     *
+     * @param entries Entries to be stored.
+     * @param code    Annotation type code where the entries should be stored for.
+     *
+     * @return Current number of stored entries of the code or -1 if an exclusion prediction prevents the storing, the entries exceed the capacity of the storage or the thread is interrupted while waiting.
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries, final CODE code) {
+        this.lock.lock();
+        try {
+            if (this.capacity.getPolicy() == OverflowPolicy.BLOCK && this.spaceWaiters.containsKey(code)) {
+
+                if (entries.size() > Math.min(this.capacity.getPerCode(), this.capacity.getGlobal())) {
+                    return -1;
+                }
+
+                this.awaitSpace(code, entries.size(), Long.MAX_VALUE);
+            }
+
+            final int res = this.storage.storeAll(entries, code);
+
+            if (res > 0) {
+                for (int index = 0; index < entries.size(); ++index) {
+                    if (!this.signal(code)) {
+                        break;
+                    }
+                }
+
+                this.signalSpace();
+            }
+
+            return res;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Creates a snapshot of all stored entries.
+     *
+     * @return Copy of the stored entries per code.
+     */
+    @Override
+    public final Map<CODE, List<TYPE>> getStorage() {
+        this.lock.lock();
+        try {
+            final Map<CODE, List<TYPE>> res = new LinkedHashMap<>();
+            this.storage.getStorage().forEach((code, entries) -> res.put(code, new ArrayList<>(entries)));
+
+            return res;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final Boolean isEmpty(final CODE code) {
+        this.lock.lock();
+        try {
+            return this.storage.isEmpty(code);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        this.lock.lock();
+        try {
+            return this.storage.isEmpty();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final BlockingSortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
+        this.lock.lock();
+        try {
+            this.storage.addExclusion(exclusion);
+            return this;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final <KEY> BlockingSortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        this.lock.lock();
+        try {
+            this.storage.addExclusionSet(key, excluded);
+            return this;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final SimpleBlockingSortedStorage<CODE, TYPE> addIndex(final String name, final Function<TYPE, ?> extractor) {
+        this.lock.lock();
+        try {
+            this.storage.addIndex(name, extractor);
+            return this;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final List<TYPE> findBy(final String name, final Object key) {
+        this.lock.lock();
+        try {
+            return this.storage.findBy(name, key);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private Waiters waiters(final CODE code) {
+
+        final Waiters res = Objects.isNull(code) ? null : this.codeWaiters.get(code);
+
+        if (Objects.isNull(res)) {
+            throw new NullPointerException("Value(s) cannot be loaded for key " + String.valueOf(code) + ".");
+        }
+
+        return res;
+    }
+
+    /**
+     * Waits until there is space for a number of entries of the code or the time elapsed.
+     *
+     * @param code  Annotation type code where the entry should be stored for.
+     * @param count Number of entries to be stored.
+     * @param nanos Maximum time to wait. A value of {@link Long#MAX_VALUE} waits without limit.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    private void awaitSpace(final CODE code, final int count, long nanos) throws InterruptedException {
+        final Waiters waiters = count == 1 ? this.spaceWaiters.get(code) : this.batchWaiters;
+
+        ++this.producers;
+        try {
+            while (nanos > 0 && !this.storage.fits(code, count)) {
+                if (nanos == Long.MAX_VALUE) {
+                    waiters.await();
+                } else {
+                    nanos = waiters.awaitNanos(nanos);
+                }
+            }
+        } finally {
+            --this.producers;
+        }
+    }
+
+    /**
+     * Wakes up a single producer per loaded entry.
+     *
+     * @param entries Number of loaded entries.
+     */
+    private void signalSpace(final int entries) {
+
+        for (int index = 0; index < entries && this.producers > 0; ++index) {
+            this.signalSpace();
+        }
+    }
+
+    /**
+     * Wakes up a single producer that is able to store its entry. Producers waiting for space for several entries are all woken up, because a single signal could be lost on a batch that still does not fit.
+     */
+    private void signalSpace() {
+
+        if (this.producers == 0) {
+            return;
+        }
+
+        this.batchWaiters.signalAll();
+
+        for (Map.Entry<CODE, Waiters> waiters : this.spaceWaiters.entrySet()) {
+            if (!this.storage.isFull(waiters.getKey()) && waiters.getValue().signal()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Wakes up a single consumer for a stored entry and passes the signal of free space on to the next producer.
+     *
+     * @param code Code of the stored entry.
+     * @param res  Result of the storing.
+     *
+     * @return Result of the storing.
+     */
+    private int signal(final CODE code, final int res) {
+
+        if (res > 0) {
+            this.signal(code);
+            this.signalSpace();
+        }
+
+        return res;
+    }
+
+    /**
+     * Wakes up a single consumer waiting for the code or, if there is none, a single consumer waiting for any entry.
+     *
+     * @param code Code of the stored entry.
+     *
+     * @return True if a consumer is woken up, otherwise false.
+     */
+    private boolean signal(final CODE code) {
+        return this.codeWaiters.get(code).signal() || this.anyWaiters.signal();
+    }
+
+    private Optional<TYPE> passOn(final Optional<TYPE> res) {
+
+        if (res.isPresent()) {
+            this.signalSpace();
+
+            if (!this.storage.isEmpty()) {
+                this.anyWaiters.signal();
+            }
+        }
+
+        return res;
+    }
+
+    private Optional<TYPE> passOn(final CODE code, final Optional<TYPE> res) {
+
+        if (res.isPresent()) {
+            this.signalSpace();
+
+            if (!this.storage.isEmpty(code)) {
+                this.signal(code);
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Creates an instance of a blocking sorted storage by a given set of key. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE> Generic code type.
+     * @param <TYPE> Generic type which is stored.
+     * @param codes  Codes used for sorting the entries.
+     *
+     * @return Thread-safe, blocking sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> SimpleBlockingSortedStorage<CODE, TYPE> of(final CODE... codes) {
+        return SimpleBlockingSortedStorage.of(StorageCapacity.unbounded(), codes);
+    }
+
+    /**
+     * Creates an instance of a bounded blocking sorted storage by a given set of key. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE>   Generic code type.
+     * @param <TYPE>   Generic type which is stored.
+     * @param capacity Limits of the storage.
+     * @param codes    Codes used for sorting the entries.
+     *
+     * @return Thread-safe, blocking and bounded sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> SimpleBlockingSortedStorage<CODE, TYPE> of(final StorageCapacity capacity, final CODE... codes) {
+
+        final SimpleSortedStorage<CODE, TYPE> storage = SimpleSortedStorage.create(capacity, codes);
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<CODE, Waiters> codeWaiters = new HashMap<>(codes.length);
+        final Map<CODE, Waiters> spaceWaiters = new HashMap<>(codes.length);
+
+        for (CODE code : codes) {
+            codeWaiters.put(code, new Waiters(lock));
+            spaceWaiters.put(code, new Waiters(lock));
+        }
+
+        return new SimpleBlockingSortedStorage<>(storage, capacity, lock, new Waiters(lock), codeWaiters, spaceWaiters, new Waiters(lock));
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h2>SimpleBlockingUnsortedStorage</h2>
+ * <p>
+ * This storage guards a {@link SimpleUnsortedStorage} by a single lock and allows consumers to wait for entries. A stored entry wakes up exactly one waiting consumer. A consumer that leaves entries behind passes the signal on to the next waiting consumer.
+ * <p>
+ * If the storage is bounded by a {@link StorageCapacity} with the {@link OverflowPolicy#BLOCK} policy, producers wait until a consumer loads an entry. Every loaded entry wakes up a single waiting producer.
+ * <p>
+ * Attention: Duplex values are only stored one time.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type for the value which is stored.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class SimpleBlockingUnsortedStorage<TYPE> implements BlockingUnsortedStorage<TYPE>, IndexedStorage<TYPE> {
+
+    private final SimpleUnsortedStorage<TYPE> storage;
+    private final StorageCapacity capacity;
+    private final ReentrantLock lock;
+    private final Waiters waiters;
+    private final Waiters spaceWaiters;
+
+    public static final <TYPE> SimpleBlockingUnsortedStorage<TYPE> of() {
+        return SimpleBlockingUnsortedStorage.of(0);
+    }
+
+    public static final <TYPE> SimpleBlockingUnsortedStorage<TYPE> of(int listSize) {
+        return SimpleBlockingUnsortedStorage.of(listSize, StorageCapacity.unbounded());
+    }
+
+    public static final <TYPE> SimpleBlockingUnsortedStorage<TYPE> of(int listSize, final StorageCapacity capacity) {
+        final ReentrantLock lock = new ReentrantLock();
+        return new SimpleBlockingUnsortedStorage<>(SimpleUnsortedStorage.create(listSize, capacity), capacity, lock, new Waiters(lock), new Waiters(lock));
+    }
+
+    @Override
+    public final Optional<TYPE> next() {
+        this.lock.lock();
+        try {
+            return this.passOn(this.storage.next());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+        this.lock.lock();
+        try {
+            final int res = this.storage.drainTo(target, max);
+
+            for (int index = 0; index < res; ++index) {
+                if (!this.spaceWaiters.signal()) {
+                    break;
+                }
+            }
+
+            if (res > 0 && !this.storage.isEmpty()) {
+                this.waiters.signal();
+            }
+
+            return res;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final TYPE take() throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            Optional<TYPE> res = this.storage.next();
+
+            while (res.isEmpty()) {
+                this.waiters.await();
+                res = this.storage.next();
+            }
+
+            return this.passOn(res).get();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final Optional<TYPE> poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+
+        this.lock.lockInterruptibly();
+        try {
+            Optional<TYPE> res = this.storage.next();
+
+            while (res.isEmpty() && nanos > 0) {
+                nanos = this.waiters.awaitNanos(nanos);
+                res = this.storage.next();
+            }
+
+            return this.passOn(res);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a entry in the storage. If the storage is full and bounded with the blocking policy, the method waits until there is space for the entry.
+     *
+     * @param entry Entry to be stored.
+     *
+     * @return Number of stored entries or -1 if the thread is interrupted while waiting.
+     */
+    @Override
+    public final int store(final TYPE entry) {
+        this.lock.lock();
+        try {
+            if (this.capacity.getPolicy() == OverflowPolicy.BLOCK) {
+                this.awaitSpace(entry, Long.MAX_VALUE);
+            }
+
+            return this.signal(this.storage.store(entry));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a entry in the storage. If the storage is full, the method waits up to the given time until there is space for the entry. If the time elapsed, the entry is handled by the overflow policy.
+     *
+     * @param entry   Entry to be stored.
+     * @param timeout Maximum time to wait.
+     * @param unit    Time unit of the timeout.
+     *
+     * @return Number of stored entries or -1 if the time elapsed.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    @Override
+    public final int offer(final TYPE entry, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long nanos = unit.toNanos(timeout);
+
+        this.lock.lockInterruptibly();
+        try {
+            this.awaitSpace(entry, nanos);
+
+            return this.signal(this.storage.store(entry));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final int storeAll(final Collection<TYPE> entries) {
+
+        if (this.capacity.getPolicy() == OverflowPolicy.BLOCK && !entries.isEmpty()) {
+            int res = -1;
+
+            for (TYPE entry : entries) {
+                if ((res = this.store(entry)) == -1) {
+                    return -1;
+                }
+            }
+
+            return res;
+        }
+
+        this.lock.lock();
+        try {
+            final int res = this.storage.storeAll(entries);
+
+            for (int index = 0; index < res; ++index) {
+                if (!this.waiters.signal()) {
+                    break;
+                }
+            }
+
+            return res;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        this.lock.lock();
+        try {
+            return this.storage.isEmpty();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * All stored entries as list.
+     *
+     * @return
+     */
+    @Override
+    public final List<TYPE> getStorage() {
+        this.lock.lock();
+        try {
+            return this.storage.getStorage();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final SimpleBlockingUnsortedStorage<TYPE> addIndex(final String name, final Function<TYPE, ?> extractor) {
+        this.lock.lock();
+        try {
+            this.storage.addIndex(name, extractor);
+            return this;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public final List<TYPE> findBy(final String name, final Object key) {
+        this.lock.lock();
+        try {
+            return this.storage.findBy(name, key);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until there is space for an entry or the time elapsed.
+     *
+     * @param entry Entry to be stored.
+     * @param nanos Maximum time to wait. A value of {@link Long#MAX_VALUE} waits without limit.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    private void awaitSpace(final TYPE entry, long nanos) throws InterruptedException {
+
+        while (nanos > 0 && this.storage.isFull(entry)) {
+            if (nanos == Long.MAX_VALUE) {
+                this.spaceWaiters.await();
+            } else {
+                nanos = this.spaceWaiters.awaitNanos(nanos);
+            }
+        }
+    }
+
+    /**
+     * Wakes up a single consumer for a stored entry and passes the signal of free space on to the next producer.
+     *
+     * @param res Result of the storing.
+     *
+     * @return Result of the storing.
+     */
+    private int signal(final int res) {
+
+        if (res > 0) {
+            this.waiters.signal();
+
+            if (res < this.capacity.getGlobal()) {
+                this.spaceWaiters.signal();
+            }
+        }
+
+        return res;
+    }
+
+    private Optional<TYPE> passOn(final Optional<TYPE> res) {
+
+        if (res.isPresent()) {
+            this.spaceWaiters.signal();
+
+            if (!this.storage.isEmpty()) {
+                this.waiters.signal();
+            }
+        }
+
+        return res;
+    }
+}
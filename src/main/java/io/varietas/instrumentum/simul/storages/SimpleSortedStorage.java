@@ -17,14 +17,19 @@ package io.varietas.instrumentum.simul.storages;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
@@ -32,6 +37,12 @@ import lombok.RequiredArgsConstructor;
  * <h2>SimpleSortedStorage</h2>
  * <p>
  * This entry represents a container to store all entries sorted by codes. Additionally there are a number of useful methods.
+ * <p>
+ * The number of stored entries can be limited per code and over all codes by a {@link StorageCapacity}. A simple storage is not able to wait for free space, so the {@link OverflowPolicy#BLOCK} policy rejects entries like {@link OverflowPolicy#REJECT}. The {@link OverflowPolicy#DROP_OLDEST} policy removes the oldest entry of the same code or, if there is none, of the first code with entries. For a priority {@link EntryOrder} the largest entry is removed instead of the oldest.
+ * <p>
+ * Every code has a fixed position that is assigned in the order the codes are passed to the factory method. A bitmap of all positions with stored entries allows loading the next entry without iterating over empty codes. The map and the lists returned by {@link #getStorage()} are read-only, entries are stored and removed by the methods of the storage, so the capacity, the bitmap and the indexes stay consistent.
+ * <p>
+ * The code {@link #next()} loads from is chosen by a {@link SelectionPolicy}, by default the first code with entries in the order of the positions. The entry loaded from a code is chosen by an {@link EntryOrder}, by default the last stored entry.
  *
  * @author Michael Rhöse
  * @version 1.0.0.0, 6/30/2016
@@ -39,51 +50,82 @@ import lombok.RequiredArgsConstructor;
  * @param <TYPE> Generic type which is stored.
  */
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-public class SimpleSortedStorage<CODE extends Comparable<?>, TYPE> implements SortedStorage<CODE, TYPE> {
+public class SimpleSortedStorage<CODE extends Comparable<?>, TYPE> implements SortedStorage<CODE, TYPE>, IndexedStorage<TYPE> {
 
     protected final ConcurrentMap<CODE, List<TYPE>> storage;
-    protected final List<Function<TYPE, Boolean>> exclusionPredictions = new ArrayList<>();
+    private final Map<CODE, Integer> positions;
+    private final List<EntryOrder.Entries<TYPE>> lists;
+    private final StorageCapacity capacity;
+    private final SelectionPolicy.Selector selector;
+    private final BitSet occupied = new BitSet();
+    private final SecondaryIndexes<TYPE> indexes = new SecondaryIndexes<>();
+    private ExclusionChain<TYPE> exclusions = ExclusionChain.empty();
+    private int size;
 
     @Override
     public final Optional<TYPE> next() {
 
-        final Optional<List<TYPE>> nextList = this.storage.values()
-                .stream()
-                .filter(list -> !list.isEmpty())
-                .findFirst();
+        final int position = this.select();
 
-        if (!nextList.isPresent()) {
+        if (position < 0) {
             return Optional.empty();
         }
 
-        TYPE res = nextList.get().get(nextList.get().size() - 1);
-        nextList.get().remove(res);
-
-        return Optional.of(res);
+        return Optional.of(this.pop(position));
     }
 
     @Override
     public final Optional<TYPE> next(final CODE code) {
 
-        final List<TYPE> nextList = this.storage.get(code);
+        final int position = this.positions.get(code);
 
-        if (nextList.isEmpty()) {
+        if (this.lists.get(position).isEmpty()) {
             return Optional.empty();
         }
 
-        TYPE res = nextList.get(nextList.size() - 1);
-        nextList.remove(res);
+        return Optional.of(this.pop(position));
+    }
+
+    /**
+     * Loads up to a given number of entries from the storage. A code is selected once for all entries loaded from it instead of once per entry.
+     *
+     * @param target Collection the loaded entries are added to.
+     * @param max    Maximum number of entries to load.
+     *
+     * @return Number of loaded entries.
+     */
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+
+        Objects.requireNonNull(target, "Storage cannot drain entries to a null collection.");
+
+        int res = 0;
 
-        return Optional.of(res);
+        for (int position = this.select(); position >= 0 && res < max; position = this.select()) {
+            res += this.popAll(position, target, this.selector.isFair() ? 1 : max - res);
+        }
+
+        return res;
+    }
+
+    @Override
+    public final List<TYPE> nextBatch(final CODE code, final int max) {
+
+        final int position = this.positions.get(code);
+        final List<TYPE> res = new ArrayList<>(Math.max(0, Math.min(max, this.lists.get(position).size())));
+
+        this.popAll(position, res, max);
+
+        return res;
     }
 
     /**
-     * Stores a entry in the storage. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned.
+     * Stores a entry in the storage. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned. If the storage is full, the entry is handled by the overflow policy of the storage capacity.
      *
      * @param entry Entry to be stored.
      * @param code  Annotation type code where the entry should be stored for.
      *
-     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing.
+     * @return Number of stored entries or -1 if an exclusion prediction or the storage capacity prevents the storing.
      */
     @Override
     public final int store(final TYPE entry, final CODE code) {
@@ -92,38 +134,138 @@ public class SimpleSortedStorage<CODE extends Comparable<?>, TYPE> implements So
             throw new NullPointerException("Value(s) cannot be stored for key " + String.valueOf(code) + ".");
         }
 
-        if (this.exclusionPredictions.stream().anyMatch(predicate -> predicate.apply(entry))) {
+        if (this.exclusions.isExcluded(entry)) {
             return -1;
         }
 
-        this.storage.get(code).add(entry);
-
-        return this.storage.get(code).size();
+        return this.add(this.positions.get(code), entry);
     }
 
     /**
-     * Stores all entries from a given collection in the storage. Returns -1 if the entries are not stored otherwise the current number of stored entries will be returned.
+     * Stores all entries from a given collection in the storage in a single pass. The code is resolved once and all entries are checked against the exclusion predictions before any entry is stored, large collections are checked in parallel. If an entry is excluded or the entries exceed the storage capacity with the {@link OverflowPolicy#REJECT} or {@link OverflowPolicy#BLOCK} policy, no entry is stored. Otherwise the entries are appended at once, except for the {@link OverflowPolicy#DROP_OLDEST} policy, which makes room entry by entry.
      *
      * @param entries Entries to be stored.
      * @param code    Annotation type code where the entry should be stored for.
      *
-     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing
+     * @return Current number of stored entries of the code or -1 if an exclusion prediction or the storage capacity prevents the storing.
      */
     @Override
     public final int storeAll(Collection<TYPE> entries, final CODE code) {
 
-        for (TYPE entry : entries) {
-            if (this.store(entry, code) == -1) {
-                return -1;
+        if (!this.storage.containsKey(code)) {
+            throw new NullPointerException("Value(s) cannot be stored for key " + String.valueOf(code) + ".");
+        }
+
+        final int position = this.positions.get(code);
+        final List<TYPE> list = this.lists.get(position);
+        final List<TYPE> accepted = new ArrayList<>(entries);
+
+        if (this.exclusions.isAnyExcluded(accepted)) {
+            return -1;
+        }
+
+        int count = accepted.size();
+        final int free = Math.max(0, Math.min(this.capacity.getPerCode() - list.size(), this.capacity.getGlobal() - this.size));
+
+        if (count > free) {
+            switch (this.capacity.getPolicy()) {
+                case DROP_OLDEST:
+                    accepted.forEach(entry -> this.add(position, entry));
+                    return list.size();
+                case DROP_NEWEST:
+                    count = free;
+                    break;
+                default:
+                    return -1;
             }
         }
 
-        return this.storage.get(code).size();
+        if (count == 0) {
+            return list.size();
+        }
+
+        final List<TYPE> stored = count == accepted.size() ? accepted : accepted.subList(0, count);
+
+        list.addAll(stored);
+        this.size += count;
+        this.occupied.set(position);
+
+        if (!this.indexes.isEmpty()) {
+            stored.forEach(this.indexes::stored);
+        }
+
+        return list.size();
     }
 
+    /**
+     * The lists of the storage per code. The map and the lists are not copied but read-only, entries are removed by {@link #removeIf(java.util.function.Predicate)}.
+     *
+     * @return Stored entries per code.
+     */
     @Override
     public final Map<CODE, List<TYPE>> getStorage() {
-        return this.storage;
+        return Collections.unmodifiableMap(this.storage);
+    }
+
+    /**
+     * Removes all stored entries that match a filter, regardless of their code and of the order they would be loaded in. The capacity, the bitmap of the codes with entries and the indexes are updated.
+     *
+     * @param filter Filter matching the entries to be removed.
+     *
+     * @return Number of removed entries.
+     */
+    public final int removeIf(final Predicate<? super TYPE> filter) {
+
+        Objects.requireNonNull(filter, "Storage cannot remove entries by a null filter.");
+
+        int res = 0;
+
+        for (int position = this.occupied.nextSetBit(0); position >= 0; position = this.occupied.nextSetBit(position + 1)) {
+            final List<TYPE> list = this.lists.get(position);
+            final int before = list.size();
+
+            list.removeIf(entry -> {
+
+                if (!filter.test(entry)) {
+                    return false;
+                }
+
+                this.indexes.removed(entry);
+                return true;
+            });
+
+            res += before - list.size();
+
+            if (list.isEmpty()) {
+                this.occupied.clear(position);
+            }
+        }
+
+        this.size -= res;
+
+        return res;
+    }
+
+    /**
+     * Creates a read-only view of the entries of all codes in the order of the positions. The view reads the lists of the storage directly, neither the entries nor the lists are copied.
+     *
+     * @return Read-only view of all stored entries.
+     */
+    @Override
+    public final Collection<TYPE> view() {
+        return new StorageView<>(this.lists);
+    }
+
+    @Override
+    public final List<TYPE> view(final CODE code) {
+
+        final Integer position = Objects.isNull(code) ? null : this.positions.get(code);
+
+        if (Objects.isNull(position)) {
+            throw new NullPointerException("Value(s) cannot be loaded for key " + String.valueOf(code) + ".");
+        }
+
+        return Collections.unmodifiableList(this.lists.get(position));
     }
 
     @Override
@@ -133,19 +275,206 @@ public class SimpleSortedStorage<CODE extends Comparable<?>, TYPE> implements So
 
     @Override
     public final Boolean isEmpty() {
-
-        return !this.storage.entrySet().stream()
-                .filter(entry -> (!entry.getValue().isEmpty()))
-                .findFirst()
-                .isPresent();
+        return this.firstOccupied() < 0;
     }
 
     @Override
     public final SortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
-        this.exclusionPredictions.add(exclusion);
+        this.exclusions = this.exclusions.with(exclusion);
         return this;
     }
 
+    @Override
+    public final <KEY> SortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        return this.addExclusionSet(ExclusionSet.of(key, excluded));
+    }
+
+    /**
+     * Adds an existing set of excluded keys. Used by storages sharing one set between several storages.
+     *
+     * @param exclusion Set of excluded keys.
+     *
+     * @return This storage.
+     */
+    final SimpleSortedStorage<CODE, TYPE> addExclusionSet(final ExclusionSet<TYPE, ?> exclusion) {
+        this.exclusions = this.exclusions.with(exclusion);
+        return this;
+    }
+
+    @Override
+    public final SimpleSortedStorage<CODE, TYPE> addIndex(final String name, final Function<TYPE, ?> extractor) {
+        this.indexes.add(name, extractor, () -> this.lists.stream().flatMap(List::stream).iterator());
+        return this;
+    }
+
+    @Override
+    public final List<TYPE> findBy(final String name, final Object key) {
+        return this.indexes.find(name, key);
+    }
+
+    /**
+     * Searches the first position with stored entries.
+     *
+     * @return Position of the first non-empty list or -1 if all lists are empty.
+     */
+    private int firstOccupied() {
+
+        for (int position = this.occupied.nextSetBit(0); position >= 0; position = this.occupied.nextSetBit(position + 1)) {
+
+            if (!this.lists.get(position).isEmpty()) {
+                return position;
+            }
+
+            this.occupied.clear(position);
+        }
+
+        return -1;
+    }
+
+    /**
+     * Selects the position of the next entry by the selection policy.
+     *
+     * @return Position of a non-empty list or -1 if all lists are empty.
+     */
+    private int select() {
+
+        for (int position = this.selector.select(this.occupied); position >= 0; position = this.selector.select(this.occupied)) {
+
+            if (!this.lists.get(position).isEmpty()) {
+                return position;
+            }
+
+            this.occupied.clear(position);
+        }
+
+        return -1;
+    }
+
+    /**
+     * Checks if an entry can be stored for a code without exceeding the storage capacity.
+     *
+     * @param code Category code.
+     *
+     * @return True if the limit of the code or the global limit is reached, otherwise false.
+     */
+    final boolean isFull(final CODE code) {
+        return this.isFull(this.lists.get(this.positions.get(code)));
+    }
+
+    /**
+     * Checks if a number of entries can be stored for a code without exceeding the storage capacity.
+     *
+     * @param code  Category code.
+     * @param count Number of entries.
+     *
+     * @return True if the entries fit into the limit of the code and the global limit, otherwise false.
+     */
+    final boolean fits(final CODE code, final int count) {
+        return count <= this.capacity.getPerCode() - this.lists.get(this.positions.get(code)).size() && count <= this.capacity.getGlobal() - this.size;
+    }
+
+    private boolean isFull(final List<TYPE> list) {
+        return list.size() >= this.capacity.getPerCode() || this.size >= this.capacity.getGlobal();
+    }
+
+    /**
+     * Adds an entry that passed the exclusion predictions to a list. If the storage is full, the entry is handled by the overflow policy of the storage capacity.
+     *
+     * @param position Position of the list.
+     * @param entry    Entry to be stored.
+     *
+     * @return Number of entries of the list or -1 if the storage capacity prevents the storing.
+     */
+    private int add(final int position, final TYPE entry) {
+
+        final List<TYPE> list = this.lists.get(position);
+
+        if (this.isFull(list)) {
+            switch (this.capacity.getPolicy()) {
+                case DROP_OLDEST:
+                    this.dropOldest(list.isEmpty() ? this.firstOccupied() : position);
+                    break;
+                case DROP_NEWEST:
+                    return list.size();
+                default:
+                    return -1;
+            }
+        }
+
+        list.add(entry);
+        ++this.size;
+        this.occupied.set(position);
+        this.indexes.stored(entry);
+
+        return list.size();
+    }
+
+    /**
+     * Removes the entry the entry order drops first from a list to make room for a new entry.
+     *
+     * @param position Position of the list.
+     */
+    private void dropOldest(final int position) {
+
+        final EntryOrder.Entries<TYPE> list = this.lists.get(position);
+        this.indexes.removed(list.evict());
+        --this.size;
+
+        if (list.isEmpty()) {
+            this.occupied.clear(position);
+        }
+    }
+
+    /**
+     * Removes the next entry of a non-empty list by its entry order. The position is removed from the bitmap if the list is empty afterwards.
+     *
+     * @param position Position of the list.
+     *
+     * @return Removed entry.
+     */
+    private TYPE pop(final int position) {
+
+        final EntryOrder.Entries<TYPE> list = this.lists.get(position);
+        final TYPE res = list.poll();
+        --this.size;
+        this.indexes.removed(res);
+
+        if (list.isEmpty()) {
+            this.occupied.clear(position);
+        }
+
+        return res;
+    }
+
+    /**
+     * Removes up to a given number of entries from a list. The entries are added to the target in the order they would be loaded one by one.
+     *
+     * @param position Position of the list.
+     * @param target   Collection the removed entries are added to.
+     * @param max      Maximum number of entries to remove.
+     *
+     * @return Number of removed entries.
+     */
+    private int popAll(final int position, final Collection<? super TYPE> target, final int max) {
+
+        final EntryOrder.Entries<TYPE> list = this.lists.get(position);
+        final int count = Math.max(0, Math.min(max, list.size()));
+
+        for (int index = 0; index < count; ++index) {
+            final TYPE entry = list.poll();
+            target.add(entry);
+            this.indexes.removed(entry);
+        }
+
+        this.size -= count;
+
+        if (list.isEmpty()) {
+            this.occupied.clear(position);
+        }
+
+        return count;
+    }
+
     /**
      * Creates an instance of a simple sorted storage by a given set of key.Predictions for exclusions can be added by the #addExclusion(...) method.
      *
@@ -155,17 +484,128 @@ public class SimpleSortedStorage<CODE extends Comparable<?>, TYPE> implements So
      *
      * @return
      */
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    public static <CODE extends Comparable<?>, TYPE> SortedStorage<CODE, TYPE> of(final CODE... codes) {
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> SimpleSortedStorage<CODE, TYPE> of(final CODE... codes) {
+        return SimpleSortedStorage.create(StorageCapacity.unbounded(), codes);
+    }
+
+    /**
+     * Creates an instance of a bounded simple sorted storage by a given set of key. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE>   Generic code type.
+     * @param <TYPE>   Generic type which is stored.
+     * @param capacity Limits of the storage.
+     * @param codes    Codes used for sorting the entries.
+     *
+     * @return Bounded sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> SimpleSortedStorage<CODE, TYPE> of(final StorageCapacity capacity, final CODE... codes) {
+        return SimpleSortedStorage.create(capacity, codes);
+    }
+
+    /**
+     * Creates an instance of a simple sorted storage that chooses the code of the next entry by a selection policy. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE>   Generic code type.
+     * @param <TYPE>   Generic type which is stored.
+     * @param capacity Limits of the storage.
+     * @param policy   Policy selecting the code the next entry is loaded from.
+     * @param codes    Codes used for sorting the entries.
+     *
+     * @return Sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> SimpleSortedStorage<CODE, TYPE> of(final StorageCapacity capacity, final SelectionPolicy<CODE> policy, final CODE... codes) {
+        return SimpleSortedStorage.create(capacity, policy, codes);
+    }
+
+    /**
+     * Creates an instance of a simple sorted storage that chooses the entry loaded from a code by an entry order. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE> Generic code type.
+     * @param <TYPE> Generic type which is stored.
+     * @param order  Order of the entries of a code.
+     * @param codes  Codes used for sorting the entries.
+     *
+     * @return Sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> SimpleSortedStorage<CODE, TYPE> of(final EntryOrder<TYPE> order, final CODE... codes) {
+        return SimpleSortedStorage.create(StorageCapacity.unbounded(), SelectionPolicy.insertionOrder(), order, codes);
+    }
+
+    /**
+     * Creates an instance of a simple sorted storage with a selection policy for the codes and an entry order within a code. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE>   Generic code type.
+     * @param <TYPE>   Generic type which is stored.
+     * @param capacity Limits of the storage.
+     * @param policy   Policy selecting the code the next entry is loaded from.
+     * @param order    Order of the entries of a code.
+     * @param codes    Codes used for sorting the entries.
+     *
+     * @return Sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> SimpleSortedStorage<CODE, TYPE> of(final StorageCapacity capacity, final SelectionPolicy<CODE> policy, final EntryOrder<TYPE> order, final CODE... codes) {
+        return SimpleSortedStorage.create(capacity, policy, order, codes);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <CODE extends Comparable<?>, TYPE> SimpleSortedStorage<CODE, TYPE> create(final StorageCapacity capacity, final CODE... codes) {
+        return SimpleSortedStorage.create(capacity, SelectionPolicy.insertionOrder(), codes);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <CODE extends Comparable<?>, TYPE> SimpleSortedStorage<CODE, TYPE> create(final StorageCapacity capacity, final SelectionPolicy<CODE> policy, final CODE... codes) {
+        return SimpleSortedStorage.create(capacity, policy, EntryOrder.lifo(), codes);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings({"rawtypes", "unchecked", "varargs"})
+    static <CODE extends Comparable<?>, TYPE> SimpleSortedStorage<CODE, TYPE> create(final StorageCapacity capacity, final SelectionPolicy<CODE> policy, final EntryOrder<TYPE> order, final CODE... codes) {
+
+        if (Objects.isNull(capacity)) {
+            throw new NullPointerException("Sorted storages requires a capacity.");
+        }
+
+        if (Objects.isNull(policy)) {
+            throw new NullPointerException("Sorted storages requires a selection policy.");
+        }
+
+        if (Objects.isNull(order)) {
+            throw new NullPointerException("Sorted storages requires an entry order.");
+        }
 
         if (Objects.isNull(codes) || (codes.length == 0)) {
             throw new NullPointerException("Sorted storages requires codes for sorting entities.");
         }
 
-        final ConcurrentMap<CODE, ?> storage = Arrays.asList(codes)
-                .stream()
-                .collect(Collectors.toConcurrentMap(code -> code, code -> new ArrayList<>()));
+        final List<CODE> distinct = new ArrayList<>(new LinkedHashSet<>(Arrays.asList(codes)));
+
+        if (policy.isSorted()) {
+            Collections.sort((List) distinct);
+        }
+
+        final ConcurrentMap<CODE, List> storage = new ConcurrentHashMap<>(distinct.size());
+        final Map<CODE, Integer> positions = new LinkedHashMap<>(distinct.size());
+        final List<List> lists = new ArrayList<>(distinct.size());
+
+        for (CODE code : distinct) {
+            final List list = order.entries();
+            positions.put(code, lists.size());
+            lists.add(list);
+            storage.put(code, Collections.unmodifiableList(list));
+        }
 
-        return new SimpleSortedStorage(storage);
+        return new SimpleSortedStorage(storage, positions, lists, capacity, policy.selector(distinct));
     }
 }
@@ -17,11 +17,15 @@ package io.varietas.instrumentum.simul.storages;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
@@ -31,22 +35,39 @@ import lombok.RequiredArgsConstructor;
  * This entry represents a container to store all located, annotated entries. Additionally there are a number of useful methods.
  * <p>
  * Attention: Duplex values are only stored one time.
+ * <p>
+ * The number of stored entries can be limited by the global limit of a {@link StorageCapacity}. Bounded storages keep the entries in insertion order, so the next entry is always the oldest one. A simple storage is not able to wait for free space, so the {@link OverflowPolicy#BLOCK} policy rejects entries like {@link OverflowPolicy#REJECT}.
  *
  * @author Michael Rhöse
  * @version 1.0.0.0, 6/28/2016
  * @param <TYPE> Generic type for the value which is stored.
  */
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-public class SimpleUnsortedStorage<TYPE> implements UnsortedStorage<TYPE> {
+public class SimpleUnsortedStorage<TYPE> implements UnsortedStorage<TYPE>, IndexedStorage<TYPE> {
 
     private final Set<TYPE> storage;
+    private final StorageCapacity capacity;
+    private final SecondaryIndexes<TYPE> indexes = new SecondaryIndexes<>();
 
-    public static final <TYPE> UnsortedStorage<TYPE> of() {
+    public static final <TYPE> SimpleUnsortedStorage<TYPE> of() {
         return SimpleUnsortedStorage.of(0);
     }
 
-    public static final <TYPE> UnsortedStorage<TYPE> of(int listSize) {
-        return new SimpleUnsortedStorage<>(new HashSet<>(listSize));
+    public static final <TYPE> SimpleUnsortedStorage<TYPE> of(int listSize) {
+        return SimpleUnsortedStorage.of(listSize, StorageCapacity.unbounded());
+    }
+
+    public static final <TYPE> SimpleUnsortedStorage<TYPE> of(int listSize, final StorageCapacity capacity) {
+        return SimpleUnsortedStorage.create(listSize, capacity);
+    }
+
+    static <TYPE> SimpleUnsortedStorage<TYPE> create(int listSize, final StorageCapacity capacity) {
+
+        if (Objects.isNull(capacity)) {
+            throw new NullPointerException("Unsorted storages requires a capacity.");
+        }
+
+        return new SimpleUnsortedStorage<>(capacity.isBounded() ? new LinkedHashSet<>(listSize) : new HashSet<>(listSize), capacity);
     }
 
     /**
@@ -62,11 +83,37 @@ public class SimpleUnsortedStorage<TYPE> implements UnsortedStorage<TYPE> {
 
         TYPE res = this.storage.iterator().next();
         this.storage.remove(res);
+        this.indexes.removed(res);
         return Optional.of(res);
     }
 
     /**
-     * Stores a entry in the storage. Returns current number of stored entries.
+     * Loads up to a given number of entries from the storage. All entries are loaded by a single iteration over the storage.
+     *
+     * @param target Collection the loaded entries are added to.
+     * @param max    Maximum number of entries to load.
+     *
+     * @return Number of loaded entries.
+     */
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+
+        Objects.requireNonNull(target, "Storage cannot drain entries to a null collection.");
+
+        int res = 0;
+
+        for (Iterator<TYPE> entries = this.storage.iterator(); res < max && entries.hasNext(); ++res) {
+            final TYPE entry = entries.next();
+            target.add(entry);
+            entries.remove();
+            this.indexes.removed(entry);
+        }
+
+        return res;
+    }
+
+    /**
+     * Stores a entry in the storage. Returns current number of stored entries. If the storage is full, the entry is handled by the overflow policy of the storage capacity.
      *
      * @param entry Entry to be stored.
      *
@@ -77,7 +124,25 @@ public class SimpleUnsortedStorage<TYPE> implements UnsortedStorage<TYPE> {
         if (Objects.isNull(entry)) {
             throw new NullPointerException("Storage cannot handle null objetcs.");
         }
-        this.storage.add(entry);
+
+        if (this.isFull(entry)) {
+            switch (this.capacity.getPolicy()) {
+                case DROP_OLDEST:
+                    final Iterator<TYPE> oldest = this.storage.iterator();
+                    this.indexes.removed(oldest.next());
+                    oldest.remove();
+                    break;
+                case DROP_NEWEST:
+                    return this.storage.size();
+                default:
+                    return -1;
+            }
+        }
+
+        if (this.storage.add(entry)) {
+            this.indexes.stored(entry);
+        }
+
         return this.storage.size();
     }
 
@@ -95,23 +160,65 @@ public class SimpleUnsortedStorage<TYPE> implements UnsortedStorage<TYPE> {
             return -1;
         }
 
-        this.storage.addAll(entries);
+        if (!this.capacity.isBounded() && this.indexes.isEmpty()) {
+            this.storage.addAll(entries);
+            return this.storage.size();
+        }
+
+        for (TYPE entry : entries) {
+            if (this.store(entry) == -1) {
+                return -1;
+            }
+        }
+
         return this.storage.size();
     }
 
+    /**
+     * Checks if an entry can be stored without exceeding the storage capacity. An entry that is already stored never exceeds the capacity.
+     *
+     * @param entry Entry to be stored.
+     *
+     * @return True if the global limit is reached and the entry is not stored yet, otherwise false.
+     */
+    final boolean isFull(final TYPE entry) {
+        return this.storage.size() >= this.capacity.getGlobal() && !this.storage.contains(entry);
+    }
+
     @Override
     public final Boolean isEmpty() {
         return this.storage.isEmpty();
     }
 
+    @Override
+    public final SimpleUnsortedStorage<TYPE> addIndex(final String name, final Function<TYPE, ?> extractor) {
+        this.indexes.add(name, extractor, this.storage);
+        return this;
+    }
+
+    @Override
+    public final List<TYPE> findBy(final String name, final Object key) {
+        return this.indexes.find(name, key);
+    }
+
     /**
-     * All stored entries as list.
+     * All stored entries as list. The entries are copied, {@link #view()} reads the entries without copying them.
      *
-     * @return
+     * @return Copy of the stored entries.
      */
     @Override
     public final List<TYPE> getStorage() {
 
         return new ArrayList<>(this.storage);
     }
+
+    /**
+     * Creates a read-only view of the set of stored entries. The spliterator of the set splits its hash table, so parallel streams over the view require no copy of the entries.
+     *
+     * @return Read-only view of all stored entries.
+     */
+    @Override
+    public final Collection<TYPE> view() {
+        return Collections.unmodifiableSet(this.storage);
+    }
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h2>SkipListSortedStorage</h2>
+ * <p>
+ * This storage keeps its codes in a concurrent skip list ordered by the natural order of the codes. Codes do not have to be known in advance, a code is added the first time an entry is stored for it and is kept afterwards. {@link #next()} loads from the smallest code with entries, ranges of codes are loaded by {@link #next(java.lang.Comparable, java.lang.Comparable)}.
+ * <p>
+ * Like the {@link ConcurrentSortedStorage} every code owns a lock-free deque, so the storage is thread-safe without an external lock. Entries are loaded last stored, first loaded within a code.
+ * <p>
+ * Attention: Loading without a code visits the codes in ascending order until a code with entries is found. The numbers returned by the store methods are a snapshot and may be outdated as soon as they are returned.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class SkipListSortedStorage<CODE extends Comparable<? super CODE>, TYPE> implements NavigableSortedStorage<CODE, TYPE> {
+
+    private final ConcurrentNavigableMap<CODE, Lane<TYPE>> storage;
+    private final AtomicReference<ExclusionChain<TYPE>> exclusions = new AtomicReference<>(ExclusionChain.empty());
+
+    @Override
+    public final Optional<TYPE> next() {
+        return SkipListSortedStorage.poll(this.storage.values());
+    }
+
+    /**
+     * Loads the next entry of a code. A code without stored entries, known or not, returns an empty optional.
+     *
+     * @param code Category code.
+     *
+     * @return Next entry of the code.
+     */
+    @Override
+    public final Optional<TYPE> next(final CODE code) {
+
+        final Lane<TYPE> lane = this.storage.get(SkipListSortedStorage.requireCode(code));
+
+        return Objects.isNull(lane) ? Optional.empty() : Optional.ofNullable(lane.poll());
+    }
+
+    @Override
+    public final Optional<TYPE> next(final CODE fromCode, final CODE toCode) {
+        return SkipListSortedStorage.poll(this.storage.subMap(SkipListSortedStorage.requireCode(fromCode), SkipListSortedStorage.requireCode(toCode)).values());
+    }
+
+    @Override
+    public final int drainTo(final Collection<? super TYPE> target, final int max) {
+
+        Objects.requireNonNull(target, "Storage cannot drain entries to a null collection.");
+
+        int res = 0;
+
+        for (Lane<TYPE> lane : this.storage.values()) {
+            if (res >= max) {
+                break;
+            }
+
+            res += lane.pollAll(target, max - res);
+        }
+
+        return res;
+    }
+
+    @Override
+    public final List<TYPE> nextBatch(final CODE code, final int max) {
+
+        final List<TYPE> res = new ArrayList<>();
+        final Lane<TYPE> lane = this.storage.get(SkipListSortedStorage.requireCode(code));
+
+        if (Objects.nonNull(lane)) {
+            lane.pollAll(res, max);
+        }
+
+        return res;
+    }
+
+    /**
+     * Stores a entry in the storage. An unknown code is added to the storage when the entry is not excluded. Returns -1 if the entry is not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing.
+     */
+    @Override
+    public final int store(final TYPE entry, final CODE code) {
+
+        SkipListSortedStorage.requireCode(code);
+
+        if (this.exclusions.get().isExcluded(entry)) {
+            return -1;
+        }
+
+        return this.lane(code).offer(entry);
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage. All entries are checked against the exclusion predictions before any entry is stored, either all entries are stored or none. An unknown code is added to the storage when the entries are stored. Returns -1 if the entries are not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entries Entries to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries, final CODE code) {
+
+        SkipListSortedStorage.requireCode(code);
+
+        final List<TYPE> accepted = new ArrayList<>(entries);
+
+        if (this.exclusions.get().isAnyExcluded(accepted)) {
+            return -1;
+        }
+
+        final Lane<TYPE> lane = this.lane(code);
+        accepted.forEach(lane::offer);
+
+        return lane.size();
+    }
+
+    /**
+     * Creates a snapshot of all stored entries ordered by the codes. Changes made while the snapshot is created may or may not be part of it.
+     *
+     * @return Copy of the stored entries per code.
+     */
+    @Override
+    public final Map<CODE, List<TYPE>> getStorage() {
+
+        final Map<CODE, List<TYPE>> res = new LinkedHashMap<>();
+        this.storage.forEach((code, lane) -> res.put(code, lane.snapshot()));
+
+        return res;
+    }
+
+    @Override
+    public final Boolean isEmpty(final CODE code) {
+
+        final Lane<TYPE> lane = this.storage.get(SkipListSortedStorage.requireCode(code));
+
+        return Objects.isNull(lane) || lane.isEmpty();
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+        return this.storage.values().stream().allMatch(Lane::isEmpty);
+    }
+
+    @Override
+    public final NavigableSet<CODE> headCodes(final CODE code) {
+        return Collections.unmodifiableNavigableSet(this.storage.navigableKeySet().headSet(SkipListSortedStorage.requireCode(code), false));
+    }
+
+    @Override
+    public final NavigableSet<CODE> codes() {
+        return Collections.unmodifiableNavigableSet(this.storage.navigableKeySet());
+    }
+
+    @Override
+    public final SortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
+        Objects.requireNonNull(exclusion, "Exclusion cannot be null.");
+        this.exclusions.updateAndGet(chain -> chain.with(exclusion));
+        return this;
+    }
+
+    @Override
+    public final <KEY> SortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        final ExclusionSet<TYPE, KEY> exclusion = ExclusionSet.of(key, excluded);
+        this.exclusions.updateAndGet(chain -> chain.with(exclusion));
+        return this;
+    }
+
+    private Lane<TYPE> lane(final CODE code) {
+        return this.storage.computeIfAbsent(SkipListSortedStorage.requireCode(code), key -> new Lane<>());
+    }
+
+    private static <TYPE> Optional<TYPE> poll(final Collection<Lane<TYPE>> lanes) {
+
+        for (Lane<TYPE> lane : lanes) {
+            final TYPE res = lane.poll();
+
+            if (Objects.nonNull(res)) {
+                return Optional.of(res);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static <CODE> CODE requireCode(final CODE code) {
+
+        if (Objects.isNull(code)) {
+            throw new NullPointerException("Value(s) cannot be stored for key null.");
+        }
+
+        return code;
+    }
+
+    /**
+     * Creates an instance of a skip list sorted storage. Further codes are added when entries are stored for them. Predictions for exclusions can be added by the #addExclusion(...) method.
+     *
+     * @param <CODE> Generic code type.
+     * @param <TYPE> Generic type which is stored.
+     * @param codes  Codes known from the beginning, may be empty.
+     *
+     * @return Navigable sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<? super CODE>, TYPE> NavigableSortedStorage<CODE, TYPE> of(final CODE... codes) {
+
+        final ConcurrentNavigableMap<CODE, Lane<TYPE>> storage = new ConcurrentSkipListMap<>();
+
+        if (Objects.nonNull(codes)) {
+            for (CODE code : codes) {
+                storage.putIfAbsent(SkipListSortedStorage.requireCode(code), new Lane<>());
+            }
+        }
+
+        return new SkipListSortedStorage<>(storage);
+    }
+}
@@ -15,9 +15,12 @@
  */
 package io.varietas.instrumentum.simul.storages;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -60,6 +63,26 @@ public interface SortedStorage<CODE extends Comparable<?>, TYPE> extends Storage
      */
     Optional<TYPE> next(final CODE code);
 
+    /**
+     * Gets up to a given number of entries for a code. The entries are removed from the storage and are ordered like they would be loaded by {@link #next(java.lang.Comparable)}.
+     *
+     * @param code Code where the entries have to be loaded.
+     * @param max  Maximum number of entries to load.
+     *
+     * @return Loaded entries or an empty list if there are no entries for the code.
+     */
+    default List<TYPE> nextBatch(final CODE code, final int max) {
+
+        final List<TYPE> res = new ArrayList<>();
+        Optional<TYPE> next;
+
+        while (res.size() < max && (next = this.next(code)).isPresent()) {
+            res.add(next.get());
+        }
+
+        return res;
+    }
+
     /**
      * All stored entries as list.
      *
@@ -67,6 +90,33 @@ public interface SortedStorage<CODE extends Comparable<?>, TYPE> extends Storage
      */
     Map<CODE, List<TYPE>> getStorage();
 
+    /**
+     * Creates a read-only view of the entries of all codes. The view is backed by the lists of {@link #getStorage()} and its spliterator is sized and splittable, so the entries can be processed by {@link Collection#parallelStream()}. The default implementation wraps {@link #getStorage()}, which copies the entries for most storages. Storages that keep their entries in lists return a view without copying them. A view that is not copied must not be read while the storage is modified.
+     *
+     * @return Read-only view of all stored entries in the order of the codes.
+     */
+    default Collection<TYPE> view() {
+        return new StorageView<>(new ArrayList<>(this.getStorage().values()));
+    }
+
+    /**
+     * Creates a read-only view of the entries of a code. The default implementation wraps the list of {@link #getStorage()}, which is a copy for most storages. A view that is not copied must not be read while the storage is modified.
+     *
+     * @param code Category code.
+     *
+     * @return Read-only view of the entries of the code.
+     */
+    default List<TYPE> view(final CODE code) {
+
+        final List<TYPE> res = Objects.isNull(code) ? null : this.getStorage().get(code);
+
+        if (Objects.isNull(res)) {
+            throw new NullPointerException("Value(s) cannot be loaded for key " + String.valueOf(code) + ".");
+        }
+
+        return Collections.unmodifiableList(res);
+    }
+
     /**
      * Checks if a list of stored entries for a code is empty.
      *
@@ -84,4 +134,30 @@ public interface SortedStorage<CODE extends Comparable<?>, TYPE> extends Storage
      * @return The instance of the sorted storage for fluent like usage.
      */
     SortedStorage<CODE, TYPE> addExclusion(Function<TYPE, Boolean> exclusion);
+
+    /**
+     * Adds a set of excluded keys. An entry isn't stored if its key is part of the set. The keys are copied, changes to the given collection afterwards have no effect.
+     * <p>
+     * Sets are checked by a bloom filter before the exact set is asked, so large sets cost nearly constant time per stored entry. Storages that compile their exclusions check sets before exclusion functions.
+     *
+     * @param <KEY>    Generic type of the excluded keys.
+     * @param key      Function extracting the key of an entry.
+     * @param excluded Keys of entries that are not stored.
+     *
+     * @return The instance of the sorted storage for fluent like usage.
+     */
+    default <KEY> SortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        return this.addExclusion(ExclusionSet.of(key, excluded)::test);
+    }
+
+    /**
+     * Adds a set of excluded entries. An entry isn't stored if it is equal to an entry of the set.
+     *
+     * @param excluded Entries that are not stored.
+     *
+     * @return The instance of the sorted storage for fluent like usage.
+     */
+    default SortedStorage<CODE, TYPE> addExclusionSet(final Collection<? extends TYPE> excluded) {
+        return this.addExclusionSet(Function.identity(), excluded);
+    }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * <h2>SpillFile</h2>
+ * <p>
+ * Append-only file of entries that do not fit into the memory of a storage. Entries are encoded as records of the length followed by the bytes written by a {@link StorageCodec}. Records are collected in a write buffer and written in blocks, reading decodes blocks of records in the order they are appended. The file is truncated as soon as all records are read, so it only grows while the storage is behind.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type which is stored.
+ */
+final class SpillFile<TYPE> implements Closeable {
+
+    static final int BLOCK_SIZE = 64 << 10;
+
+    private static final int RECORD_HEADER = Integer.BYTES;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final StorageCodec<TYPE> codec;
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(BLOCK_SIZE);
+    private ByteBuffer readBuffer = ByteBuffer.allocate(BLOCK_SIZE);
+    private long writePosition;
+    private long readPosition;
+    private int size;
+
+    SpillFile(final Path directory, final StorageCodec<TYPE> codec) {
+        this.codec = codec;
+
+        try {
+            this.path = Files.createTempFile(directory, "spill-", ".dat");
+            this.channel = FileChannel.open(this.path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Spill file cannot be created in " + directory + ".", ex);
+        }
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    void append(final TYPE entry) {
+
+        final int length = this.codec.size(entry);
+
+        if (this.writeBuffer.remaining() < RECORD_HEADER + length) {
+            this.flush();
+
+            if (this.writeBuffer.capacity() < RECORD_HEADER + length) {
+                this.writeBuffer = ByteBuffer.allocate(RECORD_HEADER + length);
+            }
+        }
+
+        final int start = this.writeBuffer.position();
+
+        this.writeBuffer.putInt(length);
+        this.codec.encode(entry, this.writeBuffer);
+
+        if (this.writeBuffer.position() - start - RECORD_HEADER != length) {
+            throw new IllegalStateException("Codec wrote " + (this.writeBuffer.position() - start - RECORD_HEADER) + " bytes instead of " + length + " bytes.");
+        }
+
+        ++this.size;
+    }
+
+    /**
+     * Reads and removes up to a given number of the oldest entries.
+     *
+     * @param max      Maximum number of entries to read.
+     * @param consumer Consumer of the read entries.
+     *
+     * @return Number of read entries.
+     */
+    int read(final int max, final Consumer<? super TYPE> consumer) {
+
+        final long[] position = {this.readPosition};
+        final int res = this.scan(position, max, consumer);
+
+        this.readPosition = position[0];
+        this.size -= res;
+
+        if (this.size == 0) {
+            this.truncate();
+        }
+
+        return res;
+    }
+
+    /**
+     * Reads all entries without removing them.
+     *
+     * @param consumer Consumer of the read entries.
+     */
+    void forEach(final Consumer<? super TYPE> consumer) {
+        this.scan(new long[]{this.readPosition}, this.size, consumer);
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Spill file " + this.path + " cannot be closed.", ex);
+        }
+    }
+
+    private int scan(final long[] position, final int max, final Consumer<? super TYPE> consumer) {
+
+        this.flush();
+
+        int res = 0;
+
+        while (res < max && position[0] < this.writePosition) {
+            this.readBuffer.clear();
+            this.readBuffer.limit((int) Math.min(this.readBuffer.capacity(), this.writePosition - position[0]));
+            this.readFully(position[0]);
+            this.readBuffer.flip();
+
+            if (this.readBuffer.capacity() < RECORD_HEADER + this.readBuffer.getInt(0)) {
+                this.readBuffer = ByteBuffer.allocate(RECORD_HEADER + this.readBuffer.getInt(0));
+                continue;
+            }
+
+            while (res < max && this.readBuffer.remaining() >= RECORD_HEADER) {
+                final int length = this.readBuffer.getInt(this.readBuffer.position());
+
+                if (this.readBuffer.remaining() < RECORD_HEADER + length) {
+                    break;
+                }
+
+                final int end = this.readBuffer.position() + RECORD_HEADER + length;
+                final ByteBuffer record = this.readBuffer.duplicate();
+
+                record.position(this.readBuffer.position() + RECORD_HEADER).limit(end);
+                consumer.accept(this.codec.decode(record.slice()));
+                this.readBuffer.position(end);
+                position[0] += RECORD_HEADER + length;
+                ++res;
+            }
+        }
+
+        return res;
+    }
+
+    private void readFully(final long position) {
+        try {
+            long offset = position;
+
+            while (this.readBuffer.hasRemaining()) {
+                final int read = this.channel.read(this.readBuffer, offset);
+
+                if (read < 0) {
+                    throw new IllegalStateException("Spill file " + this.path + " ends unexpectedly.");
+                }
+
+                offset += read;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Spill file " + this.path + " cannot be read.", ex);
+        }
+    }
+
+    private void flush() {
+
+        if (this.writeBuffer.position() == 0) {
+            return;
+        }
+
+        this.writeBuffer.flip();
+
+        try {
+            while (this.writeBuffer.hasRemaining()) {
+                this.writePosition += this.channel.write(this.writeBuffer, this.writePosition);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Spill file " + this.path + " cannot be written.", ex);
+        } finally {
+            this.writeBuffer.clear();
+        }
+    }
+
+    private void truncate() {
+        try {
+            this.channel.truncate(0L);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Spill file " + this.path + " cannot be truncated.", ex);
+        }
+
+        this.readPosition = 0L;
+        this.writePosition = 0L;
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * <h2>SpillingSortedStorage</h2>
+ * <p>
+ * This storage sorts entries by codes and keeps them in memory up to a memory limit. If the limit is reached, further entries of a code are encoded by a {@link StorageCodec} and appended to a spill file of the code in a given directory. Once a code has spilled entries, all following entries of the code are spilled as well, so the in-memory head of a code always contains its oldest entries. If the head of a code runs empty, the next batch of spilled entries is read back sequentially.
+ * <p>
+ * Attention: Entries are loaded in the order they are stored per code, because the spilled entries are the newest ones. The memory limit may be exceeded by one read batch, the weight of an entry must not change while it is stored. Spill files are deleted when the storage is closed, a closed storage cannot be used any more.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <CODE> Generic code type.
+ * @param <TYPE> Generic type which is stored.
+ */
+public class SpillingSortedStorage<CODE extends Comparable<?>, TYPE> implements SortedStorage<CODE, TYPE>, Closeable {
+
+    public static final int READ_BATCH_SIZE = 1024;
+
+    private final Map<CODE, Integer> positions;
+    private final List<ArrayDeque<TYPE>> heads;
+    private final List<SpillFile<TYPE>> spills;
+    private final BitSet occupied = new BitSet();
+    private final Path directory;
+    private final StorageCodec<TYPE> codec;
+    private final long memoryLimit;
+    private final ToIntFunction<TYPE> weigher;
+    private ExclusionChain<TYPE> exclusions = ExclusionChain.empty();
+    private long memoryWeight;
+    private long spilled;
+    private boolean closed;
+
+    private SpillingSortedStorage(final Map<CODE, Integer> positions, final Path directory, final StorageCodec<TYPE> codec, final long memoryLimit, final ToIntFunction<TYPE> weigher) {
+        this.positions = positions;
+        this.heads = new ArrayList<>(positions.size());
+        this.spills = new ArrayList<>(positions.size());
+        this.directory = directory;
+        this.codec = codec;
+        this.memoryLimit = memoryLimit;
+        this.weigher = weigher;
+
+        for (int position = 0; position < positions.size(); ++position) {
+            this.heads.add(new ArrayDeque<>());
+            this.spills.add(null);
+        }
+    }
+
+    @Override
+    public final Optional<TYPE> next() {
+
+        this.requireOpen();
+
+        final int position = this.occupied.nextSetBit(0);
+
+        if (position < 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.poll(position));
+    }
+
+    @Override
+    public final Optional<TYPE> next(final CODE code) {
+
+        this.requireOpen();
+
+        final int position = this.position(code);
+
+        if (!this.occupied.get(position)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.poll(position));
+    }
+
+    /**
+     * Stores a entry in memory or, if the memory limit is reached or the code has spilled entries, in the spill file of the code.
+     *
+     * @param entry Entry to be stored.
+     * @param code  Annotation type code where the entry should be stored for.
+     *
+     * @return Number of entries stored for the code or -1 if an exclusion prediction prevents the storing.
+     */
+    @Override
+    public final int store(final TYPE entry, final CODE code) {
+
+        this.requireOpen();
+
+        return this.store(entry, this.position(code));
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage. Returns -1 if the entries are not stored otherwise the current number of stored entries will be returned.
+     *
+     * @param entries Entries to be stored.
+     * @param code    Annotation type code where the entry should be stored for.
+     *
+     * @return Number of stored entries or -1 if an exclusion prediction prevents the storing
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries, final CODE code) {
+
+        this.requireOpen();
+
+        final int position = this.position(code);
+
+        for (TYPE entry : entries) {
+            if (this.store(entry, position) == -1) {
+                return -1;
+            }
+        }
+
+        return this.size(position);
+    }
+
+    /**
+     * Creates a copy of all entries in the order they are loaded. Spilled entries are read from disk without removing them.
+     *
+     * @return Copy of the stored entries per code.
+     */
+    @Override
+    public final Map<CODE, List<TYPE>> getStorage() {
+
+        this.requireOpen();
+
+        final Map<CODE, List<TYPE>> res = new LinkedHashMap<>();
+
+        this.positions.forEach((code, position) -> {
+            final List<TYPE> list = new ArrayList<>(this.heads.get(position));
+            final SpillFile<TYPE> spill = this.spills.get(position);
+
+            if (Objects.nonNull(spill)) {
+                spill.forEach(list::add);
+            }
+
+            res.put(code, list);
+        });
+
+        return res;
+    }
+
+    @Override
+    public final Boolean isEmpty(final CODE code) {
+
+        this.requireOpen();
+
+        return !this.occupied.get(this.position(code));
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+
+        this.requireOpen();
+
+        return this.occupied.isEmpty();
+    }
+
+    @Override
+    public final SortedStorage<CODE, TYPE> addExclusion(final Function<TYPE, Boolean> exclusion) {
+        this.exclusions = this.exclusions.with(exclusion);
+        return this;
+    }
+
+    @Override
+    public final <KEY> SortedStorage<CODE, TYPE> addExclusionSet(final Function<TYPE, KEY> key, final Collection<? extends KEY> excluded) {
+        this.exclusions = this.exclusions.with(ExclusionSet.of(key, excluded));
+        return this;
+    }
+
+    /**
+     * Number of entries currently stored on disk.
+     *
+     * @return Number of spilled entries over all codes.
+     */
+    public final long getSpilledCount() {
+        return this.spilled;
+    }
+
+    /**
+     * Sum of the weights of all entries currently held in memory.
+     *
+     * @return Weight of the in-memory entries.
+     */
+    public final long getMemoryWeight() {
+        return this.memoryWeight;
+    }
+
+    /**
+     * Closes and deletes all spill files and drops the entries held in memory. The storage cannot be used after it is closed, loading or storing entries throws an {@link IllegalStateException}.
+     */
+    @Override
+    public final void close() {
+
+        this.closed = true;
+
+        for (int position = 0; position < this.spills.size(); ++position) {
+            final SpillFile<TYPE> spill = this.spills.get(position);
+
+            this.heads.get(position).clear();
+
+            if (Objects.nonNull(spill)) {
+                this.spills.set(position, null);
+                spill.close();
+            }
+        }
+
+        this.occupied.clear();
+        this.memoryWeight = 0;
+        this.spilled = 0;
+    }
+
+    private int store(final TYPE entry, final int position) {
+
+        if (this.exclusions.isExcluded(entry)) {
+            return -1;
+        }
+
+        final SpillFile<TYPE> spill = this.spills.get(position);
+        final int weight = this.weigher.applyAsInt(entry);
+
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight of an entry cannot be negative.");
+        }
+
+        if ((Objects.nonNull(spill) && !spill.isEmpty()) || this.memoryWeight + weight > this.memoryLimit) {
+            this.spill(position).append(entry);
+            ++this.spilled;
+        } else {
+            this.heads.get(position).addLast(entry);
+            this.memoryWeight += weight;
+        }
+
+        this.occupied.set(position);
+
+        return this.size(position);
+    }
+
+    /**
+     * Removes the oldest entry of a code with entries. An empty head is refilled by a batch of spilled entries first.
+     */
+    private TYPE poll(final int position) {
+
+        final ArrayDeque<TYPE> head = this.heads.get(position);
+
+        if (head.isEmpty()) {
+            final int read = this.spills.get(position).read(READ_BATCH_SIZE, entry -> {
+                head.addLast(entry);
+                this.memoryWeight += this.weigher.applyAsInt(entry);
+            });
+
+            this.spilled -= read;
+        }
+
+        final TYPE res = head.pollFirst();
+
+        this.memoryWeight -= this.weigher.applyAsInt(res);
+
+        if (this.size(position) == 0) {
+            this.occupied.clear(position);
+        }
+
+        return res;
+    }
+
+    private SpillFile<TYPE> spill(final int position) {
+
+        SpillFile<TYPE> res = this.spills.get(position);
+
+        if (Objects.isNull(res)) {
+            res = new SpillFile<>(this.directory, this.codec);
+            this.spills.set(position, res);
+        }
+
+        return res;
+    }
+
+    private int size(final int position) {
+
+        final SpillFile<TYPE> spill = this.spills.get(position);
+
+        return this.heads.get(position).size() + (Objects.isNull(spill) ? 0 : spill.size());
+    }
+
+    private void requireOpen() {
+
+        if (this.closed) {
+            throw new IllegalStateException("Storage is closed.");
+        }
+    }
+
+    private int position(final CODE code) {
+
+        final Integer res = Objects.isNull(code) ? null : this.positions.get(code);
+
+        if (Objects.isNull(res)) {
+            throw new NullPointerException("Value(s) cannot be stored for key " + String.valueOf(code) + ".");
+        }
+
+        return res;
+    }
+
+    /**
+     * Creates a spilling storage that holds up to a maximum number of entries in memory.
+     *
+     * @param <CODE>      Generic code type.
+     * @param <TYPE>      Generic type which is stored.
+     * @param directory   Directory of the spill files.
+     * @param codec       Codec used to encode spilled entries.
+     * @param memoryLimit Maximum number of entries held in memory.
+     * @param codes       Codes used for sorting the entries.
+     *
+     * @return Spilling sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> SpillingSortedStorage<CODE, TYPE> of(final Path directory, final StorageCodec<TYPE> codec, final long memoryLimit, final CODE... codes) {
+        return SpillingSortedStorage.of(directory, codec, entry -> 1, memoryLimit, codes);
+    }
+
+    /**
+     * Creates a spilling storage that holds entries in memory up to a maximum total weight.
+     *
+     * @param <CODE>      Generic code type.
+     * @param <TYPE>      Generic type which is stored.
+     * @param directory   Directory of the spill files.
+     * @param codec       Codec used to encode spilled entries.
+     * @param weigher     Function estimating the memory used by an entry.
+     * @param memoryLimit Maximum sum of the weights of the entries held in memory.
+     * @param codes       Codes used for sorting the entries.
+     *
+     * @return Spilling sorted storage.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <CODE extends Comparable<?>, TYPE> SpillingSortedStorage<CODE, TYPE> of(final Path directory, final StorageCodec<TYPE> codec, final ToIntFunction<TYPE> weigher, final long memoryLimit, final CODE... codes) {
+
+        if (Objects.isNull(directory)) {
+            throw new NullPointerException("Spilling storages requires a directory.");
+        }
+
+        if (Objects.isNull(codec)) {
+            throw new NullPointerException("Spilling storages requires a codec.");
+        }
+
+        if (memoryLimit < 1) {
+            throw new IllegalArgumentException("Memory limit has to be at least 1.");
+        }
+
+        if (Objects.isNull(weigher)) {
+            throw new NullPointerException("Spilling storages requires a weigher.");
+        }
+
+        if (Objects.isNull(codes) || (codes.length == 0)) {
+            throw new NullPointerException("Sorted storages requires codes for sorting entities.");
+        }
+
+        final Map<CODE, Integer> positions = new LinkedHashMap<>(codes.length);
+
+        for (CODE code : codes) {
+            positions.putIfAbsent(code, positions.size());
+        }
+
+        return new SpillingSortedStorage<>(positions, directory, codec, memoryLimit, weigher);
+    }
+}
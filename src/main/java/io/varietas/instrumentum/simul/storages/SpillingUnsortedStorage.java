@@ -0,0 +1,284 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * <h2>SpillingUnsortedStorage</h2>
+ * <p>
+ * This storage keeps entries in memory up to a memory limit. If the limit is reached, further entries are encoded by a {@link StorageCodec} and appended to a spill file in a given directory. Once entries are spilled, all following entries are spilled as well, so the entries in memory are always the oldest ones. If the memory runs empty, the next batch of spilled entries is read back sequentially.
+ * <p>
+ * Attention: Duplex values are only stored one time as long as they are held in memory. Spilled entries are not compared with other entries, so an entry spilled while an equal entry is stored is loaded twice. The memory limit may be exceeded by one read batch, the weight of an entry must not change while it is stored. The spill file is deleted when the storage is closed, a closed storage cannot be used any more.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type for the value which is stored.
+ */
+public class SpillingUnsortedStorage<TYPE> implements UnsortedStorage<TYPE>, Closeable {
+
+    public static final int READ_BATCH_SIZE = 1024;
+
+    private final Set<TYPE> storage = new LinkedHashSet<>();
+    private final Path directory;
+    private final StorageCodec<TYPE> codec;
+    private final long memoryLimit;
+    private final ToIntFunction<TYPE> weigher;
+    private SpillFile<TYPE> spill;
+    private long memoryWeight;
+    private boolean closed;
+
+    private SpillingUnsortedStorage(final Path directory, final StorageCodec<TYPE> codec, final long memoryLimit, final ToIntFunction<TYPE> weigher) {
+        this.directory = directory;
+        this.codec = codec;
+        this.memoryLimit = memoryLimit;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Creates a spilling storage that holds up to a maximum number of entries in memory.
+     *
+     * @param <TYPE>      Generic type for the value which is stored.
+     * @param directory   Directory of the spill file.
+     * @param codec       Codec used to encode spilled entries.
+     * @param memoryLimit Maximum number of entries held in memory.
+     *
+     * @return Spilling unsorted storage.
+     */
+    public static final <TYPE> SpillingUnsortedStorage<TYPE> of(final Path directory, final StorageCodec<TYPE> codec, final long memoryLimit) {
+        return SpillingUnsortedStorage.of(directory, codec, memoryLimit, entry -> 1);
+    }
+
+    /**
+     * Creates a spilling storage that holds entries in memory up to a maximum total weight.
+     *
+     * @param <TYPE>      Generic type for the value which is stored.
+     * @param directory   Directory of the spill file.
+     * @param codec       Codec used to encode spilled entries.
+     * @param memoryLimit Maximum sum of the weights of the entries held in memory.
+     * @param weigher     Function estimating the memory used by an entry.
+     *
+     * @return Spilling unsorted storage.
+     */
+    public static final <TYPE> SpillingUnsortedStorage<TYPE> of(final Path directory, final StorageCodec<TYPE> codec, final long memoryLimit, final ToIntFunction<TYPE> weigher) {
+
+        if (Objects.isNull(directory)) {
+            throw new NullPointerException("Spilling storages requires a directory.");
+        }
+
+        if (Objects.isNull(codec)) {
+            throw new NullPointerException("Spilling storages requires a codec.");
+        }
+
+        if (memoryLimit < 1) {
+            throw new IllegalArgumentException("Memory limit has to be at least 1.");
+        }
+
+        if (Objects.isNull(weigher)) {
+            throw new NullPointerException("Spilling storages requires a weigher.");
+        }
+
+        return new SpillingUnsortedStorage<>(directory, codec, memoryLimit, weigher);
+    }
+
+    /**
+     * Loads the oldest entry from the storage. An empty memory is refilled by a batch of spilled entries first.
+     *
+     * @return Next entry from the storage.
+     */
+    @Override
+    public final Optional<TYPE> next() {
+
+        this.requireOpen();
+
+        if (this.storage.isEmpty()) {
+            this.refill();
+        }
+
+        if (this.storage.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Iterator<TYPE> entries = this.storage.iterator();
+        final TYPE res = entries.next();
+
+        entries.remove();
+        this.memoryWeight -= this.weigher.applyAsInt(res);
+
+        return Optional.of(res);
+    }
+
+    /**
+     * Stores a entry in memory or, if the memory limit is reached or entries are spilled, in the spill file.
+     *
+     * @param entry Entry to be stored.
+     *
+     * @return Number of stored entries.
+     */
+    @Override
+    public final int store(final TYPE entry) {
+
+        this.requireOpen();
+
+        if (Objects.isNull(entry)) {
+            throw new NullPointerException("Storage cannot handle null objetcs.");
+        }
+
+        if (this.storage.contains(entry)) {
+            return this.size();
+        }
+
+        final int weight = this.weigher.applyAsInt(entry);
+
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight of an entry cannot be negative.");
+        }
+
+        if ((Objects.nonNull(this.spill) && !this.spill.isEmpty()) || this.memoryWeight + weight > this.memoryLimit) {
+            this.spill().append(entry);
+        } else {
+            this.storage.add(entry);
+            this.memoryWeight += weight;
+        }
+
+        return this.size();
+    }
+
+    /**
+     * Stores all entries from a given collection in the storage. Returns -1 if the entries are empty otherwise the current number of stored entries will be returned.
+     *
+     * @param entries Entries to be stored.
+     *
+     * @return Number of stored entries or -1 for an error.
+     */
+    @Override
+    public final int storeAll(final Collection<TYPE> entries) {
+
+        this.requireOpen();
+
+        if (entries.isEmpty()) {
+            return -1;
+        }
+
+        entries.forEach(this::store);
+
+        return this.size();
+    }
+
+    @Override
+    public final Boolean isEmpty() {
+
+        this.requireOpen();
+
+        return this.size() == 0;
+    }
+
+    /**
+     * Creates a copy of all entries in the order they are loaded. Spilled entries are read from disk without removing them.
+     *
+     * @return Copy of the stored entries.
+     */
+    @Override
+    public final List<TYPE> getStorage() {
+
+        this.requireOpen();
+
+        final List<TYPE> res = new ArrayList<>(this.storage);
+
+        if (Objects.nonNull(this.spill)) {
+            this.spill.forEach(res::add);
+        }
+
+        return res;
+    }
+
+    /**
+     * Number of entries currently stored on disk.
+     *
+     * @return Number of spilled entries.
+     */
+    public final long getSpilledCount() {
+        return Objects.isNull(this.spill) ? 0 : this.spill.size();
+    }
+
+    /**
+     * Sum of the weights of all entries currently held in memory.
+     *
+     * @return Weight of the in-memory entries.
+     */
+    public final long getMemoryWeight() {
+        return this.memoryWeight;
+    }
+
+    /**
+     * Closes and deletes the spill file and drops the entries held in memory. The storage cannot be used after it is closed, loading or storing entries throws an {@link IllegalStateException}.
+     */
+    @Override
+    public final void close() {
+
+        this.closed = true;
+        this.storage.clear();
+        this.memoryWeight = 0;
+
+        if (Objects.nonNull(this.spill)) {
+            final SpillFile<TYPE> spill = this.spill;
+
+            this.spill = null;
+            spill.close();
+        }
+    }
+
+    private void requireOpen() {
+
+        if (this.closed) {
+            throw new IllegalStateException("Storage is closed.");
+        }
+    }
+
+    private void refill() {
+
+        if (Objects.nonNull(this.spill)) {
+            this.spill.read(READ_BATCH_SIZE, entry -> {
+                if (this.storage.add(entry)) {
+                    this.memoryWeight += this.weigher.applyAsInt(entry);
+                }
+            });
+        }
+    }
+
+    private SpillFile<TYPE> spill() {
+
+        if (Objects.isNull(this.spill)) {
+            this.spill = new SpillFile<>(this.directory, this.codec);
+        }
+
+        return this.spill;
+    }
+
+    private int size() {
+        return this.storage.size() + (Objects.isNull(this.spill) ? 0 : this.spill.size());
+    }
+}
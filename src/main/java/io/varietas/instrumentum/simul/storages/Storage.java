@@ -15,6 +15,8 @@
  */
 package io.varietas.instrumentum.simul.storages;
 
+import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -33,6 +35,29 @@ public interface Storage<TYPE> {
      */
     public Optional<TYPE> next();
 
+    /**
+     * Loads up to a given number of entries from the storage and adds them to a collection. The entries are removed from the storage. The entries are loaded in the same order as by {@link #next()}.
+     *
+     * @param target Collection the loaded entries are added to.
+     * @param max    Maximum number of entries to load.
+     *
+     * @return Number of loaded entries.
+     */
+    public default int drainTo(final Collection<? super TYPE> target, final int max) {
+
+        Objects.requireNonNull(target, "Storage cannot drain entries to a null collection.");
+
+        int res = 0;
+        Optional<TYPE> next;
+
+        while (res < max && (next = this.next()).isPresent()) {
+            target.add(next.get());
+            ++res;
+        }
+
+        return res;
+    }
+
     /**
      *
      * @return
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * <h2>StorageCapacity</h2>
+ * <p>
+ * The capacity limits the number of entries a storage holds. Sorted storages respect the limit per code and the global limit over all codes, unsorted storages respect the global limit only. The overflow policy decides what happens if an entry is stored while a limit is reached.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class StorageCapacity {
+
+    private static final StorageCapacity UNBOUNDED = new StorageCapacity(Integer.MAX_VALUE, Integer.MAX_VALUE, OverflowPolicy.REJECT);
+
+    /**
+     * Maximum number of entries stored for a single code.
+     */
+    int perCode;
+    /**
+     * Maximum number of entries stored in the whole storage.
+     */
+    int global;
+    /**
+     * Behaviour of the storage if a limit is reached.
+     */
+    OverflowPolicy policy;
+
+    /**
+     * Checks if at least one of the limits is set.
+     *
+     * @return True if the storage is bounded, otherwise false.
+     */
+    public boolean isBounded() {
+        return this.perCode != Integer.MAX_VALUE || this.global != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Capacity without any limits.
+     *
+     * @return Unbounded capacity.
+     */
+    public static StorageCapacity unbounded() {
+        return StorageCapacity.UNBOUNDED;
+    }
+
+    /**
+     * Creates a capacity that limits the number of entries in the whole storage.
+     *
+     * @param global Maximum number of entries stored in the whole storage.
+     * @param policy Behaviour of the storage if the limit is reached.
+     *
+     * @return Bounded capacity.
+     */
+    public static StorageCapacity of(final int global, final OverflowPolicy policy) {
+        return StorageCapacity.of(Integer.MAX_VALUE, global, policy);
+    }
+
+    /**
+     * Creates a capacity that limits the number of entries per code and in the whole storage.
+     *
+     * @param perCode Maximum number of entries stored for a single code.
+     * @param global  Maximum number of entries stored in the whole storage.
+     * @param policy  Behaviour of the storage if a limit is reached.
+     *
+     * @return Bounded capacity.
+     */
+    public static StorageCapacity of(final int perCode, final int global, final OverflowPolicy policy) {
+
+        if (perCode < 1 || global < 1) {
+            throw new IllegalArgumentException("Storage capacity has to be at least 1.");
+        }
+
+        if (Objects.isNull(policy)) {
+            throw new NullPointerException("Storage capacity requires an overflow policy.");
+        }
+
+        return new StorageCapacity(perCode, global, policy);
+    }
+}
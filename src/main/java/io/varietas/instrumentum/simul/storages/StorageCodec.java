@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <h2>StorageCodec</h2>
+ * <p>
+ * A codec converts entries into bytes and back. It is used by storages that keep their entries outside of the heap. Equal entries have to be encoded to equal bytes, because storages compare entries by their encoded form.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type which is encoded.
+ */
+public interface StorageCodec<TYPE> {
+
+    /**
+     * Calculates the number of bytes required to encode an entry.
+     *
+     * @param entry Entry to be encoded.
+     *
+     * @return Number of bytes written by {@link #encode(java.lang.Object, java.nio.ByteBuffer)}.
+     */
+    int size(final TYPE entry);
+
+    /**
+     * Writes an entry to a buffer. The entry has to be written by relative put operations starting at the current position of the buffer. Exactly {@link #size(java.lang.Object)} bytes have to be written.
+     *
+     * @param entry  Entry to be encoded.
+     * @param target Buffer the entry is written to.
+     */
+    void encode(final TYPE entry, final ByteBuffer target);
+
+    /**
+     * Reads an entry from a buffer. The bytes of the entry are located between the current position and the limit of the buffer.
+     *
+     * @param source Buffer the entry is read from.
+     *
+     * @return Decoded entry.
+     */
+    TYPE decode(final ByteBuffer source);
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <h2>StoragePublisher</h2>
+ * <p>
+ * Publishes the entries of a storage to subscribers as long as they have outstanding demand. Entries are loaded from the storage only when a subscriber requested them, entries without demand stay in the storage, so no additional queue is required. Every entry is loaded once and delivered to a single subscriber, subscribers with demand take turns.
+ * <p>
+ * Entries are delivered on the thread that stores an entry or requests entries. Only one thread delivers at a time, a thread that signals while another thread delivers hands its work over to the delivering thread. The publisher never completes.
+ * <p>
+ * Demand is claimed before an entry is loaded, so every loaded entry has a subscriber to receive it and no entry is held by the publisher. A subscriber that cancels its subscription while a claimed entry is loaded still receives this entry. A subscriber that throws an exception has received the entry and its subscription is cancelled.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type which is published.
+ */
+public final class StoragePublisher<TYPE> implements Flow.Publisher<TYPE> {
+
+    private final Supplier<Optional<TYPE>> source;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger work = new AtomicInteger();
+
+    /**
+     * Creates a publisher of the entries loaded by a source.
+     *
+     * @param source Thread-safe source that loads and removes the next entry.
+     */
+    StoragePublisher(final Supplier<Optional<TYPE>> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super TYPE> subscriber) {
+
+        Objects.requireNonNull(subscriber, "Publisher cannot handle null subscribers.");
+
+        final Subscription subscription = new Subscription(subscriber);
+
+        this.subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Number of subscribers that did not cancel their subscription.
+     *
+     * @return Number of subscribers.
+     */
+    public int getSubscriberCount() {
+        return this.subscriptions.size();
+    }
+
+    /**
+     * Delivers stored entries to subscribers with demand. Called after entries are stored.
+     */
+    void signal() {
+
+        if (this.work.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+
+        do {
+            this.deliver();
+            missed = this.work.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void deliver() {
+
+        boolean delivered = true;
+
+        while (delivered && !this.subscriptions.isEmpty()) {
+            delivered = false;
+
+            for (Subscription subscription : this.subscriptions) {
+
+                if (!subscription.claim()) {
+                    continue;
+                }
+
+                final Optional<TYPE> next = this.source.get();
+
+                if (!next.isPresent()) {
+                    subscription.release();
+                    return;
+                }
+
+                subscription.onNext(next.get());
+                delivered = true;
+            }
+        }
+    }
+
+    private final class Subscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super TYPE> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private volatile boolean cancelled;
+
+        private Subscription(final Flow.Subscriber<? super TYPE> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long count) {
+
+            if (count <= 0) {
+                this.cancel();
+                this.subscriber.onError(new IllegalArgumentException("Subscribers have to request a positive number of entries."));
+                return;
+            }
+
+            this.requested.accumulateAndGet(count, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            StoragePublisher.this.signal();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.requested.set(0L);
+            StoragePublisher.this.subscriptions.remove(this);
+        }
+
+        /**
+         * Claims the demand for one entry before the entry is loaded.
+         *
+         * @return True if the subscription is not cancelled and had outstanding demand, otherwise false.
+         */
+        private boolean claim() {
+
+            long current = this.requested.get();
+
+            while (!this.cancelled && current > 0) {
+
+                if (current == Long.MAX_VALUE || this.requested.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+
+                current = this.requested.get();
+            }
+
+            return false;
+        }
+
+        /**
+         * Returns claimed demand that was not used because no entry was available.
+         */
+        private void release() {
+            if (!this.cancelled) {
+                this.requested.accumulateAndGet(1L, (current, added) -> current == Long.MAX_VALUE ? current : current + added);
+            }
+        }
+
+        /**
+         * Passes an entry the demand was claimed for to the subscriber, even if the subscription was cancelled meanwhile. A subscriber that throws is treated as cancelled.
+         */
+        private void onNext(final TYPE entry) {
+
+            try {
+                this.subscriber.onNext(entry);
+            } catch (RuntimeException ex) {
+                this.cancel();
+            }
+        }
+    }
+}
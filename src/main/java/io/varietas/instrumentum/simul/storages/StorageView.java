@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * <h2>StorageView</h2>
+ * <p>
+ * A read-only view of the entries of all codes of a sorted storage. The view does not copy the entries, it reads the lists of the storage in the order of the codes. Its spliterator is sized and splits the codes into halves, a single remaining code is split by the spliterator of its list, so parallel streams over the view divide the work without allocating copies.
+ * <p>
+ * The view reflects the current state of the storage. It must not be read while the storage is modified.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ * @param <TYPE> Generic type which is stored.
+ */
+final class StorageView<TYPE> extends AbstractCollection<TYPE> {
+
+    private final List<? extends List<TYPE>> lists;
+
+    StorageView(final List<? extends List<TYPE>> lists) {
+        this.lists = lists;
+    }
+
+    @Override
+    public Iterator<TYPE> iterator() {
+        return Spliterators.iterator(this.spliterator());
+    }
+
+    @Override
+    public Spliterator<TYPE> spliterator() {
+        return new ViewSpliterator<>(this.lists, 0, this.lists.size());
+    }
+
+    @Override
+    public int size() {
+
+        long res = 0L;
+
+        for (List<TYPE> list : this.lists) {
+            res += list.size();
+        }
+
+        return (int) Math.min(res, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+
+        for (List<TYPE> list : this.lists) {
+            if (!list.isEmpty()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Spliterator over a range of lists. The lists of the range are traversed one after another by their own spliterators.
+     *
+     * @param <TYPE> Generic type which is stored.
+     */
+    private static final class ViewSpliterator<TYPE> implements Spliterator<TYPE> {
+
+        private final List<? extends List<TYPE>> lists;
+        private int index;
+        private final int fence;
+        private Spliterator<TYPE> current;
+
+        private ViewSpliterator(final List<? extends List<TYPE>> lists, final int index, final int fence) {
+            this.lists = lists;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super TYPE> action) {
+
+            while (true) {
+                if (this.current == null) {
+                    if (this.index >= this.fence) {
+                        return false;
+                    }
+
+                    this.current = this.lists.get(this.index++).spliterator();
+                }
+
+                if (this.current.tryAdvance(action)) {
+                    return true;
+                }
+
+                this.current = null;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super TYPE> action) {
+
+            if (this.current != null) {
+                this.current.forEachRemaining(action);
+                this.current = null;
+            }
+
+            while (this.index < this.fence) {
+                this.lists.get(this.index++).forEach(action);
+            }
+        }
+
+        /**
+         * Splits off the prefix of the remaining entries. A partly traversed list is split off on its own, a range of lists is split in halves and the last list is split by its own spliterator.
+         *
+         * @return Spliterator over the prefix or null if the remaining entries cannot be split.
+         */
+        @Override
+        public Spliterator<TYPE> trySplit() {
+
+            if (this.current == null && this.fence - this.index == 1) {
+                this.current = this.lists.get(this.index++).spliterator();
+            }
+
+            if (this.current != null) {
+                if (this.index < this.fence) {
+                    final Spliterator<TYPE> res = this.current;
+                    this.current = null;
+                    return res;
+                }
+
+                return this.current.trySplit();
+            }
+
+            if (this.fence - this.index < 2) {
+                return null;
+            }
+
+            final int middle = (this.index + this.fence) >>> 1;
+            final Spliterator<TYPE> res = new ViewSpliterator<>(this.lists, this.index, middle);
+            this.index = middle;
+
+            return res;
+        }
+
+        @Override
+        public long estimateSize() {
+
+            long res = this.current == null ? 0L : this.current.estimateSize();
+
+            for (int position = this.index; position < this.fence; ++position) {
+                res += this.lists.get(position).size();
+            }
+
+            return res;
+        }
+
+        @Override
+        public int characteristics() {
+
+            final int res = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+
+            return this.current == null ? res : res & this.current.characteristics();
+        }
+    }
+}
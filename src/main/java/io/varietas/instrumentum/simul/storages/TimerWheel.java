@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.function.Consumer;
+
+/**
+ * <h2>TimerWheel</h2>
+ * <p>
+ * A hierarchical timer wheel of timers with nanosecond deadlines. Every level consists of 64 buckets, a bucket of the first level spans about one millisecond and every further level spans 64 times the time of the previous level. A timer is placed into the finest level whose range covers its deadline and moves down the levels while the time advances. Scheduling and cancelling a timer is O(1), advancing the time only visits the buckets of the elapsed ticks, so expiring timers is amortized O(1) per timer and never requires a sweep over all timers.
+ * <p>
+ * Timers fire in the tick after their deadline, users have to check the deadline themselves if they require exact expiry.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+final class TimerWheel {
+
+    private static final int BUCKETS = 64;
+    private static final int[] SHIFTS = {20, 26, 32, 38, 44};
+
+    private final Timer[][] wheel = new Timer[SHIFTS.length][BUCKETS];
+    private long time;
+
+    TimerWheel(final long time) {
+        this.time = time;
+
+        for (Timer[] level : this.wheel) {
+            for (int index = 0; index < BUCKETS; ++index) {
+                final Timer sentinel = new Timer(0L);
+                sentinel.previous = sentinel;
+                sentinel.next = sentinel;
+                level[index] = sentinel;
+            }
+        }
+    }
+
+    void schedule(final Timer timer) {
+
+        final Timer sentinel = this.bucket(timer.deadline);
+
+        timer.previous = sentinel.previous;
+        timer.next = sentinel;
+        sentinel.previous.next = timer;
+        sentinel.previous = timer;
+    }
+
+    void cancel(final Timer timer) {
+
+        if (timer.next != null) {
+            timer.previous.next = timer.next;
+            timer.next.previous = timer.previous;
+            timer.next = null;
+            timer.previous = null;
+        }
+    }
+
+    /**
+     * Advances the time of the wheel. Every timer with a deadline in an elapsed tick is removed and passed to the consumer, other timers of visited buckets are moved to a finer level.
+     *
+     * @param now     Current time in nanoseconds.
+     * @param expired Consumer of expired timers.
+     */
+    void advance(final long now, final Consumer<Timer> expired) {
+
+        final long previous = this.time;
+
+        if (now <= previous) {
+            return;
+        }
+
+        this.time = now;
+
+        for (int level = 0; level < SHIFTS.length; ++level) {
+            final long previousTicks = previous >>> SHIFTS[level];
+            final long currentTicks = now >>> SHIFTS[level];
+
+            if (currentTicks == previousTicks) {
+                break;
+            }
+
+            this.expire(level, previousTicks, currentTicks - previousTicks, now, expired);
+        }
+    }
+
+    private void expire(final int level, final long previousTicks, final long delta, final long now, final Consumer<Timer> expired) {
+
+        final Timer[] buckets = this.wheel[level];
+        final int start = (int) (previousTicks & (BUCKETS - 1));
+        final int steps = (int) Math.min(delta + 1, BUCKETS);
+
+        for (int step = 0; step < steps; ++step) {
+            final Timer sentinel = buckets[(start + step) & (BUCKETS - 1)];
+            Timer timer = sentinel.next;
+
+            sentinel.next = sentinel;
+            sentinel.previous = sentinel;
+
+            while (timer != sentinel) {
+                final Timer next = timer.next;
+
+                timer.next = null;
+                timer.previous = null;
+
+                if (timer.deadline <= now) {
+                    expired.accept(timer);
+                } else {
+                    this.schedule(timer);
+                }
+
+                timer = next;
+            }
+        }
+    }
+
+    private Timer bucket(final long deadline) {
+
+        final long duration = deadline - this.time;
+
+        for (int level = 0; level < SHIFTS.length - 1; ++level) {
+            if (duration < (1L << SHIFTS[level + 1])) {
+                return this.wheel[level][(int) ((deadline >>> SHIFTS[level]) & (BUCKETS - 1))];
+            }
+        }
+
+        final int last = SHIFTS.length - 1;
+
+        return this.wheel[last][(int) ((deadline >>> SHIFTS[last]) & (BUCKETS - 1))];
+    }
+
+    /**
+     * A timer of the wheel. Subclasses carry the payload that expires.
+     */
+    static class Timer {
+
+        private final long deadline;
+        private Timer previous;
+        private Timer next;
+
+        Timer(final long deadline) {
+            this.deadline = deadline;
+        }
+
+        final long getDeadline() {
+            return this.deadline;
+        }
+    }
+}
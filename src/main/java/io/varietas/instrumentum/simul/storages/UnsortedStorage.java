@@ -16,6 +16,7 @@
 package io.varietas.instrumentum.simul.storages;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -51,4 +52,13 @@ public interface UnsortedStorage<TYPE> extends Storage<TYPE> {
      * @return
      */
     public List<TYPE> getStorage();
+
+    /**
+     * Creates a read-only view of the stored entries. The default implementation wraps {@link #getStorage()}, which may copy the entries. Storages that keep their entries in a collection return a view of it without copying the entries, its spliterator is sized and splittable, so the entries can be processed by {@link Collection#parallelStream()}. A view that is not copied must not be read while the storage is modified.
+     *
+     * @return Read-only view of all stored entries.
+     */
+    public default Collection<TYPE> view() {
+        return Collections.unmodifiableList(this.getStorage());
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * <h2>Waiters</h2>
+ * <p>
+ * A condition of a lock together with the number of threads waiting for it. The number allows a producer to decide which group of waiting consumers has to be signalled, so that exactly one consumer is woken up per stored entry. All methods have to be called while the lock is held.
+ *
+ * @author agent
+ * @version 1.0.0.0, 10/18/2026
+ */
+final class Waiters {
+
+    private final Condition condition;
+    private int count;
+
+    Waiters(final Lock lock) {
+        this.condition = lock.newCondition();
+    }
+
+    void await() throws InterruptedException {
+        ++this.count;
+        try {
+            this.condition.await();
+        } finally {
+            --this.count;
+        }
+    }
+
+    long awaitNanos(final long nanos) throws InterruptedException {
+        ++this.count;
+        try {
+            return this.condition.awaitNanos(nanos);
+        } finally {
+            --this.count;
+        }
+    }
+
+    /**
+     * Wakes up a single waiting thread.
+     *
+     * @return True if a thread is waiting, otherwise false.
+     */
+    boolean signal() {
+
+        if (this.count == 0) {
+            return false;
+        }
+
+        this.condition.signal();
+        return true;
+    }
+
+    /**
+     * Wakes up all waiting threads.
+     */
+    void signalAll() {
+
+        if (this.count > 0) {
+            this.condition.signalAll();
+        }
+    }
+}
@@ -15,7 +15,12 @@
  */
 package io.varietas.instrumentum.simul.storages;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,7 +43,7 @@ public class BasicSortedStorageTest {
     @Test
     public void testFactoryMethodFails() {
 
-        Assertions.assertThatThrownBy(() -> SimpleSortedStorage.of(null))
+        Assertions.assertThatThrownBy(() -> SimpleSortedStorage.of((Integer[]) null))
                 .isInstanceOf(NullPointerException.class)
                 .hasMessage("Sorted storages requires codes for sorting entities.");
 
@@ -77,6 +82,73 @@ public class BasicSortedStorageTest {
         Assertions.assertThat(instance.next(2)).isNotPresent();
     }
 
+    /**
+     * Test of next method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testNext_FollowsCodeOrder() {
+
+        this.instance.store(5, 4);
+        this.instance.store(6, 2);
+        this.instance.store(7, 3);
+
+        Assertions.assertThat(instance.next()).isPresent().hasValue(6);
+        Assertions.assertThat(instance.next()).isPresent().hasValue(7);
+        Assertions.assertThat(instance.next()).isPresent().hasValue(5);
+        Assertions.assertThat(instance.next()).isNotPresent();
+        Assertions.assertThat(instance.isEmpty()).isTrue();
+    }
+
+    /**
+     * Test of next method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testNext_RemovesLastDuplicate() {
+
+        this.instance.store(1, 1);
+        this.instance.store(2, 1);
+        this.instance.store(1, 1);
+
+        Assertions.assertThat(instance.next(1)).isPresent().hasValue(1);
+        Assertions.assertThat(instance.next(1)).isPresent().hasValue(2);
+        Assertions.assertThat(instance.next()).isPresent().hasValue(1);
+        Assertions.assertThat(instance.next()).isNotPresent();
+    }
+
+    /**
+     * Test of drainTo method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testDrainTo() {
+
+        this.instance.storeAll(Arrays.asList(1, 2, 3), 2);
+        this.instance.storeAll(Arrays.asList(4, 5), 3);
+
+        final List<Integer> res = new ArrayList<>();
+
+        Assertions.assertThat(this.instance.drainTo(res, 4)).isEqualTo(4);
+        Assertions.assertThat(res).containsExactly(3, 2, 1, 5);
+        Assertions.assertThat(this.instance.drainTo(res, 4)).isEqualTo(1);
+        Assertions.assertThat(res).containsExactly(3, 2, 1, 5, 4);
+        Assertions.assertThat(this.instance.drainTo(res, 4)).isEqualTo(0);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+    }
+
+    /**
+     * Test of nextBatch method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testNextBatch() {
+
+        this.instance.storeAll(Arrays.asList(1, 2, 3), 2);
+
+        Assertions.assertThat(this.instance.nextBatch(2, 2)).containsExactly(3, 2);
+        Assertions.assertThat(this.instance.nextBatch(2, 2)).containsExactly(1);
+        Assertions.assertThat(this.instance.nextBatch(2, 2)).isEmpty();
+        Assertions.assertThat(this.instance.nextBatch(1, 0)).isEmpty();
+        Assertions.assertThat(this.instance.isEmpty(2)).isTrue();
+    }
+
     /**
      * Test of store method, of class SimpleSortedStorage.
      */
@@ -178,6 +250,406 @@ public class BasicSortedStorageTest {
         Assertions.assertThat(this.instance.store(4, 1)).isEqualTo(2);
     }
 
+    /**
+     * Test of storeAll method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testStoreAll_AllOrNothing() {
+
+        this.instance.addExclusion(entry -> entry == 3);
+
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(1, 2, 3, 4), 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(1, 2, 4), 1)).isEqualTo(3);
+        Assertions.assertThat(this.instance.getStorage().get(1)).containsExactly(1, 2, 4);
+
+        final SortedStorage<Integer, Integer> bounded = SimpleSortedStorage.of(StorageCapacity.of(3, 10, OverflowPolicy.REJECT), CODES);
+
+        bounded.store(1, 1);
+        Assertions.assertThat(bounded.storeAll(Arrays.asList(2, 3, 4), 1)).isEqualTo(-1);
+        Assertions.assertThat(bounded.getStorage().get(1)).containsExactly(1);
+        Assertions.assertThat(bounded.storeAll(Arrays.asList(2, 3), 1)).isEqualTo(3);
+    }
+
+    /**
+     * Test of storeAll method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testStoreAll_Parallel() {
+
+        final List<Integer> entries = new ArrayList<>();
+
+        for (int entry = 0; entry < ExclusionChain.PARALLEL_THRESHOLD * 2; ++entry) {
+            entries.add(entry);
+        }
+
+        final SimpleSortedStorage<Integer, Integer> indexed = SimpleSortedStorage.of(CODES);
+
+        indexed.addExclusionSet(List.of(-1));
+        indexed.addIndex("parity", entry -> entry % 2);
+
+        Assertions.assertThat(indexed.storeAll(entries, 2)).isEqualTo(entries.size());
+        Assertions.assertThat(indexed.findBy("parity", 0)).hasSize(ExclusionChain.PARALLEL_THRESHOLD);
+
+        entries.add(-1);
+
+        Assertions.assertThat(indexed.storeAll(entries, 3)).isEqualTo(-1);
+        Assertions.assertThat(indexed.isEmpty(3)).isTrue();
+    }
+
+    /**
+     * Test of next method with selection policies, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testNext_SelectionPolicies() {
+
+        final SortedStorage<Integer, Integer> priority = SimpleSortedStorage.of(StorageCapacity.unbounded(), SelectionPolicy.priority(), 3, 1, 2);
+        priority.store(30, 3);
+        priority.store(20, 2);
+        priority.store(10, 1);
+
+        final List<Integer> drained = new ArrayList<>();
+        Assertions.assertThat(priority.drainTo(drained, 3)).isEqualTo(3);
+        Assertions.assertThat(drained).containsExactly(10, 20, 30);
+        priority.store(30, 3);
+        priority.store(20, 2);
+        Assertions.assertThat(priority.next()).isPresent().hasValue(20);
+
+        final SortedStorage<Integer, Integer> roundRobin = SimpleSortedStorage.of(StorageCapacity.unbounded(), SelectionPolicy.roundRobin(), CODES);
+        roundRobin.storeAll(Arrays.asList(11, 12, 13), 1);
+        roundRobin.storeAll(Arrays.asList(21), 2);
+        roundRobin.storeAll(Arrays.asList(31, 32), 3);
+
+        final List<Integer> res = new ArrayList<>();
+        roundRobin.drainTo(res, Integer.MAX_VALUE);
+        Assertions.assertThat(res).containsExactly(13, 21, 32, 12, 31, 11);
+
+        final SortedStorage<Integer, Integer> weighted = SimpleSortedStorage.of(StorageCapacity.unbounded(), SelectionPolicy.weighted(Map.of(1, 3)), 1, 2);
+        for (int index = 0; index < 100; ++index) {
+            weighted.store(1, 1);
+            weighted.store(2, 2);
+        }
+
+        final List<Integer> loaded = new ArrayList<>();
+        for (int index = 0; index < 80; ++index) {
+            loaded.add(weighted.next().get());
+        }
+        Assertions.assertThat(loaded.stream().filter(code -> code == 1).count()).isEqualTo(60L);
+
+        Assertions.assertThatThrownBy(() -> SelectionPolicy.weighted(Map.of(1, 0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Weight of code 1 has to be at least 1.");
+    }
+
+    /**
+     * Test of next method with entry orders, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testNext_EntryOrders() {
+
+        final SortedStorage<Integer, Integer> fifo = SimpleSortedStorage.of(EntryOrder.fifo(), CODES);
+        for (int index = 0; index < 40; ++index) {
+            fifo.store(index, 1);
+        }
+        for (int index = 0; index < 20; ++index) {
+            Assertions.assertThat(fifo.next()).isPresent().hasValue(index);
+            fifo.store(index + 40, 1);
+        }
+        fifo.store(100, 2);
+
+        final List<Integer> drained = new ArrayList<>();
+        Assertions.assertThat(fifo.drainTo(drained, 41)).isEqualTo(41);
+        for (int index = 0; index < 40; ++index) {
+            Assertions.assertThat(drained.get(index)).isEqualTo(index + 20);
+        }
+        Assertions.assertThat(drained.get(40)).isEqualTo(100);
+        Assertions.assertThat(fifo.isEmpty()).isTrue();
+
+        final SortedStorage<Integer, Integer> heap = SimpleSortedStorage.of(EntryOrder.priority(Integer::compare), CODES);
+        final List<Integer> deadlines = new ArrayList<>();
+        for (int index = 0; index < 100; ++index) {
+            deadlines.add((index * 37) % 100);
+        }
+        heap.storeAll(deadlines.subList(0, 50), 1);
+        deadlines.subList(50, 100).forEach(deadline -> heap.store(deadline, 1));
+        Assertions.assertThat(heap.getStorage().get(1).get(0)).isEqualTo(0);
+
+        final List<Integer> sorted = new ArrayList<>();
+        Assertions.assertThat(heap.next(1)).isPresent().hasValue(0);
+        Assertions.assertThat(heap.nextBatch(1, 10)).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        heap.drainTo(sorted, Integer.MAX_VALUE);
+        Assertions.assertThat(sorted).hasSize(89);
+        for (int index = 0; index < sorted.size(); ++index) {
+            Assertions.assertThat(sorted.get(index)).isEqualTo(index + 11);
+        }
+
+        heap.store(1, 1);
+        Assertions.assertThatThrownBy(() -> heap.getStorage().get(1).add(0, 2))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        Assertions.assertThatThrownBy(() -> EntryOrder.priority(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Priority order requires a comparator.");
+
+        Assertions.assertThatThrownBy(() -> SimpleSortedStorage.of(StorageCapacity.unbounded(), SelectionPolicy.insertionOrder(), null, CODES))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires an entry order.");
+    }
+
+    /**
+     * Test of removeIf method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testRemoveIf() {
+
+        final SimpleSortedStorage<Integer, Integer> bounded = SimpleSortedStorage.of(StorageCapacity.of(4, OverflowPolicy.REJECT), SelectionPolicy.insertionOrder(), EntryOrder.priority(Integer::compare), CODES);
+
+        bounded.addIndex("parity", entry -> entry % 2);
+        bounded.storeAll(Arrays.asList(4, 2, 3), 1);
+        bounded.store(6, 2);
+
+        Assertions.assertThat(bounded.store(8, 2)).isEqualTo(-1);
+        Assertions.assertThat(bounded.removeIf(entry -> entry % 2 == 0)).isEqualTo(3);
+        Assertions.assertThat(bounded.findBy("parity", 0)).isEmpty();
+        Assertions.assertThat(bounded.isEmpty(2)).isTrue();
+        Assertions.assertThat(bounded.store(8, 2)).isEqualTo(1);
+        Assertions.assertThat(bounded.next()).isPresent().hasValue(3);
+        Assertions.assertThat(bounded.next()).isPresent().hasValue(8);
+        Assertions.assertThat(bounded.isEmpty()).isTrue();
+
+        Assertions.assertThatThrownBy(() -> bounded.getStorage().get(1).add(1))
+                .isInstanceOf(UnsupportedOperationException.class);        Assertions.assertThatThrownBy(() -> bounded.getStorage().remove(1))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    /**
+     * Test of removeIf method on the entries of a priority order, of class EntryOrder.
+     */
+    @Test
+    public void testPriority_RemoveIf() {
+
+        final EntryOrder.Entries<Integer> heap = EntryOrder.<Integer>priority(Integer::compare).entries();
+
+        for (int index = 0; index < 1_000; ++index) {
+            heap.add((index * 7_919) % 1_000);
+        }
+
+        Assertions.assertThat(heap.removeIf(entry -> entry % 3 != 0)).isTrue();
+        Assertions.assertThat(heap).hasSize(334);
+
+        heap.removeAll(List.of(0, 999));
+
+        final List<Integer> polled = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            polled.add(heap.poll());
+        }
+
+        Assertions.assertThat(polled).hasSize(332);
+        for (int index = 0; index < polled.size(); ++index) {
+            Assertions.assertThat(polled.get(index)).isEqualTo((index + 1) * 3);
+        }
+    }
+
+    /**
+     * Test of store method with entry orders and the drop oldest policy, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testStore_DropOldestEntryOrders() {
+
+        final StorageCapacity capacity = StorageCapacity.of(3, 10, OverflowPolicy.DROP_OLDEST);
+
+        final SortedStorage<Integer, Integer> fifo = SimpleSortedStorage.of(capacity, SelectionPolicy.insertionOrder(), EntryOrder.fifo(), CODES);
+        fifo.storeAll(Arrays.asList(1, 2, 3, 4), 1);
+        Assertions.assertThat(fifo.getStorage().get(1)).containsExactly(2, 3, 4);
+        Assertions.assertThat(fifo.next()).isPresent().hasValue(2);
+
+        final SortedStorage<Integer, Integer> heap = SimpleSortedStorage.of(capacity, SelectionPolicy.insertionOrder(), EntryOrder.priority(Integer::compare), CODES);
+        heap.storeAll(Arrays.asList(5, 1, 9, 3), 1);
+        heap.store(7, 1);
+        Assertions.assertThat(heap.nextBatch(1, 3)).containsExactly(1, 3, 7);
+    }
+
+    /**
+     * Test of view methods, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testView() {
+
+        for (int index = 0; index < 1000; ++index) {
+            this.instance.store(index, CODES[index % CODES.length]);
+        }
+
+        final Collection<Integer> view = this.instance.view();
+        Assertions.assertThat(view).hasSize(1000);
+        Assertions.assertThat(view.stream().mapToLong(Integer::longValue).sum()).isEqualTo(499500L);
+        Assertions.assertThat(view.parallelStream().mapToLong(Integer::longValue).sum()).isEqualTo(499500L);
+        Assertions.assertThat(this.instance.view(2).subList(0, 3)).containsExactly(1, 5, 9);
+
+        final Spliterator<Integer> rest = view.spliterator();
+        Assertions.assertThat(rest.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+        final Spliterator<Integer> prefix = rest.trySplit();
+        Assertions.assertThat(prefix.estimateSize()).isEqualTo(500L);
+        Assertions.assertThat(rest.estimateSize()).isEqualTo(500L);
+        Assertions.assertThat(prefix.trySplit().estimateSize()).isEqualTo(250L);
+        Assertions.assertThat(prefix.trySplit().estimateSize()).isEqualTo(125L);
+
+        this.instance.next(1);
+        this.instance.store(1000, 4);
+        Assertions.assertThat(view).hasSize(1000);
+        Assertions.assertThat(this.instance.view(1)).hasSize(249);
+        Assertions.assertThat(this.instance.view(4)).hasSize(251);
+
+        Assertions.assertThatThrownBy(() -> view.add(1))
+                .isInstanceOf(UnsupportedOperationException.class);
+        Assertions.assertThatThrownBy(() -> this.instance.view(1).remove(0))
+                .isInstanceOf(UnsupportedOperationException.class);
+        Assertions.assertThatThrownBy(() -> this.instance.view(5))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be loaded for key 5.");
+    }
+
+    /**
+     * Test of addIndex and findBy methods, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testAddIndexAndFindBy() {
+
+        final SimpleSortedStorage<Integer, Integer> indexed = SimpleSortedStorage.of(CODES);
+
+        indexed.storeAll(Arrays.asList(1, 2, 3), 1);
+        indexed.addIndex("parity", entry -> entry % 2);
+        indexed.storeAll(Arrays.asList(4, 5), 2);
+
+        Assertions.assertThat(indexed.findBy("parity", 1)).containsExactlyInAnyOrder(1, 3, 5);
+        Assertions.assertThat(indexed.findBy("parity", 0)).containsExactlyInAnyOrder(2, 4);
+
+        Assertions.assertThat(indexed.next()).isPresent().hasValue(3);
+        Assertions.assertThat(indexed.nextBatch(2, 1)).containsExactly(5);
+        Assertions.assertThat(indexed.findBy("parity", 1)).containsExactly(1);
+
+        indexed.drainTo(new ArrayList<>(), Integer.MAX_VALUE);
+
+        Assertions.assertThat(indexed.findBy("parity", 0)).isEmpty();
+        Assertions.assertThat(indexed.findBy("parity", 1)).isEmpty();
+        Assertions.assertThatThrownBy(() -> PublishingSortedStorage.of(ConcurrentSortedStorage.<Integer, Integer>of(1)).addIndex("parity", entry -> entry))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessage("Storage does not support indexes.");
+    }
+
+    /**
+     * Test of findBy method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testFindBy_FirstInFirstOut() {
+
+        final SimpleSortedStorage<Integer, String> storage = SimpleSortedStorage.of(EntryOrder.fifo(), 1);
+        final String shared = new String("entry");
+        final String other = new String("entry");
+
+        storage.addIndex("length", String::length);
+        storage.storeAll(Arrays.asList(shared, other, shared), 1);
+
+        Assertions.assertThat(storage.findBy("length", 5)).hasSize(3);
+        Assertions.assertThat(storage.next().get()).isSameAs(shared);
+
+        final List<String> found = storage.findBy("length", 5);
+
+        Assertions.assertThat(found).hasSize(2);
+        Assertions.assertThat(found.stream().filter(entry -> entry == shared).count()).isEqualTo(1L);
+        Assertions.assertThat(found.stream().filter(entry -> entry == other).count()).isEqualTo(1L);
+
+        storage.drainTo(new ArrayList<>(), Integer.MAX_VALUE);
+
+        Assertions.assertThat(storage.findBy("length", 5)).isEmpty();
+    }
+
+    /**
+     * Test of addExclusionSet method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testAddExclusionSet() {
+
+        final List<Integer> blacklist = new ArrayList<>();
+        for (int index = 0; index < 10_000; index += 2) {
+            blacklist.add(index);
+        }
+
+        this.instance.addExclusionSet(blacklist);
+        this.instance.addExclusionSet(entry -> entry / 10_000, List.of(2));
+        blacklist.add(1);
+
+        Assertions.assertThat(this.instance.store(4, 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(20_001, 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(1, 1)).isEqualTo(1);
+
+        for (int index = 1; index < 10_000; index += 2) {
+            Assertions.assertThat(this.instance.store(index, 2)).isNotEqualTo(-1);
+        }
+    }
+
+    /**
+     * Test of store method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testStore_PerCodeCapacity() {
+
+        final SortedStorage<Integer, Integer> bounded = SimpleSortedStorage.of(StorageCapacity.of(2, 10, OverflowPolicy.REJECT), CODES);
+
+        Assertions.assertThat(bounded.store(1, 1)).isEqualTo(1);
+        Assertions.assertThat(bounded.store(2, 1)).isEqualTo(2);
+        Assertions.assertThat(bounded.store(3, 1)).isEqualTo(-1);
+        Assertions.assertThat(bounded.store(3, 2)).isEqualTo(1);
+        Assertions.assertThat(bounded.getStorage().get(1)).containsExactly(1, 2);
+    }
+
+    /**
+     * Test of store method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testStore_GlobalCapacity() {
+
+        final SortedStorage<Integer, Integer> blocking = SimpleSortedStorage.of(StorageCapacity.of(2, OverflowPolicy.BLOCK), CODES);
+
+        Assertions.assertThat(blocking.store(1, 1)).isEqualTo(1);
+        Assertions.assertThat(blocking.store(2, 2)).isEqualTo(1);
+        Assertions.assertThat(blocking.store(3, 3)).isEqualTo(-1);
+        Assertions.assertThat(blocking.storeAll(Arrays.asList(3, 4), 3)).isEqualTo(-1);
+
+        blocking.next(1);
+        Assertions.assertThat(blocking.store(3, 3)).isEqualTo(1);
+    }
+
+    /**
+     * Test of store method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testStore_DropOldest() {
+
+        final SortedStorage<Integer, Integer> bounded = SimpleSortedStorage.of(StorageCapacity.of(2, 3, OverflowPolicy.DROP_OLDEST), CODES);
+
+        bounded.storeAll(Arrays.asList(1, 2, 3), 1);
+        Assertions.assertThat(bounded.getStorage().get(1)).containsExactly(2, 3);
+
+        bounded.store(4, 2);
+        Assertions.assertThat(bounded.store(5, 3)).isEqualTo(1);
+        Assertions.assertThat(bounded.getStorage().get(1)).containsExactly(3);
+        Assertions.assertThat(bounded.getStorage().get(2)).containsExactly(4);
+        Assertions.assertThat(bounded.getStorage().get(3)).containsExactly(5);
+    }
+
+    /**
+     * Test of store method, of class SimpleSortedStorage.
+     */
+    @Test
+    public void testStore_DropNewest() {
+
+        final SortedStorage<Integer, Integer> bounded = SimpleSortedStorage.of(StorageCapacity.of(2, 10, OverflowPolicy.DROP_NEWEST), CODES);
+
+        Assertions.assertThat(bounded.storeAll(Arrays.asList(1, 2, 3), 1)).isEqualTo(2);
+        Assertions.assertThat(bounded.getStorage().get(1)).containsExactly(1, 2);
+        Assertions.assertThat(bounded.next()).isPresent().hasValue(2);
+    }
+
     @Test
     public void testStoreNullEntryFails() {
 
@@ -16,8 +16,10 @@
 package io.varietas.instrumentum.simul.storages;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Spliterator;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -65,9 +67,56 @@ public class BasicUnsortedStorageTest {
         Assertions.assertThat(result.next().isPresent()).isFalse();
     }
 
+    /**
+     * Test of drainTo method, of class SimpleUnsortedStorage.
+     */
+    @Test
+    public void testDrainTo() {
+        final UnsortedStorage<Integer> result = SimpleUnsortedStorage.of();
+        final List<Integer> drained = new ArrayList<>();
+
+        result.storeAll(List.of(1, 2, 3));
+
+        Assertions.assertThat(result.drainTo(drained, 2)).isEqualTo(2);
+        Assertions.assertThat(result.drainTo(drained, 2)).isEqualTo(1);
+        Assertions.assertThat(result.drainTo(drained, 2)).isEqualTo(0);
+        Assertions.assertThat(drained).containsExactlyInAnyOrder(1, 2, 3);
+        Assertions.assertThat(result.isEmpty()).isTrue();
+    }
+
     /**
      * Test of store method, of class SimpleUnsortedStorage.
      */
+    @Test
+    public void testAddIndexAndFindBy() {
+        final SimpleUnsortedStorage<String> result = SimpleUnsortedStorage.of();
+
+        result.storeAll(List.of("apple", "avocado"));
+        result.addIndex("initial", entry -> entry.charAt(0));
+        result.storeAll(List.of("banana", "blueberry", "apple"));
+
+        Assertions.assertThat(result.findBy("initial", 'a')).containsExactlyInAnyOrder("apple", "avocado");
+        Assertions.assertThat(result.findBy("initial", 'b')).containsExactlyInAnyOrder("banana", "blueberry");
+        Assertions.assertThat(result.findBy("initial", 'c')).isEmpty();
+
+        final String next = result.next().get();
+
+        Assertions.assertThat(result.findBy("initial", next.charAt(0))).doesNotContain(next);
+
+        result.drainTo(new ArrayList<>(), Integer.MAX_VALUE);
+
+        Assertions.assertThat(result.findBy("initial", 'a')).isEmpty();
+        Assertions.assertThat(result.findBy("initial", 'b')).isEmpty();
+
+        Assertions.assertThatThrownBy(() -> result.addIndex("initial", String::length))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Index initial already exists.");
+
+        Assertions.assertThatThrownBy(() -> result.findBy("length", 5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Index length does not exist.");
+    }
+
     @Test
     public void testStore() {
         final UnsortedStorage result = SimpleUnsortedStorage.of(1);
@@ -140,4 +189,80 @@ public class BasicUnsortedStorageTest {
         final UnsortedStorage result = SimpleUnsortedStorage.of(1);
         Assertions.assertThat(result.storeAll(Collections.EMPTY_LIST)).isEqualTo(-1);
     }
+
+    /**
+     * Test of store method, of class SimpleUnsortedStorage.
+     */
+    @Test
+    public void testStore_Capacity() {
+        final UnsortedStorage<Integer> result = SimpleUnsortedStorage.of(2, StorageCapacity.of(2, OverflowPolicy.REJECT));
+
+        Assertions.assertThat(result.store(1)).isEqualTo(1);
+        Assertions.assertThat(result.store(2)).isEqualTo(2);
+        Assertions.assertThat(result.store(2)).isEqualTo(2);
+        Assertions.assertThat(result.store(3)).isEqualTo(-1);
+        Assertions.assertThat(result.storeAll(List.of(3, 4))).isEqualTo(-1);
+        Assertions.assertThat(result.getStorage()).containsExactlyInAnyOrder(1, 2);
+    }
+
+    /**
+     * Test of store method, of class SimpleUnsortedStorage.
+     */
+    @Test
+    public void testStore_DropOldest() {
+        final UnsortedStorage<Integer> result = SimpleUnsortedStorage.of(2, StorageCapacity.of(2, OverflowPolicy.DROP_OLDEST));
+
+        Assertions.assertThat(result.storeAll(List.of(1, 2, 3))).isEqualTo(2);
+        Assertions.assertThat(result.next()).isPresent().hasValue(2);
+        Assertions.assertThat(result.next()).isPresent().hasValue(3);
+    }
+
+    /**
+     * Test of store method, of class SimpleUnsortedStorage.
+     */
+    @Test
+    public void testStore_DropNewest() {
+        final UnsortedStorage<Integer> result = SimpleUnsortedStorage.of(2, StorageCapacity.of(2, OverflowPolicy.DROP_NEWEST));
+
+        Assertions.assertThat(result.storeAll(List.of(1, 2, 3))).isEqualTo(2);
+        Assertions.assertThat(result.getStorage()).containsExactly(1, 2);
+    }
+
+    /**
+     * Test of view method, of class SimpleUnsortedStorage.
+     */
+    @Test
+    public void testView() {
+
+        final UnsortedStorage<Integer> instance = SimpleUnsortedStorage.of();
+
+        for (int index = 0; index < 1000; ++index) {
+            instance.store(index);
+        }
+
+        final Collection<Integer> view = instance.view();
+        Assertions.assertThat(view).hasSize(1000);
+        Assertions.assertThat(view.parallelStream().mapToLong(Integer::longValue).sum()).isEqualTo(499500L);
+        Assertions.assertThat(view.spliterator().hasCharacteristics(Spliterator.SIZED)).isTrue();
+        Assertions.assertThat(view.spliterator().trySplit()).isNotNull();
+
+        instance.next();
+        Assertions.assertThat(view).hasSize(999);
+
+        Assertions.assertThatThrownBy(() -> view.add(1))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    /**
+     * Test of of method, of class StorageCapacity.
+     */
+    @Test
+    public void testCapacityFails() {
+        Assertions.assertThatThrownBy(() -> StorageCapacity.of(0, OverflowPolicy.REJECT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Storage capacity has to be at least 1.");
+        Assertions.assertThatThrownBy(() -> StorageCapacity.of(1, null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Storage capacity requires an overflow policy.");
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class BloomFilterTest {
+
+    private static final int VALUES = 100_000;
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> BloomFilter.of(10, 0.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("False positive probability has to be between 0 and 1.");
+
+        Assertions.assertThatThrownBy(() -> BloomFilter.of(10, 1.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("False positive probability has to be between 0 and 1.");
+    }
+
+    /**
+     * Added values have to be found always, other values only with roughly the configured probability.
+     */
+    @Test
+    public void testMightContain() {
+
+        final BloomFilter filter = BloomFilter.of(VALUES, 0.01);
+
+        for (long index = 0; index < VALUES; ++index) {
+            filter.put(index);
+        }
+
+        int falsePositives = 0;
+
+        for (long index = 0; index < VALUES; ++index) {
+            Assertions.assertThat(filter.mightContain(index)).isTrue();
+
+            if (filter.mightContain(index + VALUES)) {
+                ++falsePositives;
+            }
+        }
+
+        Assertions.assertThat(falsePositives).isLessThan(VALUES / 50);
+    }
+}
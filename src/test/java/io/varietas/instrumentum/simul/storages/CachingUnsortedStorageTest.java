@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class CachingUnsortedStorageTest {
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> CachingUnsortedStorage.of(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cache capacity has to be at least 1.");
+
+        Assertions.assertThatThrownBy(() -> CachingUnsortedStorage.of(1, null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Caching storages requires a weigher.");
+    }
+
+    @Test
+    public void testStoreAndNext() {
+        final CachingUnsortedStorage<Integer> result = CachingUnsortedStorage.of(10);
+
+        Assertions.assertThat(result.isEmpty()).isTrue();
+        Assertions.assertThat(result.store(1)).isEqualTo(1);
+        Assertions.assertThat(result.store(2)).isEqualTo(2);
+        Assertions.assertThat(result.store(1)).isEqualTo(2);
+        Assertions.assertThat(result.storeAll(Collections.emptyList())).isEqualTo(-1);
+        Assertions.assertThat(result.storeAll(List.of(3, 4))).isEqualTo(4);
+        Assertions.assertThat(result.getStorage()).containsExactlyInAnyOrder(1, 2, 3, 4);
+        Assertions.assertThat(result.getHitCount()).isEqualTo(1L);
+        Assertions.assertThat(result.getMissCount()).isEqualTo(4L);
+
+        Assertions.assertThat(result.drainTo(new ArrayList<>(), 10)).isEqualTo(4);
+        Assertions.assertThat(result.next()).isNotPresent();
+        Assertions.assertThat(result.getWeightedSize()).isEqualTo(0L);
+
+        Assertions.assertThatThrownBy(() -> result.store(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Storage cannot handle null objetcs.");
+    }
+
+    @Test
+    public void testMaximumSize() {
+        final CachingUnsortedStorage<Integer> result = CachingUnsortedStorage.of(100);
+
+        IntStream.range(0, 1_000).forEach(result::store);
+
+        Assertions.assertThat(result.size()).isLessThanOrEqualTo(100);
+        Assertions.assertThat(result.getEvictionCount()).isEqualTo(1_000L - result.size());
+    }
+
+    @Test
+    public void testMaximumWeight() {
+        final CachingUnsortedStorage<String> result = CachingUnsortedStorage.of(20, String::length);
+
+        Assertions.assertThat(result.store("a very long entry exceeding the limit")).isEqualTo(-1);
+
+        IntStream.range(0, 100).forEach(index -> result.store("entry" + index));
+
+        Assertions.assertThat(result.getWeightedSize()).isLessThanOrEqualTo(20L);
+        Assertions.assertThat(result.getStorage().stream().mapToInt(String::length).sum()).isEqualTo((int) result.getWeightedSize());
+    }
+
+    /**
+     * An entry that fits the maximum weight but not the main space is rejected without evicting other entries.
+     */
+    @Test
+    public void testMaximumWeight_HeavierThanMainSpace() {
+        final CachingUnsortedStorage<Integer> result = CachingUnsortedStorage.of(100, entry -> entry / 100);
+
+        IntStream.range(1_000, 1_009).forEach(result::store);
+
+        Assertions.assertThat(result.store(10_000)).isEqualTo(-1);
+        Assertions.assertThat(result.size()).isEqualTo(9);
+        Assertions.assertThat(result.getWeightedSize()).isEqualTo(90L);
+        Assertions.assertThat(result.getEvictionCount()).isEqualTo(0L);
+    }
+
+    /**
+     * A candidate is compared with all entries it would replace before any of them is evicted.
+     */
+    @Test
+    public void testAdmissionRejectsBeforeEvicting() {
+        final CachingUnsortedStorage<Integer> result = CachingUnsortedStorage.of(100, entry -> entry / 100);
+
+        result.store(3_000);
+        result.store(1_000);
+        IntStream.range(0, 6).forEach(round -> result.store(3_001));
+
+        Assertions.assertThat(result.store(8_000)).isEqualTo(-1);
+        Assertions.assertThat(result.contains(3_000)).isTrue();
+        Assertions.assertThat(result.contains(1_000)).isTrue();
+        Assertions.assertThat(result.contains(3_001)).isTrue();
+        Assertions.assertThat(result.getWeightedSize()).isEqualTo(70L);
+        Assertions.assertThat(result.getEvictionCount()).isEqualTo(1L);
+    }
+
+    /**
+     * Frequently used entries have to survive a scan over many entries that are used once, which flushes a plain LRU cache.
+     */
+    @Test
+    public void testFrequentEntriesSurviveScan() {
+        final CachingUnsortedStorage<Integer> result = CachingUnsortedStorage.of(100);
+
+        for (int round = 0; round < 10; ++round) {
+            IntStream.range(0, 50).forEach(result::store);
+        }
+
+        IntStream.range(1_000, 11_000).forEach(result::store);
+
+        final long hot = IntStream.range(0, 50).filter(result::contains).count();
+
+        Assertions.assertThat(hot).isGreaterThanOrEqualTo(45L);
+        Assertions.assertThat(result.getHitRate()).isBetween(0.0, 1.0);
+    }
+
+    /**
+     * The frequency sketch is sized by the number of stored entries, a large byte budget must not allocate a sketch of the budget's size.
+     */
+    @Test
+    public void testMaximumWeight_LargeBudget() {
+        final List<CachingUnsortedStorage<String>> results = new ArrayList<>();
+
+        for (int instance = 0; instance < 64; ++instance) {
+            final CachingUnsortedStorage<String> result = CachingUnsortedStorage.of(1L << 40, String::length);
+
+            IntStream.range(0, 1_000).forEach(index -> result.store("entry" + index));
+            results.add(result);
+        }
+
+        Assertions.assertThat(results).hasSize(64);
+        Assertions.assertThat(results.get(0).size()).isEqualTo(1_000);
+        Assertions.assertThat(results.get(0).getWeightedSize()).isEqualTo((long) results.get(0).getStorage().stream().mapToInt(String::length).sum());
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ *
+ * @author agent
+ */
+public class ConcurrentSortedStorageTest {
+
+    private static final Integer[] CODES = {1, 2, 3, 4};
+    private static final int ENTRIES_PER_PRODUCER = 20_000;
+
+    private SortedStorage<Integer, Integer> instance;
+
+    @BeforeEach
+    public void setUp() {
+        this.instance = ConcurrentSortedStorage.of(CODES);
+    }
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> ConcurrentSortedStorage.of((Integer[]) null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+
+        Assertions.assertThatThrownBy(() -> ConcurrentSortedStorage.of(new Integer[0]))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+    }
+
+    @Test
+    public void testNext() {
+
+        this.instance.store(1, 2);
+        this.instance.store(2, 2);
+
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(2);
+        Assertions.assertThat(this.instance.next(2)).isPresent().hasValue(1);
+        Assertions.assertThat(this.instance.next()).isNotPresent();
+        Assertions.assertThat(this.instance.next(2)).isNotPresent();
+    }
+
+    @Test
+    public void testDrainToAndNextBatch() {
+
+        this.instance.storeAll(Arrays.asList(1, 2, 3), 1);
+        this.instance.storeAll(Arrays.asList(4, 5), 2);
+
+        final List<Integer> res = new ArrayList<>();
+
+        Assertions.assertThat(this.instance.nextBatch(2, 1)).containsExactly(5);
+        Assertions.assertThat(this.instance.drainTo(res, 3)).isEqualTo(3);
+        Assertions.assertThat(res).containsExactly(3, 2, 1);
+        Assertions.assertThat(this.instance.drainTo(res, 3)).isEqualTo(1);
+        Assertions.assertThat(res).containsExactly(3, 2, 1, 4);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testStore() {
+
+        Assertions.assertThat(this.instance.store(1, 1)).isEqualTo(1);
+        Assertions.assertThat(this.instance.store(2, 1)).isEqualTo(2);
+        Assertions.assertThat(this.instance.store(1, 2)).isEqualTo(1);
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(CODES), 3)).isEqualTo(CODES.length);
+    }
+
+    @Test
+    public void testStore_Fails() {
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(1, 5))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be stored for key 5.");
+    }
+
+    @Test
+    public void testIsEmpty() {
+
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+        this.instance.store(2, 1);
+        Assertions.assertThat(this.instance.isEmpty()).isFalse();
+        Assertions.assertThat(this.instance.isEmpty(1)).isFalse();
+        Assertions.assertThat(this.instance.isEmpty(2)).isTrue();
+    }
+
+    @Test
+    public void testGetStorage() {
+
+        this.instance.store(7, 4);
+
+        Assertions.assertThat(this.instance.getStorage())
+                .hasSize(4)
+                .containsKeys(CODES)
+                .containsEntry(4, List.of(7));
+    }
+
+    @Test
+    public void testAddExclusion() {
+
+        this.instance.addExclusion(entry -> entry == 0);
+        Assertions.assertThat(this.instance.store(0, 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(1, 1)).isEqualTo(1);
+    }
+
+    @Test
+    public void testAddExclusionSet() {
+
+        this.instance.addExclusionSet(List.of(0, 2));
+        this.instance.addExclusion(entry -> entry > 10);
+        Assertions.assertThat(this.instance.store(2, 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(11, 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(1, 1)).isEqualTo(1);
+    }
+
+    /**
+     * Stores entries from a number of producers while the same number of consumers is loading them. Every entry has to be loaded exactly once.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8, 16, 32})
+    public void testConcurrentStoreAndNext(final int threads) throws InterruptedException {
+
+        final int total = threads * ENTRIES_PER_PRODUCER;
+        final AtomicIntegerArray loaded = new AtomicIntegerArray(total);
+        final AtomicInteger loadedCount = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+        final List<Runnable> tasks = new ArrayList<>();
+
+        for (int thread = 0; thread < threads; ++thread) {
+            final int offset = thread * ENTRIES_PER_PRODUCER;
+
+            tasks.add(() -> {
+                for (int index = 0; index < ENTRIES_PER_PRODUCER; ++index) {
+                    this.instance.store(offset + index, CODES[index % CODES.length]);
+                }
+            });
+            tasks.add(() -> {
+                while (loadedCount.get() < total) {
+                    final Optional<Integer> next = this.instance.next();
+                    if (next.isPresent()) {
+                        loaded.incrementAndGet(next.get());
+                        loadedCount.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        tasks.forEach(task -> executor.execute(() -> {
+            try {
+                start.await();
+                task.run();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        start.countDown();
+        executor.shutdown();
+
+        Assertions.assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        Assertions.assertThat(loadedCount.get()).isEqualTo(total);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+
+        for (int index = 0; index < total; ++index) {
+            Assertions.assertThat(loaded.get(index)).isEqualTo(1);
+        }
+    }
+}
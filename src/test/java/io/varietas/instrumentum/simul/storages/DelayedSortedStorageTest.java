@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class DelayedSortedStorageTest {
+
+    private static final long WAITING_TIME = 100;
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.DAYS.toNanos(3));
+    private final Clock wallClock = Clock.fixed(Instant.EPOCH, ZoneOffset.UTC);
+
+    private DelayedSortedStorage<Integer, Integer> instance;
+
+    @BeforeEach
+    public void setUp() {
+        this.instance = DelayedSortedStorage.create(this.clock::get, this.wallClock, 1, 2);
+    }
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> DelayedSortedStorage.of((Integer[]) null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+    }
+
+    @Test
+    public void testNext_HidesEntriesUntilDue() {
+
+        Assertions.assertThat(this.instance.store(1, 1, Duration.ofSeconds(2))).isEqualTo(1);
+        Assertions.assertThat(this.instance.store(2, 1, Duration.ofSeconds(1))).isEqualTo(2);
+        Assertions.assertThat(this.instance.store(3, 2, Duration.ofMillis(1500))).isEqualTo(1);
+
+        Assertions.assertThat(this.instance.next()).isEmpty();
+        Assertions.assertThat(this.instance.next(1)).isEmpty();
+        Assertions.assertThat(this.instance.isEmpty()).isFalse();
+        Assertions.assertThat(this.instance.getDelay()).isPresent().hasValue(Duration.ofSeconds(1));
+        Assertions.assertThat(this.instance.getStorage()).containsEntry(1, List.of(2, 1));
+
+        this.advance(Duration.ofSeconds(1));
+        Assertions.assertThat(this.instance.next(2)).isEmpty();
+        Assertions.assertThat(this.instance.next(1)).isPresent().hasValue(2);
+        Assertions.assertThat(this.instance.next()).isEmpty();
+
+        this.advance(Duration.ofSeconds(5));
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(3);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(1);
+        Assertions.assertThat(this.instance.next()).isEmpty();
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+        Assertions.assertThat(this.instance.getDelay()).isEmpty();
+    }
+
+    @Test
+    public void testStore_VisibleImmediately() {
+
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(1, 2, 3), 1)).isEqualTo(3);
+        this.instance.store(4, 2, Duration.ofSeconds(-1));
+        this.instance.store(5, 2, Instant.EPOCH.minusSeconds(10));
+
+        Assertions.assertThat(this.instance.nextBatch(1, 5)).containsExactly(1, 2, 3);
+
+        final List<Integer> drained = new ArrayList<>();
+        Assertions.assertThat(this.instance.drainTo(drained, 5)).isEqualTo(2);
+        Assertions.assertThat(drained).containsExactly(4, 5);
+    }
+
+    @Test
+    public void testStore_PointInTime() {
+
+        this.instance.store(1, 1, Instant.EPOCH.plusSeconds(2));
+        this.instance.store(2, 1, Instant.EPOCH.plusSeconds(1));
+
+        Assertions.assertThat(this.instance.next()).isEmpty();
+        Assertions.assertThat(this.instance.getDelay()).isPresent().hasValue(Duration.ofSeconds(1));
+
+        this.advance(Duration.ofSeconds(1));
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(2);
+        Assertions.assertThat(this.instance.next()).isEmpty();
+
+        this.advance(Duration.ofSeconds(1));
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(1);
+    }
+
+    @Test
+    public void testStoreAll_Excluded() {
+
+        this.instance.addExclusion(entry -> entry == 3);
+
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(1, 2, 3), 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(1, 2), 1)).isEqualTo(2);
+    }
+
+    @Test
+    public void testStore_Fails() {
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(1, 3))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be stored for key 3.");
+
+        Assertions.assertThatThrownBy(() -> this.instance.next(3))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be loaded for key 3.");
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(1, 1, (Duration) null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Delayed storages requires a delay.");
+
+        this.instance.addExclusion(entry -> entry > 10);
+        Assertions.assertThat(this.instance.store(11, 1, Duration.ofSeconds(1))).isEqualTo(-1);
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(1, 11), 1)).isEqualTo(-1);
+    }
+
+    @Test
+    public void testTake_WakesAtDeadline() throws Exception {
+
+        final DelayedSortedStorage<Integer, Integer> storage = DelayedSortedStorage.of(1, 2);
+        final long start = System.nanoTime();
+
+        storage.store(1, 2, Duration.ofMillis(WAITING_TIME));
+        Assertions.assertThat(storage.take()).isEqualTo(1);
+        Assertions.assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(WAITING_TIME));
+
+        storage.store(2, 1, Duration.ofMillis(WAITING_TIME));
+        Assertions.assertThat(storage.take(1)).isEqualTo(2);
+    }
+
+    @Test
+    public void testTake_WakesForEarlierEntry() throws Exception {
+
+        final DelayedSortedStorage<Integer, Integer> storage = DelayedSortedStorage.of(1, 2);
+
+        storage.store(1, 1, Duration.ofHours(1));
+
+        final CompletableFuture<Integer> consumer = this.async(() -> storage.take());
+        final CompletableFuture<Integer> codeConsumer = this.async(() -> storage.take(2));
+
+        Thread.sleep(WAITING_TIME);
+        Assertions.assertThat(consumer.isDone()).isFalse();
+        Assertions.assertThat(codeConsumer.isDone()).isFalse();
+
+        storage.store(2, 1, Duration.ofMillis(WAITING_TIME));
+        Assertions.assertThat(consumer.get(1, TimeUnit.SECONDS)).isEqualTo(2);
+
+        storage.store(3, 2);
+        Assertions.assertThat(codeConsumer.get(1, TimeUnit.SECONDS)).isEqualTo(3);
+    }
+
+    @Test
+    public void testPoll() throws Exception {
+
+        final DelayedSortedStorage<Integer, Integer> storage = DelayedSortedStorage.of(1, 2);
+
+        storage.store(1, 1, Duration.ofHours(1));
+        Assertions.assertThat(storage.poll(WAITING_TIME, TimeUnit.MILLISECONDS)).isEmpty();
+        Assertions.assertThat(storage.poll(1, WAITING_TIME, TimeUnit.MILLISECONDS)).isEmpty();
+
+        storage.store(2, 2, Duration.ofMillis(WAITING_TIME));
+        Assertions.assertThat(storage.poll(2, 1, TimeUnit.SECONDS)).isPresent().hasValue(2);
+    }
+
+    @Test
+    public void testTake_MultipleConsumers() throws Exception {
+
+        final DelayedSortedStorage<Integer, Integer> storage = DelayedSortedStorage.of(1, 2);
+        final List<CompletableFuture<Integer>> consumers = new ArrayList<>();
+
+        for (int index = 0; index < 4; ++index) {
+            consumers.add(this.async(() -> storage.take()));
+        }
+
+        Thread.sleep(WAITING_TIME);
+
+        for (int index = 0; index < 4; ++index) {
+            storage.store(index, index % 2 + 1, Duration.ofMillis(WAITING_TIME - index * 20));
+        }
+
+        final List<Integer> res = new ArrayList<>();
+        for (CompletableFuture<Integer> consumer : consumers) {
+            res.add(consumer.get(1, TimeUnit.SECONDS));
+        }
+        Assertions.assertThat(res).containsExactlyInAnyOrder(0, 1, 2, 3);
+        Assertions.assertThat(storage.isEmpty()).isTrue();
+    }
+
+    private void advance(final Duration duration) {
+        this.clock.addAndGet(duration.toNanos());
+    }
+
+    private CompletableFuture<Integer> async(final Callable<Integer> consumer) {
+
+        final CompletableFuture<Integer> res = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                res.complete(consumer.call());
+            } catch (Exception ex) {
+                res.completeExceptionally(ex);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+
+        return res;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class EnumSortedStorageTest {
+
+    private enum Priority {
+        HIGH, MEDIUM, LOW, UNUSED
+    }
+
+    private EnumSortedStorage<Priority, Integer> instance;
+
+    @BeforeEach
+    public void setUp() {
+        this.instance = EnumSortedStorage.of(Priority.LOW, Priority.HIGH, Priority.MEDIUM);
+    }
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> EnumSortedStorage.of((Priority[]) null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+
+        Assertions.assertThatThrownBy(() -> EnumSortedStorage.of(new Priority[0]))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+
+        Assertions.assertThatThrownBy(() -> EnumSortedStorage.of((Class<Priority>) null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+    }
+
+    @Test
+    public void testNext() {
+
+        this.instance.store(1, Priority.LOW);
+        this.instance.store(2, Priority.MEDIUM);
+        this.instance.store(3, Priority.MEDIUM);
+
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(3);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(2);
+        Assertions.assertThat(this.instance.next(Priority.HIGH)).isNotPresent();
+        Assertions.assertThat(this.instance.next(Priority.LOW)).isPresent().hasValue(1);
+        Assertions.assertThat(this.instance.next()).isNotPresent();
+    }
+
+    @Test
+    public void testStore() {
+
+        for (int entry = 1; entry <= 100; ++entry) {
+            Assertions.assertThat(this.instance.store(entry, Priority.HIGH)).isEqualTo(entry);
+        }
+
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(1, 2, 3), Priority.LOW)).isEqualTo(3);
+        Assertions.assertThat(this.instance.getStorage().get(Priority.HIGH)).hasSize(100).startsWith(1, 2, 3);
+    }
+
+    @Test
+    public void testStore_Fails() {
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(1, Priority.UNUSED))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be stored for key UNUSED.");
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(1, null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be stored for key null.");
+    }
+
+    @Test
+    public void testDrainToAndNextBatch() {
+
+        this.instance.storeAll(Arrays.asList(1, 2, 3), Priority.MEDIUM);
+        this.instance.storeAll(Arrays.asList(4, 5), Priority.HIGH);
+
+        final List<Integer> res = new ArrayList<>();
+
+        Assertions.assertThat(this.instance.nextBatch(Priority.MEDIUM, 1)).containsExactly(3);
+        Assertions.assertThat(this.instance.drainTo(res, 3)).isEqualTo(3);
+        Assertions.assertThat(res).containsExactly(5, 4, 2);
+        Assertions.assertThat(this.instance.drainTo(res, 3)).isEqualTo(1);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testIsEmpty() {
+
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+        this.instance.store(2, Priority.HIGH);
+        Assertions.assertThat(this.instance.isEmpty()).isFalse();
+        Assertions.assertThat(this.instance.isEmpty(Priority.HIGH)).isFalse();
+        Assertions.assertThat(this.instance.isEmpty(Priority.LOW)).isTrue();
+    }
+
+    @Test
+    public void testGetStorage() {
+
+        this.instance = EnumSortedStorage.of(Priority.class);
+        this.instance.store(7, Priority.UNUSED);
+
+        Assertions.assertThat(this.instance.getStorage())
+                .hasSize(4)
+                .containsKeys(Priority.values())
+                .containsEntry(Priority.UNUSED, List.of(7));
+    }
+
+    @Test
+    public void testAddExclusionSet() {
+
+        this.instance.addExclusionSet(List.of(0, 2));
+        this.instance.addExclusion(entry -> entry > 10);
+        Assertions.assertThat(this.instance.store(2, Priority.HIGH)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(11, Priority.HIGH)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(1, Priority.HIGH)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class ExpiringSortedStorageTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.DAYS.toNanos(3));
+
+    private ExpiringSortedStorage<Integer, Integer> instance;
+
+    @BeforeEach
+    public void setUp() {
+        this.instance = ExpiringSortedStorage.create(Duration.ofSeconds(5), this.clock::get, 1, 2);
+    }
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> ExpiringSortedStorage.of(Duration.ZERO, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Time to live has to be positive.");
+
+        Assertions.assertThatThrownBy(() -> ExpiringSortedStorage.of(null, 1))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Expiring storages requires a time to live.");
+
+        Assertions.assertThatThrownBy(() -> ExpiringSortedStorage.of(Duration.ofSeconds(1), new Integer[0]))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+    }
+
+    @Test
+    public void testStoreAndNext() {
+
+        Assertions.assertThat(this.instance.store(1, 1)).isEqualTo(1);
+        Assertions.assertThat(this.instance.storeAll(List.of(2, 3), 1)).isEqualTo(3);
+        Assertions.assertThat(this.instance.store(4, 2)).isEqualTo(1);
+        Assertions.assertThat(this.instance.getStorage()).containsEntry(1, List.of(1, 2, 3)).containsEntry(2, List.of(4));
+
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(3);
+        Assertions.assertThat(this.instance.next(2)).isPresent().hasValue(4);
+        Assertions.assertThat(this.instance.nextBatch(1, 5)).containsExactly(2, 1);
+        Assertions.assertThat(this.instance.next()).isNotPresent();
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+        Assertions.assertThat(this.instance.getExpiredCount()).isEqualTo(0L);
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(1, 3))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be stored for key 3.");
+    }
+
+    @Test
+    public void testDefaultTimeToLive() {
+
+        this.instance.store(1, 1);
+        this.advance(Duration.ofSeconds(3));
+        this.instance.store(2, 1);
+        this.advance(Duration.ofSeconds(3));
+
+        Assertions.assertThat(this.instance.getStorage().get(1)).containsExactly(2);
+        Assertions.assertThat(this.instance.getExpiredCount(1)).isEqualTo(1L);
+
+        this.advance(Duration.ofSeconds(3));
+
+        Assertions.assertThat(this.instance.isEmpty(1)).isTrue();
+        Assertions.assertThat(this.instance.next()).isNotPresent();
+        Assertions.assertThat(this.instance.getExpiredCount()).isEqualTo(2L);
+        Assertions.assertThat(this.instance.getExpiredCount(2)).isEqualTo(0L);
+    }
+
+    @Test
+    public void testEntryTimeToLive() {
+
+        Assertions.assertThat(this.instance.store(1, 1, Duration.ofMinutes(10))).isEqualTo(1);
+        Assertions.assertThat(this.instance.store(2, 1, Duration.ofMillis(1))).isEqualTo(2);
+        Assertions.assertThat(this.instance.store(3, 1, Duration.ZERO)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(4, 2, ChronoUnit.FOREVER.getDuration())).isEqualTo(1);
+
+        this.advance(Duration.ofNanos(TimeUnit.MILLISECONDS.toNanos(1)));
+
+        Assertions.assertThat(this.instance.next(1)).isPresent().hasValue(1);
+        Assertions.assertThat(this.instance.getExpiredCount(1)).isEqualTo(1L);
+
+        this.advance(Duration.ofDays(365));
+
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(4);
+    }
+
+    /**
+     * Expires a large number of entries with different deadlines. Expired entries must never be returned and have to be counted at the latest in the tick after their deadline.
+     */
+    @Test
+    public void testExpireManyEntries() {
+
+        final int entries = 200_000;
+
+        for (int index = 0; index < entries; ++index) {
+            this.instance.store(index, index % 2 + 1, Duration.ofMillis(1 + index % 10_000));
+        }
+
+        for (int millis = 1; millis <= 10_000; millis += 7) {
+            this.clock.set(TimeUnit.DAYS.toNanos(3) + TimeUnit.MILLISECONDS.toNanos(millis));
+
+            final long alive = this.instance.getStorage().values().stream().mapToLong(List::size).sum();
+            final long expected = (long) entries * (10_000 - millis) / 10_000;
+
+            Assertions.assertThat(alive).isEqualTo(expected);
+            Assertions.assertThat(this.instance.getExpiredCount()).isBetween(entries - expected - 4L * entries / 10_000, entries - expected);
+        }
+
+        this.advance(Duration.ofMillis(10));
+
+        Assertions.assertThat(this.instance.getExpiredCount()).isEqualTo(entries);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+    }
+
+    private void advance(final Duration duration) {
+        this.clock.addAndGet(duration.toNanos());
+    }
+}
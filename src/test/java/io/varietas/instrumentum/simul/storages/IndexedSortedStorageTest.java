@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class IndexedSortedStorageTest {
+
+    private static final Integer[] CODES = {1, 2, 3};
+
+    private IndexedSortedStorage<Integer, String> instance;
+
+    @BeforeEach
+    public void setUp() {
+        this.instance = IndexedSortedStorage.of(CODES);
+    }
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> IndexedSortedStorage.of(new Integer[0]))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+    }
+
+    @Test
+    public void testStoreAndNext() {
+
+        Assertions.assertThat(this.instance.store("a", 2)).isEqualTo(1);
+        Assertions.assertThat(this.instance.store("b", 2)).isEqualTo(2);
+        Assertions.assertThat(this.instance.storeAll(List.of("c", "d"), 1)).isEqualTo(2);
+
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue("d");
+        Assertions.assertThat(this.instance.next(2)).isPresent().hasValue("b");
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue("c");
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue("a");
+        Assertions.assertThat(this.instance.next()).isNotPresent();
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+
+        Assertions.assertThatThrownBy(() -> this.instance.store("a", 4))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be stored for key 4.");
+    }
+
+    @Test
+    public void testFindByTypes() {
+
+        final String first = new String("a");
+        final String second = new String("a");
+
+        this.instance.store(first, 1);
+        this.instance.store("b", 1);
+        this.instance.store(second, 1);
+        this.instance.store("a", 3);
+
+        Assertions.assertThat(this.instance.findByTypes("a")).hasSize(3);
+        Assertions.assertThat(this.instance.findByTypes("c")).isEmpty();
+        Assertions.assertThat(this.instance.findByTypesAndAnnotationCode("a", 1)).containsExactly(first, second);
+        Assertions.assertThat(this.instance.findByTypesAndAnnotationCode("a", 2)).isEmpty();
+
+        Assertions.assertThat(this.instance.next(1).get()).isSameAs(second);
+        Assertions.assertThat(this.instance.findByTypesAndAnnotationCode("a", 1)).hasSize(1);
+        Assertions.assertThat(this.instance.findByTypesAndAnnotationCode("a", 1).get(0)).isSameAs(first);
+
+        this.instance.drainTo(new ArrayList<>(), Integer.MAX_VALUE);
+
+        Assertions.assertThat(this.instance.findByTypes("a")).isEmpty();
+        Assertions.assertThat(this.instance.findByTypes("b")).isEmpty();
+    }
+
+    @Test
+    public void testGetStorageIsNotModifiable() {
+
+        this.instance.store("a", 1);
+
+        Assertions.assertThat(this.instance.getStorage()).containsEntry(1, List.of("a"));
+        Assertions.assertThatThrownBy(() -> this.instance.getStorage().get(1).add("b"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testAddExclusion() {
+
+        this.instance.addExclusion(entry -> entry.isEmpty());
+        this.instance.addExclusionSet(List.of("x"));
+
+        Assertions.assertThat(this.instance.store("", 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store("x", 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.findByTypes("x")).isEmpty();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class IntSortedStorageTest {
+
+    private static final Integer[] CODES = {1, 2, 3, 4};
+
+    private IntSortedStorage<Integer> instance;
+
+    @BeforeEach
+    public void setUp() {
+        this.instance = IntSortedStorage.of(CODES);
+    }
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> IntSortedStorage.of((Integer[]) null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+    }
+
+    @Test
+    public void testStoreAndNextInt() {
+
+        for (int entry = 0; entry < 100; ++entry) {
+            Assertions.assertThat(this.instance.storeInt(entry, 2)).isEqualTo(entry + 1);
+        }
+        this.instance.storeInt(500, 3);
+
+        Assertions.assertThat(this.instance.size(2)).isEqualTo(100);
+        Assertions.assertThat(this.instance.nextInt(3)).isEqualTo(500);
+        Assertions.assertThat(this.instance.nextInt()).isEqualTo(99);
+        Assertions.assertThat(this.instance.nextInt(2)).isEqualTo(98);
+        Assertions.assertThatThrownBy(() -> this.instance.nextInt(3))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("Storage does not contain any value for key 3.");
+    }
+
+    @Test
+    public void testSortedStorageContract() {
+
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(1, 2, 3), 1)).isEqualTo(3);
+        Assertions.assertThat(this.instance.isEmpty(1)).isFalse();
+        Assertions.assertThat(this.instance.isEmpty(2)).isTrue();
+        Assertions.assertThat(this.instance.getStorage()).containsEntry(1, List.of(1, 2, 3));
+        Assertions.assertThat(this.instance.next(1)).isPresent().hasValue(3);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(2);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(1);
+        Assertions.assertThat(this.instance.next()).isNotPresent();
+        Assertions.assertThatThrownBy(() -> this.instance.nextInt())
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void testStore_Fails() {
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(Integer.valueOf(1), 5))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be stored for key 5.");
+    }
+
+    @Test
+    public void testAddExclusion() {
+
+        this.instance.addIntExclusion(entry -> entry < 0);
+        this.instance.addExclusion(entry -> entry == 7);
+
+        Assertions.assertThat(this.instance.storeInt(-1, 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(Integer.valueOf(7), 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.storeInt(8, 1)).isEqualTo(1);
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(9, 7), 1)).isEqualTo(-1);
+    }
+}
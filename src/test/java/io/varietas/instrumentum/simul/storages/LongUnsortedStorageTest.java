@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class LongUnsortedStorageTest {
+
+    @Test
+    public void testStoreAndNext() {
+        final LongUnsortedStorage result = LongUnsortedStorage.of();
+
+        Assertions.assertThat(result.isEmpty()).isTrue();
+        Assertions.assertThat(result.storeLong(0L)).isEqualTo(1);
+        Assertions.assertThat(result.storeLong(42L)).isEqualTo(2);
+        Assertions.assertThat(result.storeLong(42L)).isEqualTo(2);
+        Assertions.assertThat(result.contains(0L)).isTrue();
+        Assertions.assertThat(result.contains(42L)).isTrue();
+        Assertions.assertThat(result.contains(7L)).isFalse();
+        Assertions.assertThat(result.getStorage()).containsExactlyInAnyOrder(0L, 42L);
+
+        final long first = result.nextLong();
+        final long second = result.nextLong();
+
+        Assertions.assertThat(first + second).isEqualTo(42L);
+        Assertions.assertThat(result.isEmpty()).isTrue();
+        Assertions.assertThat(result.next()).isNotPresent();
+        Assertions.assertThatThrownBy(() -> result.nextLong())
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("Storage does not contain any value.");
+    }
+
+    @Test
+    public void testStoreNullFails() {
+        Assertions.assertThatThrownBy(() -> LongUnsortedStorage.of().store((Long) null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Storage cannot handle null objetcs.");
+    }
+
+    @Test
+    public void testStoreAll() {
+        final LongUnsortedStorage result = LongUnsortedStorage.of(2);
+
+        Assertions.assertThat(result.storeAll(Collections.emptyList())).isEqualTo(-1);
+        Assertions.assertThat(result.storeAll(List.of(1L, 2L, 2L, 3L))).isEqualTo(3);
+        Assertions.assertThat(result.size()).isEqualTo(3);
+    }
+
+    /**
+     * Stores and loads random values interleaved and compares the storage with a hash set. This covers growing the table and removing values inside of probe sequences.
+     */
+    @Test
+    public void testBehavesLikeHashSet() {
+        final LongUnsortedStorage result = LongUnsortedStorage.of();
+        final Set<Long> expected = new HashSet<>();
+        final Random random = new Random(42);
+
+        for (int round = 0; round < 100_000; ++round) {
+            if (random.nextInt(3) == 0 && !expected.isEmpty()) {
+                final long next = result.nextLong();
+                Assertions.assertThat(expected.remove(next)).isTrue();
+            } else {
+                final long entry = random.nextInt(50_000) - 25_000;
+                expected.add(entry);
+                Assertions.assertThat(result.storeLong(entry)).isEqualTo(expected.size());
+            }
+        }
+
+        Assertions.assertThat(result.getStorage()).containsExactlyInAnyOrderElementsOf(expected);
+
+        while (!result.isEmpty()) {
+            Assertions.assertThat(expected.remove(result.nextLong())).isTrue();
+        }
+
+        Assertions.assertThat(expected).isEmpty();
+    }
+}
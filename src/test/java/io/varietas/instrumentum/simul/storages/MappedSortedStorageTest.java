@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class MappedSortedStorageTest {
+
+    private static final StorageCodec<Integer> CODEC = new StorageCodec<>() {
+        @Override
+        public int size(final Integer entry) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(final Integer entry, final ByteBuffer target) {
+            target.putInt(entry);
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer source) {
+            return source.getInt();
+        }
+    };
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("mapped-storage");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> MappedSortedStorage.of(null, CODEC, 1))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Mapped storages requires a directory.");
+
+        Assertions.assertThatThrownBy(() -> MappedSortedStorage.of(this.directory, null, 1))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Mapped storages requires a codec.");
+
+        Assertions.assertThatThrownBy(() -> MappedSortedStorage.of(this.directory, 4, CODEC, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Segment size has to be greater than 4 bytes.");
+
+        Assertions.assertThatThrownBy(() -> MappedSortedStorage.of(this.directory, CODEC, new Integer[0]))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+    }
+
+    @Test
+    public void testStoreAndNext() {
+        final MappedSortedStorage<Integer, Integer> result = MappedSortedStorage.of(this.directory, CODEC, 1, 2);
+
+        Assertions.assertThat(result.isEmpty()).isTrue();
+        Assertions.assertThat(result.store(10, 2)).isEqualTo(1);
+        Assertions.assertThat(result.store(11, 2)).isEqualTo(2);
+        Assertions.assertThat(result.storeAll(List.of(1, 2), 1)).isEqualTo(2);
+        Assertions.assertThat(result.getStorage()).containsEntry(1, List.of(1, 2)).containsEntry(2, List.of(10, 11));
+
+        Assertions.assertThat(result.next()).isPresent().hasValue(1);
+        Assertions.assertThat(result.next(2)).isPresent().hasValue(10);
+        Assertions.assertThat(result.next()).isPresent().hasValue(2);
+        Assertions.assertThat(result.next()).isPresent().hasValue(11);
+        Assertions.assertThat(result.next()).isNotPresent();
+        Assertions.assertThat(result.isEmpty(1)).isTrue();
+
+        Assertions.assertThatThrownBy(() -> result.store(1, 3))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be stored for key 3.");
+    }
+
+    @Test
+    public void testAddExclusion() {
+        final MappedSortedStorage<Integer, Integer> result = MappedSortedStorage.of(this.directory, CODEC, 1);
+
+        result.addExclusion(entry -> entry < 0);
+        Assertions.assertThat(result.store(-1, 1)).isEqualTo(-1);
+        Assertions.assertThat(result.store(1, 1)).isEqualTo(1);
+    }
+
+    @Test
+    public void testRecovery() {
+        final MappedSortedStorage<Integer, Integer> first = MappedSortedStorage.of(this.directory, 64, CODEC, 1, 2);
+
+        for (int index = 0; index < 100; ++index) {
+            first.store(index, index % 2 + 1);
+        }
+
+        for (int index = 0; index < 30; ++index) {
+            first.next(1);
+        }
+
+        first.close();
+
+        final MappedSortedStorage<Integer, Integer> second = MappedSortedStorage.of(this.directory, 64, CODEC, 1, 2);
+
+        Assertions.assertThat(second.next(1)).isPresent().hasValue(60);
+        Assertions.assertThat(second.getStorage().get(1)).hasSize(19);
+        Assertions.assertThat(second.getStorage().get(2)).hasSize(50).startsWith(1, 3, 5);
+        Assertions.assertThat(second.store(100, 1)).isEqualTo(20);
+        Assertions.assertThat(second.getStorage().get(1)).endsWith(98, 100);
+    }
+
+    /**
+     * Consumed segments have to be deleted, so the number of segments only depends on the number of unconsumed entries.
+     */
+    @Test
+    public void testConsumedSegmentsAreDeleted() throws IOException {
+        final MappedSortedStorage<Integer, Integer> result = MappedSortedStorage.of(this.directory, 64, CODEC, 1);
+
+        for (int index = 0; index < 1_000; ++index) {
+            result.store(index, 1);
+            Assertions.assertThat(result.next(1)).isPresent().hasValue(index);
+        }
+
+        Assertions.assertThat(this.segments()).hasSizeLessThanOrEqualTo(2);
+
+        result.close();
+
+        Assertions.assertThat(MappedSortedStorage.of(this.directory, 64, CODEC, 1).isEmpty()).isTrue();
+        Assertions.assertThat(this.segments()).hasSize(1);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("segment-")).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class OffHeapUnsortedStorageTest {
+
+    private static final StorageCodec<String> CODEC = new StorageCodec<>() {
+        @Override
+        public int size(final String entry) {
+            return entry.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        @Override
+        public void encode(final String entry, final ByteBuffer target) {
+            target.put(entry.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String decode(final ByteBuffer source) {
+            final byte[] bytes = new byte[source.remaining()];
+            source.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> OffHeapUnsortedStorage.of(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Off-heap storages requires a codec.");
+
+        Assertions.assertThatThrownBy(() -> OffHeapUnsortedStorage.of(CODEC, 4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Slab size has to be greater than 4 bytes.");
+    }
+
+    @Test
+    public void testStoreAndNext() {
+        final UnsortedStorage<String> result = OffHeapUnsortedStorage.of(CODEC);
+
+        Assertions.assertThat(result.isEmpty()).isTrue();
+        Assertions.assertThat(result.store("first")).isEqualTo(1);
+        Assertions.assertThat(result.store("second")).isEqualTo(2);
+        Assertions.assertThat(result.store("first")).isEqualTo(2);
+        Assertions.assertThat(result.store("")).isEqualTo(3);
+        Assertions.assertThat(result.getStorage()).containsExactly("first", "second", "");
+
+        Assertions.assertThat(result.next()).isPresent().hasValue("first");
+        Assertions.assertThat(result.store("first")).isEqualTo(3);
+        Assertions.assertThat(result.next()).isPresent().hasValue("second");
+        Assertions.assertThat(result.next()).isPresent().hasValue("");
+        Assertions.assertThat(result.next()).isPresent().hasValue("first");
+        Assertions.assertThat(result.next()).isNotPresent();
+        Assertions.assertThat(result.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testStoreFails() {
+        final UnsortedStorage<String> result = OffHeapUnsortedStorage.of(CODEC, 8);
+
+        Assertions.assertThatThrownBy(() -> result.store(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Storage cannot handle null objetcs.");
+
+        Assertions.assertThatThrownBy(() -> result.store("too long"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Encoded entry of 8 bytes does not fit into a slab of 8 bytes.");
+    }
+
+    @Test
+    public void testStoreAll() {
+        final UnsortedStorage<String> result = OffHeapUnsortedStorage.of(CODEC);
+
+        Assertions.assertThat(result.storeAll(Collections.emptyList())).isEqualTo(-1);
+        Assertions.assertThat(result.storeAll(List.of("a", "b", "b", "c"))).isEqualTo(3);
+    }
+
+    /**
+     * Stores and loads random values interleaved into small slabs and compares the storage with a queue and a hash set. This covers rolling and recycling slabs, growing the index and removing records inside of probe sequences.
+     */
+    @Test
+    public void testBehavesLikeDeduplicatingQueue() {
+        final UnsortedStorage<String> result = OffHeapUnsortedStorage.of(CODEC, 64);
+        final Deque<String> expectedOrder = new ArrayDeque<>();
+        final Set<String> expected = new HashSet<>();
+        final Random random = new Random(42);
+
+        for (int index = 0; index < 100_000; ++index) {
+
+            if (random.nextInt(3) > 0) {
+                final String entry = Integer.toString(random.nextInt(5_000));
+
+                if (expected.add(entry)) {
+                    expectedOrder.addLast(entry);
+                }
+                Assertions.assertThat(result.store(entry)).isEqualTo(expected.size());
+            } else {
+                final String entry = expectedOrder.pollFirst();
+
+                if (entry == null) {
+                    Assertions.assertThat(result.next()).isNotPresent();
+                } else {
+                    expected.remove(entry);
+                    Assertions.assertThat(result.next()).isPresent().hasValue(entry);
+                }
+            }
+        }
+
+        Assertions.assertThat(result.getStorage()).containsExactlyElementsOf(expectedOrder);
+    }
+}
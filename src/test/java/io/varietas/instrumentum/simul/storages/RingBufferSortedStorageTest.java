@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ *
+ * @author agent
+ */
+public class RingBufferSortedStorageTest {
+
+    private static final Integer[] CODES = {1, 2, 3, 4};
+    private static final int ENTRIES_PER_CODE = 50_000;
+
+    private SortedStorage<Integer, Integer> instance;
+
+    @BeforeEach
+    public void setUp() {
+        this.instance = RingBufferSortedStorage.of(4, true, CODES);
+    }
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> RingBufferSortedStorage.of(0, true, CODES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ring capacity has to be between 1 and " + RingBufferSortedStorage.MAXIMUM_CAPACITY + ".");
+
+        Assertions.assertThatThrownBy(() -> RingBufferSortedStorage.of(4, true, new Integer[0]))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+    }
+
+    @Test
+    public void testNext() {
+
+        this.instance.store(1, 2);
+        this.instance.store(2, 2);
+        this.instance.store(3, 1);
+
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(3);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(1);
+        Assertions.assertThat(this.instance.next(2)).isPresent().hasValue(2);
+        Assertions.assertThat(this.instance.next()).isNotPresent();
+        Assertions.assertThat(this.instance.next(2)).isNotPresent();
+    }
+
+    @Test
+    public void testStoreRejectsWhenFull() {
+
+        this.instance = RingBufferSortedStorage.of(3, true, CODES);
+
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(1, 2, 3, 4), 1)).isEqualTo(4);
+        Assertions.assertThat(this.instance.store(5, 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.next(1)).isPresent().hasValue(1);
+        Assertions.assertThat(this.instance.store(5, 1)).isEqualTo(4);
+        Assertions.assertThat(this.instance.getStorage().get(1)).containsExactly(2, 3, 4, 5);
+    }
+
+    @Test
+    public void testStore_Fails() {
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(1, 5))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be stored for key 5.");
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(null, 1))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Storage cannot handle null objetcs.");
+    }
+
+    @Test
+    public void testDrainTo() {
+
+        this.instance.storeAll(Arrays.asList(1, 2, 3), 1);
+        this.instance.storeAll(Arrays.asList(4, 5), 2);
+
+        final List<Integer> res = new ArrayList<>();
+
+        Assertions.assertThat(this.instance.drainTo(res, 4)).isEqualTo(4);
+        Assertions.assertThat(res).containsExactly(1, 2, 3, 4);
+        Assertions.assertThat(this.instance.isEmpty()).isFalse();
+        Assertions.assertThat(this.instance.isEmpty(1)).isTrue();
+        Assertions.assertThat(this.instance.nextBatch(2, 5)).containsExactly(5);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testAddExclusionSet() {
+
+        this.instance.addExclusionSet(List.of(0, 2));
+        this.instance.addExclusion(entry -> entry > 10);
+        Assertions.assertThat(this.instance.store(2, 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(11, 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(1, 1)).isEqualTo(1);
+    }
+
+    /**
+     * Hands entries over from one producer per code to one consumer per code through small rings. Every code has to be loaded completely and in order.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void testConcurrentHandoff(final boolean singleProducerSingleConsumer) throws InterruptedException {
+
+        final AtomicIntegerArray loaded = new AtomicIntegerArray(CODES.length);
+        final AtomicInteger failures = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(CODES.length * 2);
+        final List<Runnable> tasks = new ArrayList<>();
+
+        this.instance = RingBufferSortedStorage.of(64, singleProducerSingleConsumer, CODES);
+
+        for (int position = 0; position < CODES.length; ++position) {
+            final Integer code = CODES[position];
+            final int index = position;
+
+            tasks.add(() -> {
+                for (int entry = 0; entry < ENTRIES_PER_CODE; ++entry) {
+                    while (this.instance.store(entry, code) == -1) {
+                        Thread.yield();
+                    }
+                }
+            });
+            tasks.add(() -> {
+                int expected = 0;
+
+                while (expected < ENTRIES_PER_CODE) {
+                    final Optional<Integer> next = this.instance.next(code);
+
+                    if (next.isPresent()) {
+                        if (next.get() != expected) {
+                            failures.incrementAndGet();
+                        }
+
+                        ++expected;
+                    } else {
+                        Thread.yield();
+                    }
+                }
+
+                loaded.set(index, expected);
+            });
+        }
+
+        tasks.forEach(task -> executor.execute(() -> {
+            try {
+                start.await();
+                task.run();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        start.countDown();
+        executor.shutdown();
+
+        Assertions.assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        Assertions.assertThat(failures.get()).isEqualTo(0);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+
+        for (int index = 0; index < CODES.length; ++index) {
+            Assertions.assertThat(loaded.get(index)).isEqualTo(ENTRIES_PER_CODE);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ *
+ * @author agent
+ */
+public class ShardedSortedStorageTest {
+
+    private static final Integer[] CODES = {1, 2, 3, 4};
+    private static final int SHARDS = 4;
+    private static final int ENTRIES_PER_PRODUCER = 20_000;
+
+    private SortedStorage<Integer, Integer> instance;
+
+    @BeforeEach
+    public void setUp() {
+        this.instance = ShardedSortedStorage.of(SHARDS, CODES);
+    }
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> ShardedSortedStorage.of(SHARDS, (Integer[]) null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+
+        Assertions.assertThatThrownBy(() -> ShardedSortedStorage.of(0, CODES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Sharded storages requires at least one shard.");
+
+        Assertions.assertThatThrownBy(() -> ShardedSortedStorage.of(SHARDS, null, () -> SimpleSortedStorage.of(CODES)))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sharded storages requires a sharding strategy.");
+
+        Assertions.assertThatThrownBy(() -> ShardedSortedStorage.of(SHARDS, ShardingStrategy.HASH, null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sharded storages requires a storage factory.");
+    }
+
+    @Test
+    public void testNext() {
+
+        this.instance.store(1, 2);
+        this.instance.store(2, 2);
+
+        final List<Integer> res = new ArrayList<>();
+        res.add(this.instance.next().get());
+        res.add(this.instance.next(2).get());
+
+        Assertions.assertThat(res).containsExactlyInAnyOrder(1, 2);
+        Assertions.assertThat(this.instance.next()).isNotPresent();
+        Assertions.assertThat(this.instance.next(2)).isNotPresent();
+    }
+
+    @Test
+    public void testNextKeepsOrderWithinShard() {
+
+        this.instance = ShardedSortedStorage.of(1, CODES);
+        this.instance.storeAll(Arrays.asList(1, 2), 2);
+        this.instance.store(3, 1);
+
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(3);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(2);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(1);
+    }
+
+    @Test
+    public void testDrainToAndNextBatch() {
+
+        this.instance.storeAll(Arrays.asList(1, 2, 3), 1);
+        this.instance.storeAll(Arrays.asList(4, 5), 2);
+
+        final List<Integer> res = new ArrayList<>();
+
+        Assertions.assertThat(this.instance.nextBatch(2, 5)).containsExactlyInAnyOrder(4, 5);
+        Assertions.assertThat(this.instance.drainTo(res, 2)).isEqualTo(2);
+        Assertions.assertThat(this.instance.drainTo(res, 3)).isEqualTo(1);
+        Assertions.assertThat(res).containsExactlyInAnyOrder(1, 2, 3);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testStoreWithThreadStrategy() {
+
+        this.instance = ShardedSortedStorage.of(SHARDS, ShardingStrategy.THREAD, () -> SimpleSortedStorage.of(CODES));
+
+        Assertions.assertThat(this.instance.store(1, 1)).isEqualTo(1);
+        Assertions.assertThat(this.instance.store(2, 1)).isEqualTo(2);
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(3, 4), 1)).isEqualTo(4);
+    }
+
+    @Test
+    public void testStore_Fails() {
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(1, 5))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be stored for key 5.");
+    }
+
+    @Test
+    public void testIsEmpty() {
+
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+        this.instance.store(2, 1);
+        Assertions.assertThat(this.instance.isEmpty()).isFalse();
+        Assertions.assertThat(this.instance.isEmpty(1)).isFalse();
+        Assertions.assertThat(this.instance.isEmpty(2)).isTrue();
+    }
+
+    @Test
+    public void testGetStorage() {
+
+        this.instance.storeAll(Arrays.asList(7, 8, 9), 4);
+
+        Assertions.assertThat(this.instance.getStorage())
+                .hasSize(4)
+                .containsKeys(CODES);
+        Assertions.assertThat(this.instance.getStorage().get(4)).containsExactlyInAnyOrder(7, 8, 9);
+    }
+
+    @Test
+    public void testAddExclusionSet() {
+
+        final AtomicInteger checked = new AtomicInteger();
+
+        this.instance.addExclusion(entry -> checked.incrementAndGet() > 0 && entry > 10);
+        this.instance.addExclusionSet(List.of(0, 2));
+
+        for (int entry : new int[]{0, 2, 11, 12}) {
+            Assertions.assertThat(this.instance.store(entry, 1)).isEqualTo(-1);
+        }
+
+        Assertions.assertThat(this.instance.store(1, 1)).isEqualTo(1);
+        Assertions.assertThat(checked.get()).isEqualTo(3);
+
+        final SortedStorage<Integer, Integer> concurrent = ShardedSortedStorage.of(2, ShardingStrategy.HASH, () -> ConcurrentSortedStorage.<Integer, Integer>of(CODES));
+
+        concurrent.addExclusionSet(List.of(0, 2));
+
+        Assertions.assertThat(concurrent.store(0, 1)).isEqualTo(-1);
+        Assertions.assertThat(concurrent.store(2, 1)).isEqualTo(-1);
+        Assertions.assertThat(concurrent.store(1, 1)).isEqualTo(1);
+    }
+
+    /**
+     * Stores entries from a number of producers while the same number of consumers is loading them. Every entry has to be loaded exactly once.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8, 16})
+    public void testConcurrentStoreAndNext(final int threads) throws InterruptedException {
+
+        final int total = threads * ENTRIES_PER_PRODUCER;
+        final AtomicIntegerArray loaded = new AtomicIntegerArray(total);
+        final AtomicInteger loadedCount = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+        final List<Runnable> tasks = new ArrayList<>();
+
+        this.instance = ShardedSortedStorage.of(SHARDS, ShardingStrategy.THREAD, () -> SimpleSortedStorage.of(CODES));
+
+        for (int thread = 0; thread < threads; ++thread) {
+            final int offset = thread * ENTRIES_PER_PRODUCER;
+
+            tasks.add(() -> {
+                for (int index = 0; index < ENTRIES_PER_PRODUCER; ++index) {
+                    this.instance.store(offset + index, CODES[index % CODES.length]);
+                }
+            });
+            tasks.add(() -> {
+                while (loadedCount.get() < total) {
+                    final Optional<Integer> next = this.instance.next();
+                    if (next.isPresent()) {
+                        loaded.incrementAndGet(next.get());
+                        loadedCount.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        tasks.forEach(task -> executor.execute(() -> {
+            try {
+                start.await();
+                task.run();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        start.countDown();
+        executor.shutdown();
+
+        Assertions.assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        Assertions.assertThat(loadedCount.get()).isEqualTo(total);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+
+        for (int index = 0; index < total; ++index) {
+            Assertions.assertThat(loaded.get(index)).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class ShardedUnsortedStorageTest {
+
+    private static final int SHARDS = 4;
+    private static final int THREADS = 8;
+    private static final int ENTRIES_PER_PRODUCER = 20_000;
+
+    private UnsortedStorage<Integer> instance;
+
+    @BeforeEach
+    public void setUp() {
+        this.instance = ShardedUnsortedStorage.of(SHARDS);
+    }
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> ShardedUnsortedStorage.of(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Sharded storages requires at least one shard.");
+    }
+
+    @Test
+    public void testNext() {
+
+        this.instance.storeAll(Arrays.asList(1, 2, 3));
+
+        final List<Integer> res = new ArrayList<>();
+        Optional<Integer> next;
+
+        while ((next = this.instance.next()).isPresent()) {
+            res.add(next.get());
+        }
+
+        Assertions.assertThat(res).containsExactlyInAnyOrder(1, 2, 3);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testStore() {
+
+        Assertions.assertThat(this.instance.store(1)).isEqualTo(1);
+        Assertions.assertThat(this.instance.store(1)).isEqualTo(1);
+        Assertions.assertThat(this.instance.storeAll(Collections.emptyList())).isEqualTo(-1);
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Storage cannot handle null objetcs.");
+    }
+
+    @Test
+    public void testDrainTo() {
+
+        this.instance.storeAll(Arrays.asList(1, 2, 3, 4, 5));
+
+        final List<Integer> res = new ArrayList<>();
+
+        Assertions.assertThat(this.instance.drainTo(res, 3)).isEqualTo(3);
+        Assertions.assertThat(this.instance.drainTo(res, 3)).isEqualTo(2);
+        Assertions.assertThat(res).containsExactlyInAnyOrder(1, 2, 3, 4, 5);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testGetStorage() {
+
+        this.instance.storeAll(Arrays.asList(1, 2, 3));
+
+        Assertions.assertThat(this.instance.getStorage()).containsExactlyInAnyOrder(1, 2, 3);
+    }
+
+    @Test
+    public void testConcurrentStoreAndNext() throws InterruptedException {
+
+        final int total = THREADS * ENTRIES_PER_PRODUCER;
+        final AtomicIntegerArray loaded = new AtomicIntegerArray(total);
+        final AtomicInteger loadedCount = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS * 2);
+        final List<Runnable> tasks = new ArrayList<>();
+
+        for (int thread = 0; thread < THREADS; ++thread) {
+            final int offset = thread * ENTRIES_PER_PRODUCER;
+
+            tasks.add(() -> {
+                for (int index = 0; index < ENTRIES_PER_PRODUCER; ++index) {
+                    this.instance.store(offset + index);
+                }
+            });
+            tasks.add(() -> {
+                while (loadedCount.get() < total) {
+                    final Optional<Integer> next = this.instance.next();
+                    if (next.isPresent()) {
+                        loaded.incrementAndGet(next.get());
+                        loadedCount.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        tasks.forEach(task -> executor.execute(() -> {
+            try {
+                start.await();
+                task.run();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        start.countDown();
+        executor.shutdown();
+
+        Assertions.assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        Assertions.assertThat(loadedCount.get()).isEqualTo(total);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+
+        for (int index = 0; index < total; ++index) {
+            Assertions.assertThat(loaded.get(index)).isEqualTo(1);
+        }
+    }
+}
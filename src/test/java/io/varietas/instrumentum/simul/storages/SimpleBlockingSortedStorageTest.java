@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class SimpleBlockingSortedStorageTest {
+
+    private static final Integer[] CODES = {1, 2, 3, 4};
+    private static final long WAITING_TIME = 100;
+
+    private BlockingSortedStorage<Integer, Integer> instance;
+
+    @BeforeEach
+    public void setUp() {
+        this.instance = SimpleBlockingSortedStorage.of(CODES);
+    }
+
+    @Test
+    public void testNextAndStore() {
+
+        Assertions.assertThat(this.instance.store(1, 1)).isEqualTo(1);
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(2, 3), 1)).isEqualTo(3);
+        Assertions.assertThat(this.instance.isEmpty(1)).isFalse();
+        Assertions.assertThat(this.instance.getStorage()).containsEntry(1, List.of(1, 2, 3));
+        Assertions.assertThat(this.instance.next(1)).isPresent().hasValue(3);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(2);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(1);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testTake() throws Exception {
+
+        final CompletableFuture<Integer> consumer = this.async(() -> this.instance.take());
+
+        Thread.sleep(WAITING_TIME);
+        Assertions.assertThat(consumer.isDone()).isFalse();
+
+        this.instance.store(5, 3);
+        Assertions.assertThat(consumer.get(1, TimeUnit.SECONDS)).isEqualTo(5);
+    }
+
+    @Test
+    public void testTake_GenericType() throws Exception {
+
+        final CompletableFuture<Integer> consumer = this.async(() -> this.instance.take(2));
+
+        this.instance.store(5, 1);
+        Thread.sleep(WAITING_TIME);
+        Assertions.assertThat(consumer.isDone()).isFalse();
+
+        this.instance.store(6, 2);
+        Assertions.assertThat(consumer.get(1, TimeUnit.SECONDS)).isEqualTo(6);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(5);
+    }
+
+    @Test
+    public void testTake_UnknownCodeFails() {
+
+        Assertions.assertThatThrownBy(() -> this.instance.take(5))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be loaded for key 5.");
+    }
+
+    @Test
+    public void testTake_Interrupted() throws Exception {
+
+        final CompletableFuture<Thread> thread = new CompletableFuture<>();
+        final CompletableFuture<Integer> consumer = this.async(() -> {
+            thread.complete(Thread.currentThread());
+            return this.instance.take();
+        });
+
+        Thread.sleep(WAITING_TIME);
+        thread.get().interrupt();
+
+        Assertions.assertThatThrownBy(() -> consumer.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(InterruptedException.class);
+    }
+
+    @Test
+    public void testPoll() throws Exception {
+
+        Assertions.assertThat(this.instance.poll(10, TimeUnit.MILLISECONDS)).isNotPresent();
+        Assertions.assertThat(this.instance.poll(1, 10, TimeUnit.MILLISECONDS)).isNotPresent();
+
+        final CompletableFuture<Integer> consumer = this.async(() -> this.instance.poll(4, 1, TimeUnit.SECONDS).orElse(-1));
+
+        Thread.sleep(WAITING_TIME);
+        this.instance.store(7, 4);
+        Assertions.assertThat(consumer.get(1, TimeUnit.SECONDS)).isEqualTo(7);
+    }
+
+    /**
+     * Every stored entry wakes up a single consumer. Consumers that are not woken up have to keep waiting.
+     */
+    @Test
+    public void testStoreWakesOneConsumerPerEntry() throws Exception {
+
+        final List<CompletableFuture<Integer>> consumers = new ArrayList<>();
+
+        for (int index = 0; index < 4; ++index) {
+            final int code = (index % 2) + 1;
+            consumers.add(this.async(() -> this.instance.take(code)));
+        }
+        consumers.add(this.async(() -> this.instance.take()));
+
+        Thread.sleep(WAITING_TIME);
+        this.instance.storeAll(Arrays.asList(1, 2, 3), 1);
+        Thread.sleep(WAITING_TIME);
+
+        Assertions.assertThat(consumers.stream().filter(CompletableFuture::isDone).count()).isEqualTo(3);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+
+        this.instance.storeAll(Arrays.asList(4, 5), 2);
+
+        for (CompletableFuture<Integer> consumer : consumers) {
+            Assertions.assertThat(consumer.get(1, TimeUnit.SECONDS)).isBetween(1, 5);
+        }
+    }
+
+    @Test
+    public void testStore_BlocksWhileFull() throws Exception {
+
+        final BlockingSortedStorage<Integer, Integer> bounded = SimpleBlockingSortedStorage.of(StorageCapacity.of(1, 10, OverflowPolicy.BLOCK), CODES);
+
+        Assertions.assertThat(bounded.store(1, 1)).isEqualTo(1);
+
+        final CompletableFuture<Integer> producer = this.async(() -> bounded.store(2, 1));
+        final CompletableFuture<Integer> otherProducer = this.async(() -> bounded.store(3, 2));
+
+        Assertions.assertThat(otherProducer.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+        Thread.sleep(WAITING_TIME);
+        Assertions.assertThat(producer.isDone()).isFalse();
+
+        Assertions.assertThat(bounded.take(1)).isEqualTo(1);
+        Assertions.assertThat(producer.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+        Assertions.assertThat(bounded.next(1)).isPresent().hasValue(2);
+    }
+
+    @Test
+    public void testOffer() throws Exception {
+
+        final BlockingSortedStorage<Integer, Integer> bounded = SimpleBlockingSortedStorage.of(StorageCapacity.of(1, OverflowPolicy.BLOCK), CODES);
+
+        Assertions.assertThat(bounded.offer(1, 1, 10, TimeUnit.MILLISECONDS)).isEqualTo(1);
+        Assertions.assertThat(bounded.offer(2, 2, 10, TimeUnit.MILLISECONDS)).isEqualTo(-1);
+
+        final CompletableFuture<Integer> producer = this.async(() -> bounded.offer(2, 2, 1, TimeUnit.SECONDS));
+
+        Thread.sleep(WAITING_TIME);
+        Assertions.assertThat(bounded.next()).isPresent().hasValue(1);
+        Assertions.assertThat(producer.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    @Test
+    public void testDrainTo_WakesProducers() throws Exception {
+
+        final BlockingSortedStorage<Integer, Integer> bounded = SimpleBlockingSortedStorage.of(StorageCapacity.of(2, OverflowPolicy.BLOCK), CODES);
+
+        bounded.storeAll(Arrays.asList(1, 2), 1);
+
+        final CompletableFuture<Integer> producer = this.async(() -> bounded.store(3, 2));
+        final CompletableFuture<Integer> otherProducer = this.async(() -> bounded.store(4, 3));
+
+        Thread.sleep(WAITING_TIME);
+        Assertions.assertThat(producer.isDone()).isFalse();
+
+        Assertions.assertThat(bounded.nextBatch(1, 5)).containsExactly(2, 1);
+        Assertions.assertThat(producer.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+        Assertions.assertThat(otherProducer.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+
+        final List<Integer> res = new ArrayList<>();
+        Assertions.assertThat(bounded.drainTo(res, 5)).isEqualTo(2);
+        Assertions.assertThat(res).containsExactly(3, 4);
+    }
+
+    @Test
+    public void testStoreAll_BlocksUntilAllEntriesFit() throws Exception {
+
+        final BlockingSortedStorage<Integer, Integer> bounded = SimpleBlockingSortedStorage.of(StorageCapacity.of(3, 10, OverflowPolicy.BLOCK), CODES);
+
+        Assertions.assertThat(bounded.storeAll(Arrays.asList(1, 2), 1)).isEqualTo(2);
+        Assertions.assertThat(bounded.storeAll(Arrays.asList(3, 4, 5, 6), 1)).isEqualTo(-1);
+
+        final CompletableFuture<Integer> producer = this.async(() -> bounded.storeAll(Arrays.asList(3, 4, 5), 1));
+
+        Thread.sleep(WAITING_TIME);
+        Assertions.assertThat(bounded.take(1)).isEqualTo(2);
+        Thread.sleep(WAITING_TIME);
+        Assertions.assertThat(producer.isDone()).isFalse();
+        Assertions.assertThat(bounded.getStorage().get(1)).containsExactly(1);
+
+        Assertions.assertThat(bounded.take(1)).isEqualTo(1);
+        Assertions.assertThat(producer.get(1, TimeUnit.SECONDS)).isEqualTo(3);
+        Assertions.assertThat(bounded.getStorage().get(1)).containsExactly(3, 4, 5);
+    }
+
+    private CompletableFuture<Integer> async(final Callable<Integer> consumer) {
+
+        final CompletableFuture<Integer> res = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                res.complete(consumer.call());
+            } catch (Exception ex) {
+                res.completeExceptionally(ex);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+
+        return res;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class SimpleBlockingUnsortedStorageTest {
+
+    private static final long WAITING_TIME = 100;
+
+    private BlockingUnsortedStorage<Integer> instance;
+
+    @BeforeEach
+    public void setUp() {
+        this.instance = SimpleBlockingUnsortedStorage.of();
+    }
+
+    @Test
+    public void testNextAndStore() {
+
+        Assertions.assertThat(this.instance.store(1)).isEqualTo(1);
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(1, 2))).isEqualTo(2);
+        Assertions.assertThat(this.instance.getStorage()).containsExactlyInAnyOrder(1, 2);
+        Assertions.assertThat(this.instance.next()).isPresent();
+        Assertions.assertThat(this.instance.next()).isPresent();
+        Assertions.assertThat(this.instance.next()).isNotPresent();
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testTake() throws Exception {
+
+        final CompletableFuture<Integer> consumer = this.takeAsync();
+
+        Thread.sleep(WAITING_TIME);
+        Assertions.assertThat(consumer.isDone()).isFalse();
+
+        this.instance.store(5);
+        Assertions.assertThat(consumer.get(1, TimeUnit.SECONDS)).isEqualTo(5);
+    }
+
+    @Test
+    public void testPoll() throws Exception {
+
+        Assertions.assertThat(this.instance.poll(10, TimeUnit.MILLISECONDS)).isNotPresent();
+
+        this.instance.store(5);
+        Assertions.assertThat(this.instance.poll(10, TimeUnit.MILLISECONDS)).isPresent().hasValue(5);
+    }
+
+    @Test
+    public void testStoreWakesOneConsumerPerEntry() throws Exception {
+
+        final List<CompletableFuture<Integer>> consumers = new ArrayList<>();
+
+        for (int index = 0; index < 3; ++index) {
+            consumers.add(this.takeAsync());
+        }
+
+        Thread.sleep(WAITING_TIME);
+        this.instance.storeAll(Arrays.asList(1, 2));
+        Thread.sleep(WAITING_TIME);
+
+        Assertions.assertThat(consumers.stream().filter(CompletableFuture::isDone).count()).isEqualTo(2);
+
+        this.instance.store(3);
+
+        for (CompletableFuture<Integer> consumer : consumers) {
+            Assertions.assertThat(consumer.get(1, TimeUnit.SECONDS)).isBetween(1, 3);
+        }
+    }
+
+    @Test
+    public void testStore_BlocksWhileFull() throws Exception {
+
+        final BlockingUnsortedStorage<Integer> bounded = SimpleBlockingUnsortedStorage.of(1, StorageCapacity.of(1, OverflowPolicy.BLOCK));
+
+        Assertions.assertThat(bounded.store(1)).isEqualTo(1);
+        Assertions.assertThat(bounded.store(1)).isEqualTo(1);
+        Assertions.assertThat(bounded.offer(2, 10, TimeUnit.MILLISECONDS)).isEqualTo(-1);
+
+        final CompletableFuture<Integer> producer = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> producer.complete(bounded.store(2)));
+        thread.setDaemon(true);
+        thread.start();
+
+        Thread.sleep(WAITING_TIME);
+        Assertions.assertThat(producer.isDone()).isFalse();
+
+        Assertions.assertThat(bounded.take()).isEqualTo(1);
+        Assertions.assertThat(producer.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+        Assertions.assertThat(bounded.take()).isEqualTo(2);
+    }
+
+    private CompletableFuture<Integer> takeAsync() {
+
+        final CompletableFuture<Integer> res = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                res.complete(this.instance.take());
+            } catch (InterruptedException ex) {
+                res.completeExceptionally(ex);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+
+        return res;
+    }
+}
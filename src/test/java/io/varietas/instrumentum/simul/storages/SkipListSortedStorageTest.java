@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class SkipListSortedStorageTest {
+
+    private static final int THREADS = 8;
+    private static final int ENTRIES_PER_PRODUCER = 20_000;
+
+    private NavigableSortedStorage<Integer, Integer> instance;
+
+    @BeforeEach
+    public void setUp() {
+        this.instance = SkipListSortedStorage.of(3, 1);
+    }
+
+    @Test
+    public void testNextLoadsSmallestCode() {
+
+        this.instance.store(1, 5);
+        this.instance.store(2, 3);
+        this.instance.store(3, 3);
+        this.instance.store(4, 4);
+
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(3);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(2);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(4);
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(1);
+        Assertions.assertThat(this.instance.next()).isNotPresent();
+    }
+
+    @Test
+    public void testStoreAddsCodes() {
+
+        Assertions.assertThat(this.instance.codes()).containsExactly(1, 3);
+        Assertions.assertThat(this.instance.store(7, 2)).isEqualTo(1);
+        Assertions.assertThat(this.instance.storeAll(Arrays.asList(8, 9), 2)).isEqualTo(3);
+        Assertions.assertThat(this.instance.codes()).containsExactly(1, 2, 3);
+        Assertions.assertThat(this.instance.getStorage().keySet()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void testStore_Fails() {
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(1, null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be stored for key null.");
+    }
+
+    @Test
+    public void testNextUnknownCode() {
+
+        Assertions.assertThat(this.instance.next(9)).isNotPresent();
+        Assertions.assertThat(this.instance.isEmpty(9)).isTrue();
+        Assertions.assertThat(this.instance.nextBatch(9, 5)).isEmpty();
+        Assertions.assertThat(this.instance.codes()).doesNotContain(9);
+    }
+
+    @Test
+    public void testNextRange() {
+
+        this.instance.store(1, 1);
+        this.instance.store(2, 2);
+        this.instance.store(4, 4);
+
+        Assertions.assertThat(this.instance.next(2, 4)).isPresent().hasValue(2);
+        Assertions.assertThat(this.instance.next(2, 4)).isNotPresent();
+        Assertions.assertThat(this.instance.next(2, 5)).isPresent().hasValue(4);
+        Assertions.assertThat(this.instance.isEmpty(1)).isFalse();
+    }
+
+    @Test
+    public void testHeadCodes() {
+
+        this.instance.store(1, 2);
+        this.instance.store(1, 5);
+
+        Assertions.assertThat(this.instance.headCodes(3)).containsExactly(1, 2);
+        Assertions.assertThat(this.instance.headCodes(1)).isEmpty();
+
+        Assertions.assertThatThrownBy(() -> this.instance.headCodes(3).add(0))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testDrainToAndNextBatch() {
+
+        this.instance.storeAll(Arrays.asList(1, 2, 3), 3);
+        this.instance.storeAll(Arrays.asList(4, 5), 1);
+
+        final List<Integer> res = new ArrayList<>();
+
+        Assertions.assertThat(this.instance.nextBatch(3, 1)).containsExactly(3);
+        Assertions.assertThat(this.instance.drainTo(res, 3)).isEqualTo(3);
+        Assertions.assertThat(res).containsExactly(5, 4, 2);
+        Assertions.assertThat(this.instance.drainTo(res, 3)).isEqualTo(1);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testAddExclusionSet() {
+
+        this.instance.addExclusionSet(List.of(0, 2));
+        this.instance.addExclusion(entry -> entry > 10);
+        Assertions.assertThat(this.instance.store(2, 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(11, 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.storeAll(List.of(1, 0), 1)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.store(3, 1)).isEqualTo(1);
+
+        Assertions.assertThat(this.instance.store(2, 7)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.storeAll(List.of(4, 12), 8)).isEqualTo(-1);
+        Assertions.assertThat(this.instance.codes()).containsExactly(1, 3);
+    }
+
+    /**
+     * Stores entries for new codes from a number of producers while the same number of consumers is loading them. Every entry has to be loaded exactly once.
+     */
+    @Test
+    public void testConcurrentStoreAndNext() throws InterruptedException {
+
+        final int total = THREADS * ENTRIES_PER_PRODUCER;
+        final AtomicIntegerArray loaded = new AtomicIntegerArray(total);
+        final AtomicInteger loadedCount = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS * 2);
+        final List<Runnable> tasks = new ArrayList<>();
+
+        for (int thread = 0; thread < THREADS; ++thread) {
+            final int offset = thread * ENTRIES_PER_PRODUCER;
+
+            tasks.add(() -> {
+                for (int index = 0; index < ENTRIES_PER_PRODUCER; ++index) {
+                    this.instance.store(offset + index, index % 64);
+                }
+            });
+            tasks.add(() -> {
+                while (loadedCount.get() < total) {
+                    final Optional<Integer> next = this.instance.next();
+                    if (next.isPresent()) {
+                        loaded.incrementAndGet(next.get());
+                        loadedCount.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        tasks.forEach(task -> executor.execute(() -> {
+            try {
+                start.await();
+                task.run();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        start.countDown();
+        executor.shutdown();
+
+        Assertions.assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        Assertions.assertThat(loadedCount.get()).isEqualTo(total);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+        Assertions.assertThat(this.instance.codes()).hasSize(64);
+
+        for (int index = 0; index < total; ++index) {
+            Assertions.assertThat(loaded.get(index)).isEqualTo(1);
+        }
+    }
+}
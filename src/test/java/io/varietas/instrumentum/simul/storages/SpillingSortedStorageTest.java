@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class SpillingSortedStorageTest {
+
+    private static final StorageCodec<Integer> CODEC = new StorageCodec<>() {
+        @Override
+        public int size(final Integer entry) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(final Integer entry, final ByteBuffer target) {
+            target.putInt(entry);
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer source) {
+            return source.getInt();
+        }
+    };
+
+    private static final StorageCodec<String> STRING_CODEC = new StorageCodec<>() {
+        @Override
+        public int size(final String entry) {
+            return entry.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        @Override
+        public void encode(final String entry, final ByteBuffer target) {
+            target.put(entry.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String decode(final ByteBuffer source) {
+            return StandardCharsets.UTF_8.decode(source).toString();
+        }
+    };
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("spilling-storage");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> SpillingSortedStorage.of(null, CODEC, 1, 1))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Spilling storages requires a directory.");
+
+        Assertions.assertThatThrownBy(() -> SpillingSortedStorage.of(this.directory, null, 1, 1))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Spilling storages requires a codec.");
+
+        Assertions.assertThatThrownBy(() -> SpillingSortedStorage.of(this.directory, CODEC, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Memory limit has to be at least 1.");
+
+        Assertions.assertThatThrownBy(() -> SpillingSortedStorage.of(this.directory, CODEC, null, 1, 1))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Spilling storages requires a weigher.");
+
+        Assertions.assertThatThrownBy(() -> SpillingSortedStorage.of(this.directory, CODEC, 1, new Integer[0]))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sorted storages requires codes for sorting entities.");
+    }
+
+    @Test
+    public void testStoreSpillsAboveMemoryLimit() {
+
+        final SpillingSortedStorage<Integer, Integer> instance = SpillingSortedStorage.of(this.directory, CODEC, 2, 1, 2);
+
+        Assertions.assertThat(instance.store(1, 1)).isEqualTo(1);
+        Assertions.assertThat(instance.store(2, 2)).isEqualTo(1);
+        Assertions.assertThat(instance.store(3, 1)).isEqualTo(2);
+        Assertions.assertThat(instance.getSpilledCount()).isEqualTo(1);
+        Assertions.assertThat(instance.getMemoryWeight()).isEqualTo(2);
+
+        Assertions.assertThat(instance.next(2)).isPresent().hasValue(2);
+        Assertions.assertThat(instance.store(4, 1)).isEqualTo(3);
+        Assertions.assertThat(instance.getSpilledCount()).isEqualTo(2);
+        Assertions.assertThat(instance.getStorage().get(1)).containsExactly(1, 3, 4);
+
+        instance.close();
+    }
+
+    @Test
+    public void testNextReadsSpilledEntriesInOrder() {
+
+        final SpillingSortedStorage<Integer, Integer> instance = SpillingSortedStorage.of(this.directory, CODEC, 10, 1, 2);
+        final List<Integer> entries = IntStream.range(0, 5_000).boxed().collect(Collectors.toList());
+
+        Assertions.assertThat(instance.storeAll(entries, 2)).isEqualTo(entries.size());
+        Assertions.assertThat(instance.getSpilledCount()).isEqualTo(entries.size() - 10);
+
+        final List<Integer> res = new ArrayList<>();
+
+        while (!instance.isEmpty()) {
+            res.add(instance.next().get());
+            Assertions.assertThat(instance.getMemoryWeight()).isLessThanOrEqualTo(10 + SpillingSortedStorage.READ_BATCH_SIZE);
+        }
+
+        Assertions.assertThat(res).isEqualTo(entries);
+        Assertions.assertThat(instance.getSpilledCount()).isEqualTo(0);
+        Assertions.assertThat(instance.getMemoryWeight()).isEqualTo(0);
+        Assertions.assertThat(instance.next()).isNotPresent();
+        Assertions.assertThat(instance.next(1)).isNotPresent();
+
+        instance.close();
+    }
+
+    @Test
+    public void testStoreWhileReading() {
+
+        final SpillingSortedStorage<Integer, Integer> instance = SpillingSortedStorage.of(this.directory, CODEC, 1, 1);
+        final List<Integer> res = new ArrayList<>();
+
+        for (int entry = 0; entry < 3_000; ++entry) {
+            instance.store(entry, 1);
+
+            if (entry % 3 == 2) {
+                res.add(instance.next(1).get());
+            }
+        }
+
+        while (!instance.isEmpty(1)) {
+            res.add(instance.next(1).get());
+        }
+
+        Assertions.assertThat(res).isEqualTo(IntStream.range(0, 3_000).boxed().collect(Collectors.toList()));
+        instance.close();
+    }
+
+    @Test
+    public void testWeigherAndLargeEntries() {
+
+        final SpillingSortedStorage<String, String> instance = SpillingSortedStorage.of(this.directory, STRING_CODEC, String::length, 100, "a");
+        final String large = "x".repeat(SpillFile.BLOCK_SIZE * 2);
+
+        instance.store("small", "a");
+        instance.store(large, "a");
+        instance.store("tail", "a");
+
+        Assertions.assertThat(instance.getSpilledCount()).isEqualTo(2);
+        Assertions.assertThat(instance.getStorage().get("a")).containsExactly("small", large, "tail");
+        Assertions.assertThat(instance.next()).isPresent().hasValue("small");
+        Assertions.assertThat(instance.next()).isPresent().hasValue(large);
+        Assertions.assertThat(instance.next()).isPresent().hasValue("tail");
+        Assertions.assertThat(instance.isEmpty()).isTrue();
+
+        instance.close();
+    }
+
+    @Test
+    public void testAddExclusionSet() {
+
+        final SpillingSortedStorage<Integer, Integer> instance = SpillingSortedStorage.of(this.directory, CODEC, 1, 1);
+
+        instance.addExclusionSet(List.of(0));
+        instance.addExclusion(entry -> entry > 10);
+
+        Assertions.assertThat(instance.store(0, 1)).isEqualTo(-1);
+        Assertions.assertThat(instance.store(11, 1)).isEqualTo(-1);
+        Assertions.assertThat(instance.store(1, 1)).isEqualTo(1);
+
+        instance.close();
+    }
+
+    @Test
+    public void testCloseDeletesSpillFiles() throws IOException {
+
+        final SpillingSortedStorage<Integer, Integer> instance = SpillingSortedStorage.of(this.directory, CODEC, 1, 1, 2);
+
+        instance.storeAll(List.of(1, 2, 3), 1);
+        instance.storeAll(List.of(4, 5), 2);
+
+        Assertions.assertThat(instance.getSpilledCount()).isEqualTo(4);
+        instance.close();
+
+        try (Stream<Path> files = Files.list(this.directory)) {
+            Assertions.assertThat(files.count()).isEqualTo(0);
+        }
+
+        Assertions.assertThat(instance.getSpilledCount()).isEqualTo(0);
+        Assertions.assertThat(instance.getMemoryWeight()).isEqualTo(0);
+        Assertions.assertThatThrownBy(() -> instance.isEmpty(1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Storage is closed.");
+        Assertions.assertThatThrownBy(() -> instance.store(6, 2))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Storage is closed.");
+
+        instance.close();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class SpillingUnsortedStorageTest {
+
+    private static final StorageCodec<Integer> CODEC = new StorageCodec<>() {
+        @Override
+        public int size(final Integer entry) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(final Integer entry, final ByteBuffer target) {
+            target.putInt(entry);
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer source) {
+            return source.getInt();
+        }
+    };
+
+    private Path directory;
+    private SpillingUnsortedStorage<Integer> instance;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("spilling-storage");
+        this.instance = SpillingUnsortedStorage.of(this.directory, CODEC, 3);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        this.instance.close();
+
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testFactoryMethodFails() {
+
+        Assertions.assertThatThrownBy(() -> SpillingUnsortedStorage.of(null, CODEC, 1))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Spilling storages requires a directory.");
+
+        Assertions.assertThatThrownBy(() -> SpillingUnsortedStorage.of(this.directory, null, 1))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Spilling storages requires a codec.");
+
+        Assertions.assertThatThrownBy(() -> SpillingUnsortedStorage.of(this.directory, CODEC, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Memory limit has to be at least 1.");
+    }
+
+    @Test
+    public void testStore() {
+
+        Assertions.assertThat(this.instance.store(1)).isEqualTo(1);
+        Assertions.assertThat(this.instance.store(1)).isEqualTo(1);
+        Assertions.assertThat(this.instance.storeAll(List.of(2, 3, 4, 5))).isEqualTo(5);
+        Assertions.assertThat(this.instance.getSpilledCount()).isEqualTo(2);
+        Assertions.assertThat(this.instance.getStorage()).containsExactly(1, 2, 3, 4, 5);
+        Assertions.assertThat(this.instance.storeAll(Collections.emptyList())).isEqualTo(-1);
+
+        Assertions.assertThatThrownBy(() -> this.instance.store(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Storage cannot handle null objetcs.");
+    }
+
+    @Test
+    public void testNextReadsSpilledEntriesInOrder() {
+
+        final List<Integer> entries = IntStream.range(0, 5_000).boxed().collect(Collectors.toList());
+        final List<Integer> res = new ArrayList<>();
+        Optional<Integer> next;
+
+        this.instance.storeAll(entries);
+
+        while ((next = this.instance.next()).isPresent()) {
+            res.add(next.get());
+        }
+
+        Assertions.assertThat(res).isEqualTo(entries);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+        Assertions.assertThat(this.instance.getMemoryWeight()).isEqualTo(0);
+    }
+
+    @Test
+    public void testSpilledDuplicatesAreNotRemoved() {
+
+        this.instance.storeAll(List.of(1, 2, 3, 4, 4));
+
+        Assertions.assertThat(this.instance.getStorage()).containsExactly(1, 2, 3, 4, 4);
+
+        this.instance.drainTo(new ArrayList<>(), 3);
+
+        Assertions.assertThat(this.instance.next()).isPresent().hasValue(4);
+        Assertions.assertThat(this.instance.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testClose() throws IOException {
+
+        this.instance.storeAll(List.of(1, 2, 3, 4, 5));
+        this.instance.close();
+
+        try (Stream<Path> files = Files.list(this.directory)) {
+            Assertions.assertThat(files.count()).isEqualTo(0);
+        }
+
+        Assertions.assertThat(this.instance.getSpilledCount()).isEqualTo(0);
+        Assertions.assertThat(this.instance.getMemoryWeight()).isEqualTo(0);
+        Assertions.assertThatThrownBy(() -> this.instance.store(6))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Storage is closed.");
+        Assertions.assertThatThrownBy(() -> this.instance.next())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Storage is closed.");
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 varietas.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.varietas.instrumentum.simul.storages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent
+ */
+public class StoragePublisherTest {
+
+    @Test
+    public void testRequestHonoursDemand() {
+
+        final PublishingUnsortedStorage<Integer> storage = PublishingUnsortedStorage.of(SimpleUnsortedStorage.of(0, StorageCapacity.of(10, OverflowPolicy.REJECT)));
+        final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+
+        storage.storeAll(Arrays.asList(1, 2, 3));
+        storage.publisher().subscribe(subscriber);
+
+        Assertions.assertThat(subscriber.received).isEmpty();
+
+        subscriber.subscription.request(2);
+
+        Assertions.assertThat(subscriber.received).containsExactly(1, 2);
+        Assertions.assertThat(storage.getStorage()).containsExactly(3);
+
+        subscriber.subscription.request(2);
+        storage.store(4);
+        storage.store(5);
+
+        Assertions.assertThat(subscriber.received).containsExactly(1, 2, 3, 4);
+        Assertions.assertThat(storage.getStorage()).containsExactly(5);
+    }
+
+    @Test
+    public void testPublisherPerCode() {
+
+        final PublishingSortedStorage<Integer, Integer> storage = PublishingSortedStorage.of(1, 2);
+        final RecordingSubscriber first = new RecordingSubscriber(Long.MAX_VALUE);
+
+        storage.publisher(2).subscribe(first);
+        storage.store(1, 1);
+        storage.store(2, 2);
+        storage.store(3, 2);
+
+        Assertions.assertThat(first.received).containsExactly(2, 3);
+        Assertions.assertThat(storage.getStorage().get(1)).containsExactly(1);
+        Assertions.assertThat(storage.publisher(2)).isSameAs(storage.publisher(2));
+
+        final Map<Integer, List<Integer>> snapshot = storage.getStorage();
+        final Collection<Integer> view = storage.view();
+        final List<Integer> codeView = storage.view(1);
+        final RecordingSubscriber all = new RecordingSubscriber(Long.MAX_VALUE);
+
+        storage.publisher().subscribe(all);
+
+        Assertions.assertThat(all.received).containsExactly(1);
+        Assertions.assertThat(storage.isEmpty()).isTrue();
+        Assertions.assertThat(snapshot.get(1)).containsExactly(1);
+        Assertions.assertThat(view).containsExactly(1);
+        Assertions.assertThat(codeView).containsExactly(1);
+
+        Assertions.assertThatThrownBy(() -> storage.publisher(3))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Value(s) cannot be stored for key 3.");
+    }
+
+    @Test
+    public void testSubscribersTakeTurns() {
+
+        final PublishingSortedStorage<Integer, Integer> storage = PublishingSortedStorage.of(1);
+        final RecordingSubscriber first = new RecordingSubscriber(Long.MAX_VALUE);
+        final RecordingSubscriber second = new RecordingSubscriber(Long.MAX_VALUE);
+
+        storage.publisher().subscribe(first);
+        storage.publisher().subscribe(second);
+        storage.storeAll(Arrays.asList(1, 2, 3, 4), 1);
+
+        Assertions.assertThat(first.received).hasSize(2);
+        Assertions.assertThat(second.received).hasSize(2);
+        Assertions.assertThat(storage.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testRequestWithinOnNext() {
+
+        final PublishingUnsortedStorage<Integer> storage = PublishingUnsortedStorage.of();
+        final List<Integer> received = new ArrayList<>();
+        final int[] depth = {0, 0};
+
+        for (int entry = 0; entry < 10_000; ++entry) {
+            storage.store(entry);
+        }
+
+        storage.publisher().subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(final Integer item) {
+                received.add(item);
+                depth[1] = Math.max(depth[1], ++depth[0]);
+                this.subscription.request(1);
+                --depth[0];
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        Assertions.assertThat(received).hasSize(10_000);
+        Assertions.assertThat(depth[1]).isEqualTo(1);
+    }
+
+    @Test
+    public void testCancelAndInvalidRequest() {
+
+        final PublishingUnsortedStorage<Integer> storage = PublishingUnsortedStorage.of();
+        final RecordingSubscriber cancelled = new RecordingSubscriber(Long.MAX_VALUE);
+        final RecordingSubscriber invalid = new RecordingSubscriber(0);
+
+        storage.publisher().subscribe(cancelled);
+        storage.publisher().subscribe(invalid);
+        cancelled.subscription.cancel();
+        invalid.subscription.request(0);
+        storage.store(1);
+
+        Assertions.assertThat(cancelled.received).isEmpty();
+        Assertions.assertThat(invalid.error).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThat(((StoragePublisher<Integer>) storage.publisher()).getSubscriberCount()).isEqualTo(0);
+        Assertions.assertThat(storage.next()).isPresent().hasValue(1);
+    }
+
+    @Test
+    public void testThrowingSubscriber() {
+
+        final PublishingUnsortedStorage<Integer> storage = PublishingUnsortedStorage.of();
+        final RecordingSubscriber throwing = new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(final Integer item) {
+                super.onNext(item);
+                throw new IllegalStateException("Subscriber failed.");
+            }
+        };
+
+        storage.publisher().subscribe(throwing);
+        storage.store(1);
+
+        Assertions.assertThat(throwing.received).containsExactly(1);
+        Assertions.assertThat(((StoragePublisher<Integer>) storage.publisher()).getSubscriberCount()).isEqualTo(0);
+        Assertions.assertThat(storage.isEmpty()).isTrue();
+
+        final RecordingSubscriber first = new RecordingSubscriber(1);
+        final RecordingSubscriber second = new RecordingSubscriber(1);
+
+        storage.publisher().subscribe(first);
+        storage.store(2);
+        storage.publisher().subscribe(second);
+        storage.store(3);
+
+        Assertions.assertThat(first.received).containsExactly(2);
+        Assertions.assertThat(second.received).containsExactly(3);
+        Assertions.assertThat(storage.isEmpty()).isTrue();
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<Integer> {
+
+        private final long initialRequest;
+        private final List<Integer> received = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+
+        private RecordingSubscriber(final long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+
+            if (this.initialRequest > 0) {
+                subscription.request(this.initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(final Integer item) {
+            this.received.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}